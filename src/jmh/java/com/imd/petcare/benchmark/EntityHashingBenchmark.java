@@ -0,0 +1,175 @@
+package com.imd.petcare.benchmark;
+
+import com.imd.petcare.model.BaseEntity;
+import com.imd.petcare.model.Person;
+import com.imd.petcare.model.RefreshToken;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of hashing users and refresh tokens into sets with the current ID-based
+ * equals/hashCode against the previous field-based implementation, which is replicated here
+ * by {@link LegacyKey}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityHashingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<User> users;
+    private List<RefreshToken> tokens;
+    private List<LegacyKey> legacyUsers;
+    private List<LegacyKey> legacyTokens;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>(size);
+        tokens = new ArrayList<>(size);
+        legacyUsers = new ArrayList<>(size);
+        legacyTokens = new ArrayList<>(size);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 1; i <= size; i++) {
+            Person person = new Person();
+            person.setId(i);
+            person.setCreatedAt(now);
+            person.setName("Person " + i);
+            person.setIdentifier(String.format("%011d", i));
+            person.setPhoneNumber("84999999999");
+            person.setBirthDate(LocalDate.of(1990, 1, 1));
+
+            User user = new User();
+            user.setId(i);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            user.setPerson(person);
+            user.setLogin("login" + i);
+            user.setEmail("user" + i + "@petcare.com");
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8Wc5ZTB4t1DDwS4ZtYbDmb6");
+            user.setRole(Role.USER);
+
+            RefreshToken token = new RefreshToken("refresh-token-" + i, user);
+            token.setId(i);
+            token.setCreatedAt(now);
+
+            users.add(user);
+            tokens.add(token);
+            legacyUsers.add(new LegacyKey(user));
+            legacyTokens.add(new LegacyKey(token));
+        }
+    }
+
+    @Benchmark
+    public Set<User> userSet() {
+        return new HashSet<>(users);
+    }
+
+    @Benchmark
+    public Set<LegacyKey> userSetLegacy() {
+        return new HashSet<>(legacyUsers);
+    }
+
+    @Benchmark
+    public Set<RefreshToken> refreshTokenSet() {
+        return new HashSet<>(tokens);
+    }
+
+    @Benchmark
+    public Set<LegacyKey> refreshTokenSetLegacy() {
+        return new HashSet<>(legacyTokens);
+    }
+
+    @Benchmark
+    public boolean userSetContainsAll() {
+        return new HashSet<>(users).containsAll(users);
+    }
+
+    @Benchmark
+    public boolean userSetContainsAllLegacy() {
+        return new HashSet<>(legacyUsers).containsAll(legacyUsers);
+    }
+
+    /**
+     * Wraps an entity with the equals/hashCode it had before they were reduced to the ID:
+     * every BaseEntity column, plus the person, credentials and role for users and the whole
+     * user graph for tokens.
+     */
+    public record LegacyKey(BaseEntity entity) {
+
+        @Override
+        public int hashCode() {
+            return legacyHash(entity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LegacyKey other && legacyEquals(entity, other.entity);
+        }
+
+        private static int baseHash(BaseEntity e) {
+            return Objects.hash(e.getId(), e.getCreatedAt(), e.getUpdatedAt(), e.isActive());
+        }
+
+        private static boolean baseEquals(BaseEntity a, BaseEntity b) {
+            return a.isActive() == b.isActive() && a.getId() == b.getId()
+                    && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                    && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt());
+        }
+
+        private static int legacyHash(BaseEntity e) {
+            if (e == null) {
+                return 0;
+            }
+            if (e instanceof User u) {
+                return Objects.hash(baseHash(u), legacyHash(u.getPerson()), u.getLogin(), u.getPassword(), u.getRole());
+            }
+            if (e instanceof RefreshToken t) {
+                return Objects.hash(baseHash(t), t.getToken(), legacyHash(t.getUser()));
+            }
+            return baseHash(e);
+        }
+
+        private static boolean legacyEquals(BaseEntity a, BaseEntity b) {
+            if (a == b) {
+                return true;
+            }
+            if (a == null || b == null || a.getClass() != b.getClass() || !baseEquals(a, b)) {
+                return false;
+            }
+            if (a instanceof User ua && b instanceof User ub) {
+                return legacyEquals(ua.getPerson(), ub.getPerson()) && Objects.equals(ua.getLogin(), ub.getLogin())
+                        && Objects.equals(ua.getPassword(), ub.getPassword()) && ua.getRole() == ub.getRole();
+            }
+            if (a instanceof RefreshToken ta && b instanceof RefreshToken tb) {
+                return Objects.equals(ta.getToken(), tb.getToken()) && legacyEquals(ta.getUser(), tb.getUser());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.imd.petcare.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.dto.ErrorDTO;
+import com.imd.petcare.utils.exception.ResourceNotFoundException;
+import com.imd.petcare.utils.handler.ControllerExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the 404 path taken by requests for unknown ids: throwing the exception from {@code depth} frames
+ * below the catch, building the response in {@link ControllerExceptionHandler} and serializing it.
+ *
+ * {@code throwWithStackTrace} throws an exception that fills in its stack, as {@link ResourceNotFoundException}
+ * did before it became stackless; servlet, filter and proxy frames put a real request well past 100 frames deep.
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="ErrorPathBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"16", "128"})
+    private int depth;
+
+    private final ObjectWriter writer = Jackson2ObjectMapperBuilder.json().build().writer();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private ControllerExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException exception;
+
+    /**
+     * A ResourceNotFoundException as it was before, recording the stack of every throw.
+     */
+    private static final class StackTraceNotFoundException extends RuntimeException {
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        handler = new ControllerExceptionHandler(Clock.systemDefaultZone());
+        request = new MockHttpServletRequest("GET", "/api/petcare/v1/scheduling/987654");
+        exception = new ResourceNotFoundException("Id não encontrado: 987654");
+    }
+
+    @Benchmark
+    public RuntimeException throwStackless() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public RuntimeException throwWithStackTrace() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (StackTraceNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> handleNotFound() {
+        return handler.notFound(exception, request);
+    }
+
+    /**
+     * The whole path of a 404: throw, handle and write the JSON body.
+     */
+    @Benchmark
+    public void notFoundRequest() throws IOException {
+        try {
+            throwAt(depth, true);
+        } catch (ResourceNotFoundException e) {
+            writer.writeValue(sink, handler.notFound(e, request).getBody());
+        }
+    }
+
+    private static void throwAt(int frames, boolean stackless) {
+        if (frames > 0) {
+            throwAt(frames - 1, stackless);
+            return;
+        }
+        String message = "Id não encontrado: " + 987654L;
+        if (stackless) {
+            throw new ResourceNotFoundException(message);
+        }
+        throw new StackTraceNotFoundException(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.imd.petcare.benchmark;
+
+import com.imd.petcare.utils.collection.IntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overlap check of {@link IntervalIndex}, used by the scheduling conflict detection, and the
+ * cost of booking and freeing a slot on a resource holding {@code appointments} back-to-back 30-minute
+ * appointments with 10-minute gaps.
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="IntervalIndexBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntervalIndexBenchmark {
+
+    private static final long MINUTE = 60_000L;
+    private static final long SLOT = 40 * MINUTE;
+
+    @Param({"1000", "100000"})
+    private int appointments;
+
+    private IntervalIndex index;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        IntervalIndex.Builder builder = new IntervalIndex.Builder();
+        for (int i = 0; i < appointments; i++) {
+            builder.add(i + 1, i * SLOT, i * SLOT + 30 * MINUTE);
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public long findOverlap() {
+        long start = random.nextLong(appointments * SLOT);
+        return index.findOverlap(start, start + 30 * MINUTE, 0);
+    }
+
+    @Benchmark
+    public boolean bookAndFree() {
+        long start = random.nextInt(appointments) * SLOT + 30 * MINUTE;
+        index.put(-1, start, start + 10 * MINUTE);
+        return index.remove(-1, start);
+    }
+}
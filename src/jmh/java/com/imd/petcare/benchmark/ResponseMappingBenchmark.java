@@ -0,0 +1,173 @@
+package com.imd.petcare.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.dto.EntityDTO;
+import com.imd.petcare.dto.SchedulingDTO;
+import com.imd.petcare.dto.UserDTO;
+import com.imd.petcare.mappers.SchedulingDTOMapper;
+import com.imd.petcare.mappers.UserDTOMapper;
+import com.imd.petcare.model.Person;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.model.enums.SchedulingType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steps {@code GenericController.getAll} runs for every page: entity-to-DTO mapping,
+ * the {@link EntityDTO#toResponse()} copy and Jackson serialization of the {@code ApiResponseDTO<PageImpl<...>>}
+ * envelope, separately and as the whole pipeline.
+ *
+ * Each operation handles one page, so with the gc profiler {@code gc.alloc.rate.norm / pageSize} gives the
+ * bytes allocated per element:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="ResponseMappingBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private final UserDTOMapper userMapper = new UserDTOMapper();
+    private final SchedulingDTOMapper schedulingMapper = new SchedulingDTOMapper();
+
+    private Pageable pageable;
+    private List<User> users;
+    private List<Scheduling> schedulings;
+    private List<UserDTO> userDtos;
+    private List<SchedulingDTO> schedulingDtos;
+    private ApiResponseDTO<PageImpl<EntityDTO>> userEnvelope;
+    private ApiResponseDTO<PageImpl<EntityDTO>> schedulingEnvelope;
+
+    /**
+     * Configured like the ObjectMapper Spring Boot registers for HTTP message conversion.
+     */
+    private final ObjectWriter writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+    /**
+     * Stands in for the servlet output stream so that only serialization is measured.
+     */
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        pageable = PageRequest.of(0, pageSize);
+        users = new ArrayList<>(pageSize);
+        schedulings = new ArrayList<>(pageSize);
+
+        for (int i = 1; i <= pageSize; i++) {
+            Person person = new Person();
+            person.setId(i);
+            person.setName("Person " + i);
+            person.setIdentifier(String.format("%011d", i));
+            person.setPhoneNumber("84999999999");
+            person.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i));
+
+            User user = new User();
+            user.setId(i);
+            user.setPerson(person);
+            user.setLogin("login" + i);
+            user.setEmail("user" + i + "@petcare.com");
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z8Wc5ZTB4t1DDwS4ZtYbDmb6");
+            user.setRole(Role.USER);
+            users.add(user);
+
+            Scheduling scheduling = new Scheduling();
+            scheduling.setId(i);
+            scheduling.setUser(user);
+            scheduling.setTitle("Consulta " + i);
+            scheduling.setDescription("Consulta de rotina do pet " + i);
+            scheduling.setMonth((long) (i % 12 + 1));
+            scheduling.setDay((long) (i % 28 + 1));
+            scheduling.setYear(2024L);
+            scheduling.setType(SchedulingType.values()[i % SchedulingType.values().length]);
+            schedulings.add(scheduling);
+        }
+
+        userDtos = userMapper.toDto(users);
+        schedulingDtos = schedulingMapper.toDto(schedulings);
+        userEnvelope = envelope(toResponse(userDtos));
+        schedulingEnvelope = envelope(toResponse(schedulingDtos));
+    }
+
+    @Benchmark
+    public List<UserDTO> mapUsers() {
+        return userMapper.toDto(users);
+    }
+
+    @Benchmark
+    public List<SchedulingDTO> mapSchedulings() {
+        return schedulingMapper.toDto(schedulings);
+    }
+
+    @Benchmark
+    public List<EntityDTO> toResponseUsers() {
+        return toResponse(userDtos);
+    }
+
+    @Benchmark
+    public List<EntityDTO> toResponseSchedulings() {
+        return toResponse(schedulingDtos);
+    }
+
+    @Benchmark
+    public void serializeUserPage() throws IOException {
+        writer.writeValue(sink, userEnvelope);
+    }
+
+    @Benchmark
+    public void serializeSchedulingPage() throws IOException {
+        writer.writeValue(sink, schedulingEnvelope);
+    }
+
+    @Benchmark
+    public void getAllUsers() throws IOException {
+        writer.writeValue(sink, envelope(toResponse(userMapper.toDto(users))));
+    }
+
+    @Benchmark
+    public void getAllSchedulings() throws IOException {
+        writer.writeValue(sink, envelope(toResponse(schedulingMapper.toDto(schedulings))));
+    }
+
+    private static List<EntityDTO> toResponse(List<? extends EntityDTO> dtos) {
+        return dtos.stream().map(EntityDTO::toResponse).toList();
+    }
+
+    private ApiResponseDTO<PageImpl<EntityDTO>> envelope(List<EntityDTO> content) {
+        return new ApiResponseDTO<>(
+                true,
+                "Sucesso: Entidades localizadas com sucesso.",
+                new PageImpl<>(content, pageable, content.size()),
+                null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.imd.petcare.benchmark;
+
+import com.imd.petcare.configuration.security.ApplicationConfig;
+import com.imd.petcare.configuration.security.jwt.JwtAuthenticationFilter;
+import com.imd.petcare.configuration.security.jwt.JwtService;
+import com.imd.petcare.dto.AuthenticationResponseDTO;
+import com.imd.petcare.model.Person;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the per-request authentication cost: JWT generation and parsing in {@link JwtService},
+ * a full pass through {@link JwtAuthenticationFilter} and a BCrypt password check.
+ *
+ * Run with the gc profiler (the benchmark profile default) to also get the allocation rate per operation:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="SecurityBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String SECRET_KEY = "uR3xjIJ7Q7SHgMVgkz3nd1zXUsVX+39oYPR+jN9B3H8=";
+    private static final String RAW_PASSWORD = "123456";
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private PasswordEncoder passwordEncoder;
+    private User user;
+    private String token;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET_KEY);
+
+        Person person = new Person();
+        person.setId(1);
+        person.setName("Benchmark User");
+
+        user = new User();
+        user.setId(1);
+        user.setPerson(person);
+        user.setLogin("benchmark");
+        user.setEmail("benchmark@petcare.com");
+        user.setRole(Role.ADMIN);
+
+        token = jwtService.generateToken(user, user).token();
+        filter = new JwtAuthenticationFilter(jwtService, username -> user, ObservationRegistry.NOOP);
+
+        passwordEncoder = new ApplicationConfig(null).passwordEncoder(new SimpleMeterRegistry());
+        encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+        user.setPassword(encodedPassword);
+    }
+
+    @Benchmark
+    public AuthenticationResponseDTO generateToken() {
+        return jwtService.generateToken(user, user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    /**
+     * extractAllClaims is private; resolving the identity claim measures exactly one call to it.
+     */
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractClaim(token, Function.identity());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/scheduling");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,124 @@
+package com.imd.petcare.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.imd.petcare.configuration.logging.AccessLogEntry;
+import com.imd.petcare.configuration.logging.StructuredLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what access logging adds to the latency of a request thread: only building the entry
+ * ({@code baseline}), offering it to the {@link StructuredLogWriter} ring buffer ({@code asyncOffer}) and
+ * serializing and writing it on the request thread ({@code synchronousLog}), the way logging worked before.
+ *
+ * Sample-time mode reports latency percentiles per call. Entries the ring buffer had to drop are reported
+ * in the {@code dropped} counter of {@code asyncOffer}:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="StructuredLoggingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class StructuredLoggingBenchmark {
+
+    private final ObjectWriter objectWriter = Jackson2ObjectMapperBuilder.json().build().writer();
+
+    private StructuredLogWriter logWriter;
+    private Logger accessLogger;
+    private FileAppender<ILoggingEvent> appender;
+    private File logFile;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Drops {
+        public long dropped;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("access", ".json");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+
+        appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(logFile.getAbsolutePath());
+        appender.setImmediateFlush(false);
+        appender.setEncoder(encoder);
+        appender.start();
+
+        accessLogger = context.getLogger("petcare.access");
+        accessLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        accessLogger.setAdditive(false);
+        accessLogger.addAppender(appender);
+
+        logWriter = new StructuredLogWriter(Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 8192);
+        logWriter.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logWriter.stop();
+        appender.stop();
+        accessLogger.detachAppender(appender);
+        logFile.delete();
+    }
+
+    @Benchmark
+    public AccessLogEntry baseline() {
+        return entry();
+    }
+
+    @Benchmark
+    public boolean asyncOffer(Drops drops) {
+        boolean accepted = logWriter.offer(StructuredLogWriter.Channel.ACCESS, entry());
+        if (!accepted) {
+            drops.dropped++;
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    public void synchronousLog() throws IOException {
+        accessLogger.info(objectWriter.writeValueAsString(entry()));
+    }
+
+    private static AccessLogEntry entry() {
+        return new AccessLogEntry(Instant.now(), "GET", "/api/petcare/v1/scheduling", 200, 3.2,
+                "benchmark", "127.0.0.1", null);
+    }
+}
@@ -0,0 +1,144 @@
+package com.imd.petcare.loadtest;
+
+import com.imd.petcare.model.Person;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.model.enums.SchedulingType;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Seeds the database of a started application with load-test users and their schedulings.
+ *
+ * Rows are inserted through the application's own repositories, so IDs come from the Hibernate sequences
+ * and the data has exactly the shape the application writes. The seed is deterministic: the same options
+ * always produce the same rows, which keeps runs of different builds comparable.
+ */
+final class DataSeeder {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final SchedulingRepository schedulingRepository;
+    private final EntityManager entityManager;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    DataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.schedulingRepository = context.getBean(SchedulingRepository.class);
+        this.entityManager = context.getBean(EntityManager.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    static String login(int index) {
+        return "loadtest" + index;
+    }
+
+    static String email(int index) {
+        return "loadtest" + index + "@petcare.test";
+    }
+
+    /**
+     * Inserts the given number of users, numbered from 1, and spreads the schedulings evenly between them.
+     *
+     * @return the seeded users, in login order, with the IDs of their schedulings
+     */
+    List<SeededUser> seed(int users, int schedulings, long seed) {
+        if (userRepository.findByLogin(login(1)).isPresent()) {
+            throw new IllegalStateException("The database already contains load-test data; use an empty database.");
+        }
+
+        // BCrypt is deliberately slow, so every user shares one hash of the same password.
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int from = 1; from <= users; from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE - 1, users);
+            List<User> batch = new ArrayList<>(to - from + 1);
+            for (int i = from; i <= to; i++) {
+                batch.add(user(i, encodedPassword));
+            }
+            saveInTransaction(() -> userRepository.saveAll(batch))
+                    .forEach(user -> seeded.add(new SeededUser(user.getId(), user.getLogin(), new ArrayList<>())));
+        }
+
+        Random random = new Random(seed);
+        List<Scheduling> batch = new ArrayList<>(BATCH_SIZE);
+        List<SeededUser> owners = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < schedulings; i++) {
+            SeededUser owner = seeded.get(i % users);
+            batch.add(scheduling(owner.id(), random));
+            owners.add(owner);
+            if (batch.size() == BATCH_SIZE || i == schedulings - 1) {
+                List<Scheduling> saved = saveInTransaction(() -> schedulingRepository.saveAll(batch));
+                for (int j = 0; j < saved.size(); j++) {
+                    owners.get(j).schedulingIds().add(saved.get(j).getId());
+                }
+                batch.clear();
+                owners.clear();
+            }
+        }
+        return seeded;
+    }
+
+    private <T> List<T> saveInTransaction(Supplier<List<T>> save) {
+        return transactionTemplate.execute(status -> {
+            List<T> saved = save.get();
+            entityManager.flush();
+            entityManager.clear();
+            return saved;
+        });
+    }
+
+    private static User user(int index, String encodedPassword) {
+        Person person = new Person();
+        person.setName("Load Test " + index);
+        person.setIdentifier(String.format("%011d", index));
+        person.setPhoneNumber("84999999999");
+        person.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(index % 10_000));
+
+        User user = new User();
+        user.setPerson(person);
+        user.setLogin(login(index));
+        user.setEmail(email(index));
+        user.setPassword(encodedPassword);
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private static Scheduling scheduling(long userId, Random random) {
+        User user = new User();
+        user.setId(userId);
+
+        Scheduling scheduling = new Scheduling();
+        scheduling.setUser(user);
+        scheduling.setTitle("Consulta");
+        scheduling.setDescription("Consulta de rotina");
+        scheduling.setMonth((long) random.nextInt(1, 13));
+        scheduling.setDay((long) random.nextInt(1, 29));
+        scheduling.setYear(2024L + random.nextInt(2));
+        scheduling.setType(SchedulingType.values()[random.nextInt(SchedulingType.values().length)]);
+        return scheduling;
+    }
+
+    /**
+     * A seeded user and the schedulings it owns. The ID list grows as the load test creates schedulings.
+     */
+    record SeededUser(long id, String login, List<Long> schedulingIds) {
+    }
+}
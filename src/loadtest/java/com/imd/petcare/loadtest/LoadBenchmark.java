@@ -0,0 +1,159 @@
+package com.imd.petcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load benchmark used to compare the platform-thread and virtual-thread execution modes.
+ *
+ * Start the application once per mode and run the benchmark against each instance with the same options:
+ * <pre>
+ * ./mvnw spring-boot:run                     # platform threads
+ * ./mvnw -P virtual-threads spring-boot:run  # virtual threads
+ * ./mvnw -P loadtest test-compile exec:exec -Dloadtest.main=com.imd.petcare.loadtest.LoadBenchmark \
+ *     -Dloadtest.args="--label=virtual --concurrency=400"
+ * </pre>
+ *
+ * Each client logs in once, then repeatedly sends the request and waits for its response. Latencies measured
+ * after the warmup period are reported as throughput and percentiles. The GET endpoints run blocking JDBC
+ * queries, which is the workload where the two modes differ.
+ *
+ * Options (--name=value): url, login, password, path, concurrency, warmup and duration (seconds), label.
+ */
+public class LoadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String url = options.get("url", "http://localhost:8080/api/petcare");
+        String path = options.get("path", "/v1/scheduling?page=0&size=20");
+        int concurrency = options.getInt("concurrency", 200);
+        Duration warmup = options.getSeconds("warmup", 10);
+        Duration duration = options.getSeconds("duration", 30);
+        String label = options.get("label", "run");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String token = authenticate(client, url,
+                    options.get("login", "admin"),
+                    options.get("password", "admin"));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            long measureFrom = System.nanoTime() + warmup.toNanos();
+            long measureUntil = measureFrom + duration.toNanos();
+            List<Future<Recorder>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> run(client, request, measureFrom, measureUntil)));
+            }
+
+            Recorder total = new Recorder();
+            for (Future<Recorder> worker : workers) {
+                total.merge(worker.get());
+            }
+            total.print(label, concurrency, duration);
+        }
+    }
+
+    private static Recorder run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil) {
+        Recorder recorder = new Recorder();
+        long start;
+        while ((start = System.nanoTime()) < measureUntil) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureFrom) {
+                recorder.record(System.nanoTime() - start, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private static String authenticate(HttpClient client, String url, String login, String password)
+            throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of("login", login, "password", password));
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(url + "/v1/auth/authenticate"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Authentication failed with status " + response.statusCode());
+        }
+        JsonNode json = MAPPER.readTree(response.body());
+        return json.path("data").path("token").asText();
+    }
+
+    /**
+     * Latencies of the successful requests of one client, in nanoseconds, plus the number of failed requests.
+     */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latency, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        void print(String label, int concurrency, Duration duration) {
+            Arrays.sort(latencies, 0, count);
+            System.out.printf("%s: concurrency=%d requests=%d errors=%d throughput=%.1f req/s "
+                            + "p50=%.2f ms p90=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                    label, concurrency, count, errors, count / (double) duration.toSeconds(),
+                    percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0));
+        }
+
+        private double percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * count) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.imd.petcare.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per scenario.
+ *
+ * Latencies are measured from the time a request was scheduled to start, not from when it was sent, so
+ * queueing behind a slow server is counted instead of hidden (no coordinated omission).
+ */
+final class LoadReport {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(5);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final LongAdder dropped = new LongAdder();
+
+    LoadReport(Scenario[] scenarios) {
+        for (Scenario scenario : scenarios) {
+            latencies.put(scenario, new ConcurrentHistogram(HIGHEST_LATENCY, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    void record(Scenario scenario, long latencyNanos, boolean ok) {
+        latencies.get(scenario).recordValue(Math.min(latencyNanos, HIGHEST_LATENCY));
+        if (!ok) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    /**
+     * Counts a request that was not sent because too many requests were already in flight.
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Prints the summary table and writes, under the output directory, a summary.csv to diff between builds
+     * and one .hgrm percentile distribution per scenario for the HdrHistogram plotter.
+     */
+    void write(String label, Duration duration, Path outputDirectory, PrintStream out) throws IOException {
+        Files.createDirectories(outputDirectory);
+        Histogram total = new Histogram(HIGHEST_LATENCY, 3);
+        long totalErrors = 0;
+
+        out.printf(Locale.ROOT, "%n%s (%ds, %d dropped)%n", label, duration.toSeconds(), dropped.sum());
+        out.printf(Locale.ROOT, "%-12s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(outputDirectory.resolve("summary.csv")))) {
+            csv.println("label,scenario,requests,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (Map.Entry<Scenario, Histogram> entry : latencies.entrySet()) {
+                Histogram histogram = entry.getValue();
+                long scenarioErrors = errors.get(entry.getKey()).sum();
+                total.add(histogram);
+                totalErrors += scenarioErrors;
+                line(label, entry.getKey().key(), histogram, scenarioErrors, duration, out, csv);
+                try (PrintStream hgrm = new PrintStream(
+                        Files.newOutputStream(outputDirectory.resolve(entry.getKey().key() + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+                }
+            }
+            line(label, "all", total, totalErrors, duration, out, csv);
+        }
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(outputDirectory.resolve("all.hgrm")))) {
+            total.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+        }
+    }
+
+    private static void line(String label, String scenario, Histogram histogram, long errors, Duration duration,
+                             PrintStream out, PrintWriter csv) {
+        long count = histogram.getTotalCount();
+        double throughput = count / (double) duration.toSeconds();
+        double p50 = histogram.getValueAtPercentile(50) / NANOS_PER_MILLI;
+        double p90 = histogram.getValueAtPercentile(90) / NANOS_PER_MILLI;
+        double p99 = histogram.getValueAtPercentile(99) / NANOS_PER_MILLI;
+        double p999 = histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+        double max = histogram.getMaxValue() / NANOS_PER_MILLI;
+
+        out.printf(Locale.ROOT, "%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                scenario, count, errors, throughput, p50, p90, p99, p999, max);
+        csv.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                label, scenario, count, errors, throughput, p50, p90, p99, p999, max);
+    }
+}
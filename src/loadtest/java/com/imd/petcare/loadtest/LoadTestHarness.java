@@ -0,0 +1,187 @@
+package com.imd.petcare.loadtest;
+
+import com.imd.petcare.PetcareApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repeatable HTTP load test: starts the application against a PostgreSQL database, seeds it and drives a
+ * weighted mix of scenarios at a fixed arrival rate.
+ *
+ * <pre>
+ * ./mvnw -P loadtest test-compile exec:exec -Dloadtest.args="--label=main --rate=300 --duration=120"
+ * </pre>
+ *
+ * Without --jdbc-url a disposable PostgreSQL container is started through Testcontainers (Docker required);
+ * with it, the given database is used and must be empty. Requests are started on schedule whether or not
+ * earlier ones have completed (open model), so the reported percentiles include queueing delays. Results are
+ * printed and written to {@code <output>/<label>}; running two builds with the same options and seed gives
+ * directly comparable summary.csv and .hgrm files.
+ *
+ * Options (--name=value):
+ * <ul>
+ *     <li>jdbc-url, db-user, db-password, postgres-image: the database</li>
+ *     <li>profiles: Spring profiles of the application, e.g. virtual-threads</li>
+ *     <li>users, schedulings, seed: the seeded data set</li>
+ *     <li>sessions: logged-in users issuing the requests</li>
+ *     <li>rate (requests/s), warmup and duration (seconds), max-in-flight</li>
+ *     <li>mix: scenario weights, by default {@value Scenario#DEFAULT_MIX}</li>
+ *     <li>label, output: the name and directory of the report</li>
+ * </ul>
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        PostgreSQLContainer<?> postgres = null;
+        String jdbcUrl = options.get("jdbc-url");
+        String dbUser = options.get("db-user", "postgres");
+        String dbPassword = options.get("db-password", "12345");
+        if (jdbcUrl == null) {
+            postgres = new PostgreSQLContainer<>(options.get("postgres-image", "postgres:16-alpine"));
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+            dbUser = postgres.getUsername();
+            dbPassword = postgres.getPassword();
+        }
+
+        try (ConfigurableApplicationContext context = start(options, jdbcUrl, dbUser, dbPassword)) {
+            run(options, context);
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Options options, String jdbcUrl, String user, String password) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        properties.put("spring.datasource.username", user);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        // every simulated user logs in from the same address
+        properties.put("petcare.rate-limit.login.enabled", "false");
+
+        return new SpringApplicationBuilder(PetcareApplication.class)
+                .profiles(options.get("profiles", "").split(","))
+                .properties(properties)
+                .run();
+    }
+
+    private static void run(Options options, ConfigurableApplicationContext context) throws Exception {
+        int users = options.getInt("users", 1_000);
+        int schedulings = options.getInt("schedulings", 20_000);
+        long seed = options.getInt("seed", 42);
+        int sessionCount = Math.min(options.getInt("sessions", 100), users);
+        int rate = options.getInt("rate", 200);
+        int maxInFlight = options.getInt("max-in-flight", 5_000);
+        Duration warmup = options.getSeconds("warmup", 10);
+        Duration duration = options.getSeconds("duration", 60);
+        Scenario.Mix mix = new Scenario.Mix(options.get("mix", Scenario.DEFAULT_MIX));
+        String label = options.get("label", "run");
+
+        System.out.printf("Seeding %d users and %d schedulings...%n", users, schedulings);
+        List<DataSeeder.SeededUser> seeded = new DataSeeder(context).seed(users, schedulings, seed);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        LoadReport report = new LoadReport(mix.scenarios());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            BlockingQueue<Session> sessions = login(client, baseUrl, seeded, sessionCount, schedulings / 20, seed, executor);
+
+            System.out.printf("Running %s at %d req/s for %ds after %ds of warmup...%n",
+                    label, rate, duration.toSeconds(), warmup.toSeconds());
+            Random random = new Random(seed);
+            AtomicInteger inFlight = new AtomicInteger();
+            long interval = 1_000_000_000L / rate;
+            long start = System.nanoTime();
+            long measureFrom = start + warmup.toNanos();
+            long end = measureFrom + duration.toNanos();
+
+            for (long intended = start; intended < end; intended += interval) {
+                LockSupport.parkNanos(intended - System.nanoTime());
+                Scenario scenario = mix.next(random);
+                boolean measured = intended >= measureFrom;
+                if (inFlight.get() >= maxInFlight) {
+                    if (measured) {
+                        report.drop();
+                    }
+                    continue;
+                }
+
+                inFlight.incrementAndGet();
+                long scheduledAt = intended;
+                executor.submit(() -> {
+                    boolean ok = false;
+                    try {
+                        Session session = sessions.take();
+                        try {
+                            ok = session.run(scenario) < 400;
+                        } catch (IOException e) {
+                            ok = false;
+                        } finally {
+                            sessions.add(session);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        if (measured) {
+                            report.record(scenario, System.nanoTime() - scheduledAt, ok);
+                        }
+                    }
+                });
+            }
+        }
+
+        report.write(label, duration, Path.of(options.get("output", "target/loadtest"), label), System.out);
+    }
+
+    private static BlockingQueue<Session> login(HttpClient client, String baseUrl, List<DataSeeder.SeededUser> seeded,
+                                                int count, int calendarPages, long seed, ExecutorService executor)
+            throws Exception {
+        List<Future<Session>> logins = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Session session = new Session(client, baseUrl, seeded.get(i), seeded.size(), calendarPages, seed + i);
+            logins.add(executor.submit(() -> {
+                if (session.login() >= 400) {
+                    throw new IllegalStateException("Login of a seeded user failed");
+                }
+                return session;
+            }));
+        }
+
+        BlockingQueue<Session> sessions = new LinkedBlockingQueue<>();
+        for (Future<Session> login : logins) {
+            sessions.add(login.get());
+        }
+        return sessions;
+    }
+}
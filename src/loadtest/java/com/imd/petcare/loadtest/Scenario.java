@@ -0,0 +1,88 @@
+package com.imd.petcare.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The user actions the load test mixes, each mapped to the requests the front-end sends for it.
+ */
+enum Scenario {
+    LOGIN("login"),
+    REFRESH("refresh"),
+    LIST_CALENDAR("calendar"),
+    CREATE_SCHEDULING("create"),
+    UPDATE_SCHEDULING("update"),
+    CHECK_EMAIL("check-email");
+
+    /**
+     * Default mix, dominated by calendar reads as in production traffic.
+     */
+    static final String DEFAULT_MIX = "login=5,refresh=5,calendar=60,create=10,update=10,check-email=10";
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Scenario of(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+
+    /**
+     * Weighted choice between scenarios, parsed from a "name=weight,..." list.
+     */
+    static final class Mix {
+        private final Scenario[] scenarios;
+        private final int[] cumulativeWeights;
+
+        Mix(String spec) {
+            Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected name=weight but got " + entry);
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    weights.put(of(parts[0].trim()), weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("The scenario mix is empty: " + spec);
+            }
+
+            scenarios = weights.keySet().toArray(new Scenario[0]);
+            cumulativeWeights = new int[scenarios.length];
+            int total = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                total += weights.get(scenarios[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        Scenario next(Random random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return scenarios[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        Scenario[] scenarios() {
+            return scenarios.clone();
+        }
+    }
+}
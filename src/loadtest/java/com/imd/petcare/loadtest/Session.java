@@ -0,0 +1,148 @@
+package com.imd.petcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A logged-in seeded user issuing the requests of each scenario. A session is used by one request at a time.
+ */
+final class Session {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final DataSeeder.SeededUser user;
+    private final int seededUsers;
+    private final int calendarPages;
+    private final Random random;
+    private String token;
+    private String refreshToken;
+
+    Session(HttpClient client, String baseUrl, DataSeeder.SeededUser user, int seededUsers, int calendarPages, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.user = user;
+        this.seededUsers = seededUsers;
+        this.calendarPages = Math.max(calendarPages, 1);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Runs one scenario and returns the HTTP status of its last request.
+     */
+    int run(Scenario scenario) throws IOException, InterruptedException {
+        return switch (scenario) {
+            case LOGIN -> login();
+            case REFRESH -> refresh();
+            case LIST_CALENDAR -> send(get("/v1/scheduling?page=" + random.nextInt(calendarPages) + "&size=20")).statusCode();
+            case CREATE_SCHEDULING -> createScheduling();
+            case UPDATE_SCHEDULING -> updateScheduling();
+            case CHECK_EMAIL -> checkEmail();
+        };
+    }
+
+    int login() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/v1/auth/authenticate",
+                Map.of("login", user.login(), "password", DataSeeder.PASSWORD)));
+        return storeTokens(response);
+    }
+
+    private int refresh() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/v1/auth/refresh-token", Map.of("refreshToken", refreshToken)));
+        return storeTokens(response);
+    }
+
+    private int createScheduling() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(post("/v1/scheduling", Map.of(
+                "userId", user.id(),
+                "title", "Retorno",
+                "description", "Agendamento criado pelo teste de carga",
+                "month", random.nextInt(1, 13),
+                "day", random.nextInt(1, 29),
+                "year", 2025,
+                "type", "SUCCESS")));
+        if (response.statusCode() < 400) {
+            user.schedulingIds().add(data(response).path("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Reads one of the user's schedulings and writes it back with a new title and the version just read,
+     * the way the edit form does.
+     */
+    private int updateScheduling() throws IOException, InterruptedException {
+        if (user.schedulingIds().isEmpty()) {
+            return createScheduling();
+        }
+        long id = user.schedulingIds().get(random.nextInt(user.schedulingIds().size()));
+        HttpResponse<String> read = send(get("/v1/scheduling/" + id));
+        if (read.statusCode() >= 400) {
+            return read.statusCode();
+        }
+
+        ObjectNode scheduling = (ObjectNode) data(read);
+        scheduling.put("title", "Consulta " + random.nextInt(1000));
+        return send(authorized("/v1/scheduling/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(scheduling)))
+                .build()).statusCode();
+    }
+
+    /**
+     * Looks up a seeded email or, one time in four, an address that does not exist.
+     */
+    private int checkEmail() throws IOException, InterruptedException {
+        int index = random.nextInt(1, seededUsers + 1);
+        String email = random.nextInt(4) == 0 ? "missing" + index + "@petcare.test" : DataSeeder.email(index);
+        return send(get("/v1/users/check-email?email=" + email)).statusCode();
+    }
+
+    private int storeTokens(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() < 400) {
+            JsonNode data = data(response);
+            token = data.path("token").asText();
+            refreshToken = data.path("refreshToken").asText();
+        }
+        return response.statusCode();
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, ?> body) throws IOException {
+        return authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonNode data(HttpResponse<String> response) throws IOException {
+        return MAPPER.readTree(response.body()).path("data");
+    }
+}
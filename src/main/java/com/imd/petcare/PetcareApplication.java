@@ -1,5 +1,6 @@
 package com.imd.petcare;
 
+import com.imd.petcare.service.idempotency.IdempotencyService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -10,7 +11,8 @@ public class PetcareApplication implements WebMvcConfigurer {
 
 	@Override
 	public void addCorsMappings(CorsRegistry registry) {
-		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
+		registry.addMapping("/**").allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+				.exposedHeaders(IdempotencyService.REPLAYED_HEADER);
 	}
 
 
@@ -0,0 +1,29 @@
+package com.imd.petcare.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Configuration class for asynchronous execution.
+ *
+ * {@code @Async} methods run on Spring Boot's {@code applicationTaskExecutor}: a bounded platform thread
+ * pool by default, or one virtual thread per task when {@code spring.threads.virtual.enabled} is set
+ * (see the {@code virtual-threads} profile).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {
+
+    /**
+     * Defines the TaskDecorator applied by Spring Boot to the application task executor, so that the trace
+     * context and other Micrometer-managed thread locals follow the work into the executor thread.
+     *
+     * @return a TaskDecorator propagating the thread-local context
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
@@ -0,0 +1,26 @@
+package com.imd.petcare.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration class providing the application clock.
+ *
+ * Components that need the current time take this {@link Clock} instead of calling {@code now()} on their
+ * own, so tests and benchmarks can pass a fixed clock.
+ */
+@Configuration
+public class ClockConfiguration {
+
+    /**
+     * Defines the Clock bean used to obtain the current time.
+     *
+     * @return the system clock in the default time zone
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
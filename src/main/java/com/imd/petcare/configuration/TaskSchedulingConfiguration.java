@@ -0,0 +1,18 @@
+package com.imd.petcare.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling {@code @Scheduled} methods.
+ *
+ * They run on Spring Boot's {@code taskScheduler}, configured through the {@code spring.task.scheduling.*}
+ * properties. These are periodic maintenance tasks of the application, not to be confused with the
+ * appointments handled by {@code SchedulingService}. The pool has several threads, so that the frequent
+ * tasks, such as the reminder tick, the change feed relay and the scheduling stream poll, keep running while
+ * a rebuild or an archival takes its time.
+ */
+@Configuration
+@EnableScheduling
+public class TaskSchedulingConfiguration {
+}
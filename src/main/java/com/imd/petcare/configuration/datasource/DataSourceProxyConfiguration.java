@@ -0,0 +1,40 @@
+package com.imd.petcare.configuration.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class wrapping the application DataSource in a datasource-proxy.
+ *
+ * Every JDBC execution then goes through {@link SqlStatementListener}, which feeds the per-request SQL
+ * statistics reported by {@link SqlStatementFilter}.
+ */
+@Configuration
+public class DataSourceProxyConfiguration {
+
+    /**
+     * Defines a BeanPostProcessor that replaces each DataSource bean with a proxy notifying the statement listener.
+     *
+     * @return the BeanPostProcessor wrapping DataSource beans
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.imd.petcare.configuration.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter measuring the SQL executed by each HTTP request.
+ *
+ * The statement count and the total time spent in JDBC are recorded in the {@code petcare.sql.statements}
+ * and {@code petcare.sql.time} meters, tagged by method and URI pattern. A request exceeding the configured
+ * statement count or SQL time is logged, and so is a statement shape repeated often enough to suggest an
+ * N+1 query. This replaces {@code spring.jpa.show-sql}, which only prints statements one by one.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final MeterRegistry registry;
+    private final int maxStatements;
+    private final long maxTimeNanos;
+    private final int repeatedShapeThreshold;
+
+    public SqlStatementFilter(MeterRegistry registry,
+                              @Value("${petcare.sql.slow-request.max-statements:10}") int maxStatements,
+                              @Value("${petcare.sql.slow-request.max-time:50ms}") Duration maxTime,
+                              @Value("${petcare.sql.n-plus-one.threshold:5}") int repeatedShapeThreshold) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.maxTimeNanos = maxTime.toNanos();
+        this.repeatedShapeThreshold = repeatedShapeThreshold;
+    }
+
+    /**
+     * Binds fresh SQL statistics to the request thread, runs the rest of the chain and reports them.
+     *
+     * @param request     the HttpServletRequest object that contains the request the client made to the servlet
+     * @param response    the HttpServletResponse object that contains the response the servlet returns to the client
+     * @param filterChain the FilterChain for invoking the next filter or the resource
+     * @throws ServletException if the request could not be handled
+     * @throws IOException      if an input or output error occurs while the request is handled
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("petcare.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getStatements());
+        Timer.builder("petcare.sql.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > maxStatements || stats.getElapsedNanos() > maxTimeNanos) {
+            logger.warn("Slow request {} {}: {} SQL statements in {} ms",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getElapsedNanos()));
+        }
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedShape();
+        if (repeated != null && repeated.getValue() >= repeatedShapeThreshold) {
+            logger.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
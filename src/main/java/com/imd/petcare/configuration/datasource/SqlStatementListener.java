@@ -0,0 +1,34 @@
+package com.imd.petcare.configuration.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener adding each JDBC execution to the statistics of the current request.
+ *
+ * A batch counts as one statement: it is a single round trip to the database. The time is taken with
+ * System.nanoTime because the elapsed time reported by datasource-proxy only has millisecond precision.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String START = SqlStatementListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatementStats.current() != null) {
+            execInfo.addCustomValue(START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (stats != null && start != null && !queryInfoList.isEmpty()) {
+            stats.record(queryInfoList.get(0).getQuery(), execInfo.isBatch(), System.nanoTime() - start);
+        }
+    }
+}
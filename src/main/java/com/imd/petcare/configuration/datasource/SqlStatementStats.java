@@ -0,0 +1,87 @@
+package com.imd.petcare.configuration.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed while handling one HTTP request.
+ *
+ * The statistics are bound to the request thread by {@link SqlStatementFilter} and filled by
+ * {@link SqlStatementListener} after every JDBC execution. Statements are also counted per shape (the SQL
+ * with literals and IN lists collapsed), which is how repeated N+1 lookups are recognized.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long elapsedNanos;
+
+    private SqlStatementStats() {
+    }
+
+    /**
+     * Starts collecting the statements executed by the current thread.
+     *
+     * @return the statistics bound to the current thread
+     */
+    static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops collecting statements on the current thread.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the statistics bound to the current thread, or null outside an HTTP request.
+     */
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds one execution. Batches are not counted per shape: repeating an insert in batches is not an N+1.
+     */
+    void record(String sql, boolean batch, long elapsedNanos) {
+        statements++;
+        this.elapsedNanos += elapsedNanos;
+        if (!batch) {
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the shape executed the most times, or null if no statement was executed.
+     */
+    public Map.Entry<String, Integer> getMostRepeatedShape() {
+        return shapes.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,26 @@
+package com.imd.petcare.configuration.logging;
+
+import java.time.Instant;
+
+/**
+ * One line of the JSON access log.
+ *
+ * @param timestamp  the time the request started
+ * @param method     the HTTP method
+ * @param path       the request URI, without the query string
+ * @param status     the response status
+ * @param durationMs the time spent handling the request, in milliseconds
+ * @param user       the authenticated login, or null for anonymous requests
+ * @param remoteAddr the client address
+ * @param traceId    the trace ID of the request, when it is traced
+ */
+public record AccessLogEntry(
+        Instant timestamp,
+        String method,
+        String path,
+        int status,
+        double durationMs,
+        String user,
+        String remoteAddr,
+        String traceId) {
+}
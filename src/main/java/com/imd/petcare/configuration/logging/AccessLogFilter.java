@@ -0,0 +1,70 @@
+package com.imd.petcare.configuration.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Filter writing one structured access log entry per HTTP request through the {@link StructuredLogWriter}.
+ *
+ * The entry is built from values already at hand and handed to the writer without blocking, so the request
+ * thread never waits on log I/O. The filter runs right after Spring Boot's ServerHttpObservationFilter
+ * (ordered at {@code HIGHEST_PRECEDENCE + 1}), so the trace of the request is still open and its ID is in
+ * the MDC when the entry is built.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the authenticated login. It is set by the authentication filter because the
+     * security context is already cleared when this filter, which runs outside the security chain, logs the request.
+     */
+    public static final String USER_ATTRIBUTE = AccessLogFilter.class.getName() + ".user";
+
+    private final StructuredLogWriter logWriter;
+
+    public AccessLogFilter(StructuredLogWriter logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * Runs the rest of the chain and logs the request once it has completed, successfully or not.
+     *
+     * @param request     the HttpServletRequest object that contains the request the client made to the servlet
+     * @param response    the HttpServletResponse object that contains the response the servlet returns to the client
+     * @param filterChain the FilterChain for invoking the next filter or the resource
+     * @throws ServletException if the request could not be handled
+     * @throws IOException      if an input or output error occurs while the request is handled
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Instant timestamp = Instant.now();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            logWriter.offer(StructuredLogWriter.Channel.ACCESS, new AccessLogEntry(
+                    timestamp,
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    response.getStatus(),
+                    (System.nanoTime() - start) / 1_000_000.0,
+                    (String) request.getAttribute(USER_ATTRIBUTE),
+                    request.getRemoteAddr(),
+                    MDC.get("traceId")));
+        }
+    }
+}
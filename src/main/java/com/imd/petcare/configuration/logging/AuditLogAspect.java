@@ -0,0 +1,91 @@
+package com.imd.petcare.configuration.logging;
+
+import com.imd.petcare.controller.GenericController;
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.MDC;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect writing a business audit entry, through the {@link StructuredLogWriter}, for every entity created,
+ * updated or deleted through a {@link GenericController}.
+ *
+ * Only successful calls are audited, and responses replayed by the {@link IdempotencyService} are not, as the
+ * call they repeat was audited already. The ID of a created entity is read from the DTO returned in the response.
+ */
+@Aspect
+@Component
+public class AuditLogAspect {
+
+    private final StructuredLogWriter logWriter;
+    private final Map<Class<?>, String> entityNames = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Method> idAccessors = new ConcurrentHashMap<>();
+
+    public AuditLogAspect(StructuredLogWriter logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * Audits a successful create, update or delete call.
+     *
+     * @param joinPoint the intercepted controller call
+     * @param result    the response returned by the controller
+     */
+    @AfterReturning(pointcut = "this(com.imd.petcare.controller.GenericController)"
+            + " && (execution(public * create(..)) || execution(public * update(..)) || execution(public * delete(..)))",
+            returning = "result")
+    public void audit(JoinPoint joinPoint, Object result) {
+        if (result instanceof ResponseEntity<?> response
+                && response.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)) {
+            return;
+        }
+        String action = joinPoint.getSignature().getName();
+        Object entityId = "create".equals(action) ? createdId(result) : joinPoint.getArgs()[0];
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        logWriter.offer(StructuredLogWriter.Channel.AUDIT, new AuditLogEntry(
+                Instant.now(),
+                authentication != null ? authentication.getName() : null,
+                action,
+                entityName(joinPoint.getTarget()),
+                entityId,
+                MDC.get("traceId")));
+    }
+
+    private Object createdId(Object result) {
+        if (result instanceof ResponseEntity<?> response
+                && response.getBody() instanceof ApiResponseDTO<?> body
+                && body.getData() instanceof Record dto) {
+            Method accessor = idAccessors.computeIfAbsent(dto.getClass(),
+                    type -> ClassUtils.getMethodIfAvailable(type, "id"));
+            if (accessor != null) {
+                try {
+                    return accessor.invoke(dto);
+                } catch (ReflectiveOperationException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String entityName(Object controller) {
+        return entityNames.computeIfAbsent(ClassUtils.getUserClass(controller), type -> {
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(type, GenericController.class);
+            return arguments != null ? arguments[0].getSimpleName() : type.getSimpleName();
+        });
+    }
+}
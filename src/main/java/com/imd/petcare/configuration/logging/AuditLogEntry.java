@@ -0,0 +1,22 @@
+package com.imd.petcare.configuration.logging;
+
+import java.time.Instant;
+
+/**
+ * One line of the JSON audit log: a successful change made through a GenericController.
+ *
+ * @param timestamp the time the change completed
+ * @param user      the login of the user who made the change
+ * @param action    create, update or delete
+ * @param entity    the entity type
+ * @param entityId  the ID of the changed entity
+ * @param traceId   the trace ID of the request, when it is traced
+ */
+public record AuditLogEntry(
+        Instant timestamp,
+        String user,
+        String action,
+        String entity,
+        Object entityId,
+        String traceId) {
+}
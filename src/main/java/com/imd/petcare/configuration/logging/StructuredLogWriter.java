@@ -0,0 +1,157 @@
+package com.imd.petcare.configuration.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jctools.queues.MpscArrayQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes structured (JSON) access and audit log entries away from the request threads.
+ *
+ * Request threads only offer the entry to a bounded lock-free ring buffer (a multi-producer, single-consumer
+ * array queue) and return immediately. A single background thread, parked while the buffer is empty and woken
+ * by the next offer, serializes the entries and passes them to the {@code petcare.access} and
+ * {@code petcare.audit} loggers, whose appenders are configured in logback-spring.xml. When the buffer is full
+ * the entry is dropped rather than blocking the request; accepted and dropped entries are counted in the
+ * {@code petcare.log.entries} meter, tagged by channel and result.
+ */
+@Component
+public class StructuredLogWriter implements SmartLifecycle {
+
+    /**
+     * The log an entry is written to.
+     */
+    public enum Channel {
+        ACCESS("petcare.access"),
+        AUDIT("petcare.audit");
+
+        private final Logger logger;
+
+        Channel(String loggerName) {
+            this.logger = LoggerFactory.getLogger(loggerName);
+        }
+    }
+
+    private record Entry(Channel channel, Object event) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(StructuredLogWriter.class);
+
+    private final MpscArrayQueue<Entry> buffer;
+    private final ObjectWriter objectWriter;
+    private final Map<Channel, Counter> accepted = new EnumMap<>(Channel.class);
+    private final Map<Channel, Counter> dropped = new EnumMap<>(Channel.class);
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    /**
+     * Whether the writer thread is about to park or parked, waiting for entries.
+     */
+    private volatile boolean idle;
+
+    public StructuredLogWriter(ObjectMapper objectMapper,
+                               MeterRegistry registry,
+                               @Value("${petcare.logging.buffer-size:8192}") int bufferSize) {
+        this.buffer = new MpscArrayQueue<>(bufferSize);
+        this.objectWriter = objectMapper.writer();
+        for (Channel channel : Channel.values()) {
+            accepted.put(channel, counter(registry, channel, "accepted"));
+            dropped.put(channel, counter(registry, channel, "dropped"));
+        }
+        Gauge.builder("petcare.log.buffer.size", buffer, MpscArrayQueue::size)
+                .description("Log entries waiting to be written")
+                .register(registry);
+    }
+
+    /**
+     * Offers an entry to the given log without blocking.
+     *
+     * @param channel the log to write to
+     * @param event   the entry, serialized to JSON by the writer thread; it must not be modified afterwards
+     * @return true if the entry was accepted, false if the buffer was full and the entry was dropped
+     */
+    public boolean offer(Channel channel, Object event) {
+        if (buffer.offer(new Entry(channel, event))) {
+            accepted.get(channel).increment();
+            if (idle) {
+                LockSupport.unpark(writer);
+            }
+            return true;
+        }
+        dropped.get(channel).increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("structured-log-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Stops accepting work once the buffer is drained and waits for the writer thread.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        while (running || !buffer.isEmpty()) {
+            Entry entry = buffer.relaxedPoll();
+            if (entry == null) {
+                awaitEntries();
+                continue;
+            }
+            try {
+                entry.channel().logger.info(objectWriter.writeValueAsString(entry.event()));
+            } catch (JsonProcessingException | RuntimeException e) {
+                logger.warn("Could not write {} log entry", entry.channel(), e);
+            }
+        }
+    }
+
+    /**
+     * Parks the writer thread until an entry is offered or the writer is stopped. The idle flag is raised
+     * before the buffer is checked again and producers read it after their offer, so no wake-up is lost.
+     */
+    private void awaitEntries() {
+        idle = true;
+        if (running && buffer.isEmpty()) {
+            LockSupport.park(this);
+        }
+        idle = false;
+    }
+
+    private static Counter counter(MeterRegistry registry, Channel channel, String result) {
+        return Counter.builder("petcare.log.entries")
+                .description("Structured log entries offered to the async writer")
+                .tag("channel", channel.name().toLowerCase())
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.imd.petcare.configuration.metrics;
+
+import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ConcurrentUpdateException;
+import com.imd.petcare.utils.exception.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Values of the "outcome" tag shared by the application meters.
+ *
+ * Exceptions are reduced to a few fixed values so that the tag keeps a bounded number of time series.
+ */
+public final class MetricOutcome {
+
+    public static final String TAG = "outcome";
+    public static final String SUCCESS = "success";
+
+    private MetricOutcome() {
+    }
+
+    /**
+     * Classifies the exception thrown by a measured call.
+     *
+     * @param error the exception thrown, or null if the call completed normally
+     * @return the outcome tag value
+     */
+    public static String of(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        if (error instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof ConcurrentUpdateException || error instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (error instanceof BusinessException) {
+            return "rejected";
+        }
+        if (error instanceof AuthenticationException) {
+            return "unauthorized";
+        }
+        return "error";
+    }
+}
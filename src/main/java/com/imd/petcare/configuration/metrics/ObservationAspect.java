@@ -0,0 +1,125 @@
+package com.imd.petcare.configuration.metrics;
+
+import com.imd.petcare.service.GenericService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect observing the service and repository layers.
+ *
+ * Each observation is exported both as a timer and as a trace span, so the same names appear in Prometheus
+ * and in traces:
+ * <ul>
+ *     <li>{@code petcare.service}: every public call on a {@link GenericService}, tagged by entity,
+ *     operation (the method name) and outcome;</li>
+ *     <li>{@code petcare.authentication}: login and token refresh, tagged by operation and outcome;</li>
+ *     <li>{@code petcare.repository}: every Spring Data repository call, tagged by repository, method and outcome.</li>
+ * </ul>
+ * Each timer also carries the call count, so failures can be read from the outcome tag.
+ */
+@Aspect
+@Component
+public class ObservationAspect {
+
+    private final ObservationRegistry registry;
+    private final Map<Class<?>, String> names = new ConcurrentHashMap<>();
+
+    public ObservationAspect(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Observes the public methods of every GenericService implementation, except the repository and mapper accessors.
+     *
+     * @param joinPoint the intercepted service call
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call, unchanged
+     */
+    @Around("execution(public * com.imd.petcare.service.GenericService+.*(..))"
+            + " && !execution(* getRepository()) && !execution(* getDtoMapper())")
+    public Object observeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Observation observation = Observation.createNotStarted("petcare.service", registry)
+                .contextualName(entityName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName())
+                .lowCardinalityKeyValue("entity", entityName(joinPoint.getTarget()))
+                .lowCardinalityKeyValue("operation", joinPoint.getSignature().getName());
+        return observe(joinPoint, observation);
+    }
+
+    /**
+     * Observes login and access token refresh.
+     *
+     * @param joinPoint the intercepted authentication call
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call, unchanged
+     */
+    @Around("execution(* com.imd.petcare.service.AuthenticationService.authenticate(..))"
+            + " || execution(* com.imd.petcare.service.AuthenticationService.refreshAccessToken(..))")
+    public Object observeAuthentication(ProceedingJoinPoint joinPoint) throws Throwable {
+        Observation observation = Observation.createNotStarted("petcare.authentication", registry)
+                .contextualName("authentication." + joinPoint.getSignature().getName())
+                .lowCardinalityKeyValue("operation", joinPoint.getSignature().getName());
+        return observe(joinPoint, observation);
+    }
+
+    /**
+     * Observes the calls made on the application repositories.
+     *
+     * @param joinPoint the intercepted repository call
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call, unchanged
+     */
+    @Around("execution(public * *(..)) && this(com.imd.petcare.repository.GenericRepository)"
+            + " && !execution(* java.lang.Object.*(..))")
+    public Object observeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getTarget());
+        Observation observation = Observation.createNotStarted("petcare.repository", registry)
+                .contextualName(repository + "." + joinPoint.getSignature().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", joinPoint.getSignature().getName());
+        return observe(joinPoint, observation);
+    }
+
+    private Object observe(ProceedingJoinPoint joinPoint, Observation observation) throws Throwable {
+        Throwable error = null;
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue(MetricOutcome.TAG, MetricOutcome.of(error)).stop();
+        }
+    }
+
+    private String entityName(Object service) {
+        return names.computeIfAbsent(ClassUtils.getUserClass(service), type -> {
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(type, GenericService.class);
+            return arguments != null ? arguments[0].getSimpleName() : type.getSimpleName();
+        });
+    }
+
+    /**
+     * Repositories are JDK proxies; the repository name is the first application interface they implement.
+     */
+    private String repositoryName(Object repository) {
+        return names.computeIfAbsent(repository.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (candidate.getName().startsWith("com.imd.petcare.repository.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
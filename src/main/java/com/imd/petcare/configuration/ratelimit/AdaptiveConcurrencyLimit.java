@@ -0,0 +1,114 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to the latency of the requests it admits, following the gradient algorithm
+ * of Netflix's concurrency-limits library.
+ *
+ * A long-term average of the response time stands for the latency of the unloaded service, and a short-term
+ * average for the current one. While they agree the limit grows by about its square root (the queue the
+ * service is allowed to build); once the current latency rises above the tolerated ratio, the limit shrinks
+ * in proportion, down to half per update. Requests beyond the limit are refused immediately instead of
+ * waiting in the server's queue. A response time is counted as at most four times the long-term average, so
+ * that a single slow request cannot drag the limit down on its own; a lasting slowdown still does.
+ *
+ * Admitting and releasing a request only touch an atomic counter. Limit updates are skipped while another
+ * thread is already updating it.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double MAX_SAMPLE_RATIO = 4;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimit.
+     *
+     * @param initialLimit the limit before any latency has been observed.
+     * @param minLimit     the lowest limit, however slow the requests.
+     * @param maxLimit     the highest limit, however fast the requests.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight. An admitted request must be released.
+     *
+     * @return true if the request was admitted.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit to its response time.
+     *
+     * @param rttNanos the time the request took, in nanoseconds.
+     */
+    public void release(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            update(Math.max(rttNanos, 1), concurrency);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long rtt, int concurrency) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        } else {
+            double sample = Math.min(rtt, longRtt * MAX_SAMPLE_RATIO);
+            shortRtt += (sample - shortRtt) / SHORT_WINDOW;
+            longRtt += (sample - longRtt) / LONG_WINDOW;
+        }
+        // Let the baseline follow a lasting drop in latency instead of holding on to a slow past.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // A service running far below its limit says nothing about how much more it could take.
+        if (concurrency < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
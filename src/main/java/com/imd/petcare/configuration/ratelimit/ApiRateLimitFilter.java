@@ -0,0 +1,201 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.utils.exception.ServiceOverloadedException;
+import com.imd.petcare.utils.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jctools.maps.NonBlockingHashMapLong;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * API rate limiting and load shedding, placed in the security filter chain right after the
+ * JwtAuthenticationFilter.
+ *
+ * An authenticated request is first counted against two sliding-window quotas: the quota of its user and the
+ * quota shared by all users of its role, both set per role by the {@code petcare.rate-limit.api.*}
+ * properties. The user counters live in a lock-free map keyed by the primitive user id and are evicted once
+ * idle. A request over either quota is answered with a 429 and is not counted against the other one.
+ *
+ * Every request then has to be admitted by an {@link AdaptiveConcurrencyLimit}, which lowers the number of
+ * requests handled at once when their latency rises. A request beyond it is answered with a 503 straight
+ * away, before it can queue up for a Tomcat thread or a database connection. Bulk exports and imports are
+ * not admitted through it: they legitimately take seconds to minutes, and would hold a slot for as long while
+ * reporting their duration as the latency of the service.
+ *
+ * Rejections are resolved by the ControllerExceptionHandler, so they have the same body as other errors, and
+ * are counted in the {@code petcare.rate-limit.api} meter, tagged by result.
+ */
+@Component
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String QUOTA_MESSAGE = "Limite de requisições excedido. Tente novamente em alguns instantes.";
+    private static final String OVERLOADED_MESSAGE = "Serviço sobrecarregado. Tente novamente em alguns instantes.";
+
+    private final HandlerExceptionResolver exceptionResolver;
+    private final boolean enabled;
+    private final Duration window;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final NonBlockingHashMapLong<SlidingWindowCounter> userCounters = new NonBlockingHashMapLong<>();
+    private final Map<Role, SlidingWindowCounter> roleCounters = new EnumMap<>(Role.class);
+    private final Map<Role, Integer> userLimits = new EnumMap<>(Role.class);
+    private final Map<Role, Integer> roleLimits = new EnumMap<>(Role.class);
+
+    private final Counter allowed;
+    private final Counter userQuotaExceeded;
+    private final Counter roleQuotaExceeded;
+    private final Counter shed;
+
+    public ApiRateLimitFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                              MeterRegistry registry,
+                              Environment environment,
+                              @Value("${petcare.rate-limit.api.enabled:true}") boolean enabled,
+                              @Value("${petcare.rate-limit.api.window:1m}") Duration window,
+                              @Value("${petcare.rate-limit.api.concurrency.initial-limit:50}") int initialLimit,
+                              @Value("${petcare.rate-limit.api.concurrency.min-limit:10}") int minLimit,
+                              @Value("${petcare.rate-limit.api.concurrency.max-limit:400}") int maxLimit) {
+        this.exceptionResolver = exceptionResolver;
+        this.enabled = enabled;
+        this.window = window;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+
+        long now = System.nanoTime();
+        int defaultUserLimit = environment.getProperty("petcare.rate-limit.api.user.default", Integer.class, 600);
+        int defaultRoleLimit = environment.getProperty("petcare.rate-limit.api.role.default", Integer.class, 20_000);
+        for (Role role : Role.values()) {
+            String name = role.name().toLowerCase(Locale.ROOT);
+            userLimits.put(role, environment.getProperty("petcare.rate-limit.api.user." + name, Integer.class, defaultUserLimit));
+            roleLimits.put(role, environment.getProperty("petcare.rate-limit.api.role." + name, Integer.class, defaultRoleLimit));
+            roleCounters.put(role, new SlidingWindowCounter(window, now));
+        }
+
+        this.allowed = counter(registry, "allowed");
+        this.userQuotaExceeded = counter(registry, "user_quota_exceeded");
+        this.roleQuotaExceeded = counter(registry, "role_quota_exceeded");
+        this.shed = counter(registry, "shed");
+        Gauge.builder("petcare.rate-limit.api.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests the application currently admits at once")
+                .register(registry);
+        Gauge.builder("petcare.rate-limit.api.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently being handled")
+                .register(registry);
+        Gauge.builder("petcare.rate-limit.api.users", userCounters, NonBlockingHashMapLong::size)
+                .description("Users with a rate limit counter in memory")
+                .register(registry);
+    }
+
+    /**
+     * Checks the quotas of the authenticated user, admits the request through the concurrency limit and runs
+     * the rest of the chain.
+     *
+     * @param request     the HttpServletRequest object that contains the request the client made to the servlet
+     * @param response    the HttpServletResponse object that contains the response the servlet returns to the client
+     * @param filterChain the FilterChain for invoking the next filter or the resource
+     * @throws ServletException if the request could not be handled
+     * @throws IOException      if an input or output error occurs while the request is handled
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user && user.getRole() != null) {
+            long wait = checkQuotas(user, now);
+            if (wait > 0) {
+                exceptionResolver.resolveException(request, response, null,
+                        new TooManyRequestsException(QUOTA_MESSAGE, Duration.ofNanos(wait)));
+                return;
+            }
+        }
+
+        if (isBulkTransfer(request)) {
+            allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            shed.increment();
+            exceptionResolver.resolveException(request, response, null, new ServiceOverloadedException(OVERLOADED_MESSAGE));
+            return;
+        }
+        allowed.increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - now);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || request.getServletPath().startsWith("/actuator");
+    }
+
+    /**
+     * Discards the counters of users who sent no request in the last two windows.
+     */
+    @Scheduled(fixedDelayString = "${petcare.rate-limit.api.eviction-interval:PT1M}")
+    public void evictIdleCounters() {
+        long now = System.nanoTime();
+        userCounters.values().removeIf(counter -> counter.isIdle(now));
+    }
+
+    private static boolean isBulkTransfer(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.endsWith("/export") || path.endsWith("/import");
+    }
+
+    private long checkQuotas(User user, long now) {
+        Role role = user.getRole();
+        SlidingWindowCounter userCounter = userCounters.get(user.getId());
+        if (userCounter == null) {
+            SlidingWindowCounter created = new SlidingWindowCounter(window, now);
+            userCounter = userCounters.putIfAbsent(user.getId(), created);
+            if (userCounter == null) {
+                userCounter = created;
+            }
+        }
+
+        long wait = userCounter.tryAcquire(now, userLimits.get(role));
+        if (wait > 0) {
+            userQuotaExceeded.increment();
+            return wait;
+        }
+        wait = roleCounters.get(role).tryAcquire(now, roleLimits.get(role));
+        if (wait > 0) {
+            userCounter.release(now);
+            roleQuotaExceeded.increment();
+        }
+        return wait;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("petcare.rate-limit.api")
+                .description("API requests checked against the rate limits and the concurrency limit")
+                .tag("result", result)
+                .register(registry);
+    }
+}
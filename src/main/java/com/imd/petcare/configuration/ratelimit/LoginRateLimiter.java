@@ -0,0 +1,159 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import com.imd.petcare.utils.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Brute-force guard for the login endpoint.
+ *
+ * Every authentication attempt takes a token from the bucket of the client address, and only failed ones take a
+ * token from the bucket of the login they tried, so that a user logging in repeatedly is not locked out. An
+ * attempt is rejected with a {@link TooManyRequestsException} when either bucket is empty, and a rejected
+ * attempt takes no token. This happens before the AuthenticationManager is called, so rejected attempts cost
+ * neither a database lookup nor a BCrypt comparison.
+ *
+ * The limits are set by the {@code petcare.rate-limit.login.*} properties. Attempts are counted in the
+ * {@code petcare.rate-limit.login} meter, tagged by key (ip or login) and result (allowed or rejected).
+ * Buckets that have refilled completely are indistinguishable from new ones and are evicted periodically.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final String MESSAGE = "Muitas tentativas de login. Tente novamente em alguns instantes.";
+
+    private final boolean enabled;
+    private final Limit byAddress;
+    private final Limit byLogin;
+
+    public LoginRateLimiter(MeterRegistry registry,
+                            @Value("${petcare.rate-limit.login.enabled:true}") boolean enabled,
+                            @Value("${petcare.rate-limit.login.ip.capacity:20}") int addressCapacity,
+                            @Value("${petcare.rate-limit.login.ip.refill-period:1m}") Duration addressRefillPeriod,
+                            @Value("${petcare.rate-limit.login.user.capacity:5}") int loginCapacity,
+                            @Value("${petcare.rate-limit.login.user.refill-period:5m}") Duration loginRefillPeriod) {
+        this.enabled = enabled;
+        this.byAddress = new Limit(registry, "ip", addressCapacity, addressRefillPeriod);
+        this.byLogin = new Limit(registry, "login", loginCapacity, loginRefillPeriod);
+    }
+
+    /**
+     * Admits an authentication attempt, taking a token from the bucket of the client address.
+     *
+     * @param remoteAddress the address of the client.
+     * @param login         the login being authenticated; its bucket is checked but not drained.
+     * @throws TooManyRequestsException if the client or the login exceeded its limit.
+     */
+    public void acquire(String remoteAddress, String login) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = byLogin.check(login, now);
+        if (wait == 0) {
+            wait = byAddress.tryAcquire(remoteAddress, now);
+        }
+        if (wait > 0) {
+            throw new TooManyRequestsException(MESSAGE, Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Counts an attempt against a login: a failed authentication, or a recovery mail requested for it.
+     *
+     * @param login the login, or email, the attempt was made for.
+     */
+    public void recordFailure(String login) {
+        if (enabled) {
+            byLogin.take(login, System.nanoTime());
+        }
+    }
+
+    /**
+     * Discards the buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${petcare.rate-limit.login.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        byAddress.evict(now);
+        byLogin.evict(now);
+    }
+
+    /**
+     * The buckets of one kind of key.
+     */
+    private static final class Limit {
+
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final int capacity;
+        private final Duration refillPeriod;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limit(MeterRegistry registry, String key, int capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+            this.allowed = counter(registry, key, "allowed");
+            this.rejected = counter(registry, key, "rejected");
+            Gauge.builder("petcare.rate-limit.login.buckets", buckets, ConcurrentHashMap::size)
+                    .description("Login rate limit buckets in memory")
+                    .tag("key", key)
+                    .register(registry);
+            Gauge.builder("petcare.rate-limit.login.capacity", () -> capacity)
+                    .description("Login attempts allowed in a burst")
+                    .tag("key", key)
+                    .register(registry);
+            Gauge.builder("petcare.rate-limit.login.refill", () -> capacity * 1e9 / refillPeriod.toNanos())
+                    .description("Login attempts allowed per second once the burst is used")
+                    .tag("key", key)
+                    .baseUnit("attempts/s")
+                    .register(registry);
+        }
+
+        long tryAcquire(String key, long now) {
+            long wait = bucket(key, now).tryAcquire(now);
+            (wait == 0 ? allowed : rejected).increment();
+            return wait;
+        }
+
+        /**
+         * Tells when the bucket of a key has a token, without taking it or creating the bucket.
+         */
+        long check(String key, long now) {
+            TokenBucket bucket = buckets.get(key != null ? key : "");
+            long wait = bucket != null ? bucket.availableIn(now) : 0;
+            (wait == 0 ? allowed : rejected).increment();
+            return wait;
+        }
+
+        /**
+         * Takes a token from the bucket of a key, if one is left.
+         */
+        void take(String key, long now) {
+            bucket(key, now).tryAcquire(now);
+        }
+
+        private TokenBucket bucket(String key, long now) {
+            return buckets.computeIfAbsent(key != null ? key : "", k -> new TokenBucket(capacity, refillPeriod, now));
+        }
+
+        void evict(long now) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+
+        private static Counter counter(MeterRegistry registry, String key, String result) {
+            return Counter.builder("petcare.rate-limit.login")
+                    .description("Login attempts checked against the rate limit")
+                    .tag("key", key)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
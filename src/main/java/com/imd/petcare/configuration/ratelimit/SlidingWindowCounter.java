@@ -0,0 +1,123 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free sliding-window request counter.
+ *
+ * The window is approximated from two fixed windows: the count of the current window plus the count of the
+ * previous one, weighted by the part of it still covered by a window ending now. Both counts and the index of
+ * the current window are packed into one long (24 + 20 + 20 bits), so counting a request is a single
+ * compare-and-set with no lock and no allocation. Counts saturate at about one million per window.
+ *
+ * Times are {@link System#nanoTime()} values passed in by the caller. A caller may pass a time read just before
+ * another thread moved the counter to the next window; such a stale time is counted in the counter's window
+ * instead of rolling it back and discarding its counts.
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << 24) - 1;
+
+    private final long windowNanos;
+    private final AtomicLong state;
+
+    /**
+     * Constructs a new, empty SlidingWindowCounter.
+     *
+     * @param window the length of the window.
+     * @param now    the current time, in nanoseconds.
+     */
+    public SlidingWindowCounter(Duration window, long now) {
+        this.windowNanos = window.toNanos();
+        this.state = new AtomicLong(pack(Math.floorDiv(now, windowNanos) - 2, 0, 0));
+    }
+
+    /**
+     * Counts one request if the window still has room for it.
+     *
+     * @param now   the current time, in nanoseconds.
+     * @param limit the number of requests allowed in a window.
+     * @return 0 if the request was counted, otherwise the nanoseconds until the current window ends.
+     */
+    public long tryAcquire(long now, int limit) {
+        while (true) {
+            long current = state.get();
+            long window = Math.floorDiv(now, windowNanos);
+            long elapsed = Math.floorMod(now, windowNanos);
+            long ahead = windowsAhead(current, window);
+            if (ahead > 0) {
+                window += ahead;
+                elapsed = 0;
+            }
+            double previousWeight = 1.0 - (double) elapsed / windowNanos;
+            long previousCount = previousCount(current, window);
+            long count = currentCount(current, window);
+            if (previousCount * previousWeight + count + 1 > limit) {
+                return windowNanos - elapsed;
+            }
+            if (state.compareAndSet(current, pack(window, previousCount, Math.min(count + 1, COUNT_MASK)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a request counted by {@link #tryAcquire}, for instance because it was then rejected by
+     * another limit. If another thread moved the counter to the next window in between, the request is given
+     * back from that window, as a stale time is counted there too.
+     *
+     * @param now the time passed to tryAcquire, in nanoseconds.
+     */
+    public void release(long now) {
+        while (true) {
+            long current = state.get();
+            long window = Math.floorDiv(now, windowNanos);
+            window += windowsAhead(current, window);
+            long count = currentCount(current, window);
+            if (count == 0 || state.compareAndSet(current, pack(window, previousCount(current, window), count - 1))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tells whether no request was counted in the current or the previous window, in which case the counter
+     * behaves exactly like a new one and can be discarded.
+     *
+     * @param now the current time, in nanoseconds.
+     * @return true if the sliding window is empty.
+     */
+    public boolean isIdle(long now) {
+        long window = Math.floorDiv(now, windowNanos);
+        long current = state.get();
+        return previousCount(current, window) == 0 && currentCount(current, window) == 0;
+    }
+
+    /**
+     * Returns how many windows the counter is ahead of the given one, which is 0 unless the time it was computed
+     * from is stale.
+     */
+    private static long windowsAhead(long state, long window) {
+        long ahead = ((state >>> (2 * COUNT_BITS)) - window) & WINDOW_MASK;
+        return ahead < WINDOW_MASK >>> 1 ? ahead : 0;
+    }
+
+    private static long pack(long window, long previousCount, long count) {
+        return (window & WINDOW_MASK) << (2 * COUNT_BITS) | previousCount << COUNT_BITS | count;
+    }
+
+    private static long currentCount(long state, long window) {
+        return state >>> (2 * COUNT_BITS) == (window & WINDOW_MASK) ? state & COUNT_MASK : 0;
+    }
+
+    private static long previousCount(long state, long window) {
+        long stored = state >>> (2 * COUNT_BITS);
+        if (stored == (window & WINDOW_MASK)) {
+            return (state >>> COUNT_BITS) & COUNT_MASK;
+        }
+        return stored == ((window - 1) & WINDOW_MASK) ? state & COUNT_MASK : 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens, refilled at {@code capacity} tokens per
+ * {@code refillPeriod}.
+ *
+ * The bucket is kept in its GCRA form: instead of a token count and a refill timestamp, it stores the single
+ * "theoretical arrival time" at which the bucket will be full again. Taking a token pushes that time forward by
+ * one refill interval, and is refused when it would end up more than a whole bucket ahead of now. A single
+ * compare-and-set on one long therefore updates the bucket, with no lock and no allocation.
+ *
+ * Times are {@link System#nanoTime()} values passed in by the caller.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Constructs a new, full TokenBucket.
+     *
+     * @param capacity     the maximum number of tokens, i.e. the allowed burst.
+     * @param refillPeriod the time needed to refill an empty bucket.
+     * @param now          the current time, in nanoseconds.
+     */
+    public TokenBucket(int capacity, Duration refillPeriod, long now) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.intervalNanos = Math.max(refillPeriod.toNanos() / capacity, 1);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if one is available.
+     *
+     * @param now the current time, in nanoseconds.
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token becomes available.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + intervalNanos;
+            long wait = next - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tells when a token will be available, without taking it.
+     *
+     * @param now the current time, in nanoseconds.
+     * @return 0 if a token is available, otherwise the nanoseconds until the next token becomes available.
+     */
+    public long availableIn(long now) {
+        return Math.max(Math.max(fullAt.get() - now, 0) + intervalNanos - burstNanos, 0);
+    }
+
+    /**
+     * Tells whether the bucket has refilled completely, in which case it behaves exactly like a new bucket
+     * and can be discarded.
+     *
+     * @param now the current time, in nanoseconds.
+     * @return true if no token is missing.
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
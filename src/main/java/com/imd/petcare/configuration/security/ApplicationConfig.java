@@ -2,6 +2,7 @@ package com.imd.petcare.configuration.security;
 
 import com.imd.petcare.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -43,13 +44,14 @@ public class ApplicationConfig {
      * Defines an AuthenticationProvider bean that uses a DaoAuthenticationProvider with a
      * custom UserDetailsService and PasswordEncoder.
      *
+     * @param passwordEncoder the PasswordEncoder used to check the submitted password
      * @return an AuthenticationProvider configured with a custom UserDetailsService and PasswordEncoder
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -69,10 +71,11 @@ public class ApplicationConfig {
     /**
      * Defines a PasswordEncoder bean that uses BCryptPasswordEncoder for password encoding.
      *
+     * @param registry the MeterRegistry where hashing and verification times are recorded
      * @return a PasswordEncoder that uses BCryptPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry registry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), registry);
     }
 }
\ No newline at end of file
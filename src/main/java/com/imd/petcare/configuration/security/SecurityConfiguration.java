@@ -1,6 +1,8 @@
 package com.imd.petcare.configuration.security;
 
+import com.imd.petcare.configuration.ratelimit.ApiRateLimitFilter;
 import com.imd.petcare.configuration.security.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -29,13 +31,19 @@ public class SecurityConfiguration {
             "/v3/**",
             "/swagger-ui",
             "/swagger-ui/**",
-            "/v1/users"};
+            "/v1/users",
+            "/actuator/health",
+            "/actuator/prometheus"};
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ApiRateLimitFilter apiRateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
 
-    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthFilter, AuthenticationProvider authenticationProvider) {
+    public SecurityConfiguration(JwtAuthenticationFilter jwtAuthFilter,
+                                 ApiRateLimitFilter apiRateLimitFilter,
+                                 AuthenticationProvider authenticationProvider) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.apiRateLimitFilter = apiRateLimitFilter;
         this.authenticationProvider = authenticationProvider;
     }
 
@@ -47,21 +55,26 @@ public class SecurityConfiguration {
      * @throws Exception if an error occurs while configuring the security filter chain
      *
      * This method disables CSRF protection, configures authorization to permit requests to URLs
-     * specified in WHITE_LIST_URL and require authentication for all other requests. It sets
+     * specified in WHITE_LIST_URL and require authentication for all other requests. Async dispatches, which
+     * complete requests such as event streams that were already authorized, are permitted. It sets
      * the session management policy to stateless, configures the authentication provider, and adds
-     * a JWT authentication filter before the UsernamePasswordAuthenticationFilter.
+     * a JWT authentication filter before the UsernamePasswordAuthenticationFilter, followed by the API rate
+     * limit filter, which needs the authenticated user.
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(req -> req.requestMatchers(WHITE_LIST_URL)
+                .authorizeHttpRequests(req -> req.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
+                        .requestMatchers(WHITE_LIST_URL)
                         .permitAll()
                         .anyRequest()
                         .authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(apiRateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -0,0 +1,55 @@
+package com.imd.petcare.configuration.security;
+
+import com.imd.petcare.configuration.metrics.MetricOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordEncoder decorator recording the cost of hashing and checking passwords.
+ *
+ * BCrypt is the most expensive step of a login, so its time is exported separately in the
+ * {@code petcare.password.encoder} timer, tagged by operation and outcome (match or mismatch for checks).
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encode;
+    private final Timer match;
+    private final Timer mismatch;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encode = timer(registry, "encode", MetricOutcome.SUCCESS);
+        this.match = timer(registry, "matches", "match");
+        this.mismatch = timer(registry, "matches", "mismatch");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        (matches ? match : mismatch).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation, String outcome) {
+        return Timer.builder("petcare.password.encoder")
+                .description("Password hashing and verification")
+                .tag("operation", operation)
+                .tag(MetricOutcome.TAG, outcome)
+                .register(registry);
+    }
+}
@@ -1,5 +1,9 @@
 package com.imd.petcare.configuration.security.jwt;
 
+import com.imd.petcare.configuration.logging.AccessLogFilter;
+import com.imd.petcare.configuration.metrics.MetricOutcome;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,10 +29,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   ObservationRegistry observationRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -45,7 +53,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * absent or does not start with "Bearer ", it delegates to the next filter in the chain.
      * If a JWT token is present, it extracts the username from the token. If the username is valid and
      * there is no current authentication information, it loads the user details and validates the token.
-     * If valid, it sets the authentication in the Spring Security context.
+     * If valid, it sets the authentication in the Spring Security context, with the loaded user as principal.
+     * The token verification is observed as petcare.jwt.verification (a timer tagged with its outcome and a
+     * trace span), with the user lookup as a nested petcare.user-details.load observation.
      */
     @Override
     protected void doFilterInternal(
@@ -61,18 +71,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        Observation observation = Observation.start("petcare.jwt.verification", observationRegistry);
+        String outcome = "skipped";
+        try (Observation.Scope scope = observation.openScope()) {
+            username = jwtService.extractUsername(jwt);
+
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = Observation.createNotStarted("petcare.user-details.load", observationRegistry)
+                        .observe(() -> this.userDetailsService.loadUserByUsername(username));
+                outcome = "invalid";
+                if (jwtService.isTokenValid(jwt, userDetails)) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(AccessLogFilter.USER_ATTRIBUTE, username);
+                    outcome = "valid";
+                }
             }
+        } catch (RuntimeException e) {
+            outcome = "error";
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue(MetricOutcome.TAG, outcome).stop();
         }
         filterChain.doFilter(request, response);
     }
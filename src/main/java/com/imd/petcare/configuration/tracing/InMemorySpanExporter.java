@@ -0,0 +1,75 @@
+package com.imd.petcare.configuration.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SpanExporter keeping the most recent finished spans in memory, so traces can be inspected through the
+ * {@code traces} actuator endpoint without an external collector.
+ *
+ * Once the capacity is reached the oldest spans are dropped. A ReentrantLock is used instead of synchronized
+ * so that a virtual thread exporting spans never pins its carrier.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<SpanData> spans;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        lock.lock();
+        try {
+            for (SpanData span : batch) {
+                if (spans.size() == capacity) {
+                    spans.removeFirst();
+                }
+                spans.addLast(span);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Returns a copy of the retained spans, oldest first.
+     */
+    public List<SpanData> getSpans() {
+        lock.lock();
+        try {
+            return new ArrayList<>(spans);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        lock.lock();
+        try {
+            spans.clear();
+        } finally {
+            lock.unlock();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,44 @@
+package com.imd.petcare.configuration.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter observing response serialization as {@code petcare.serialization}, so the time
+ * spent writing JSON shows up as its own span under the HTTP request.
+ */
+public class ObservedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry registry;
+
+    public ObservedJacksonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object object, @Nullable Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Observation observation = Observation.createNotStarted("petcare.serialization", registry)
+                .contextualName("serialize " + object.getClass().getSimpleName())
+                .lowCardinalityKeyValue("type", object.getClass().getSimpleName())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
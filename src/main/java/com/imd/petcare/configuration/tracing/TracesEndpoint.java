@@ -0,0 +1,93 @@
+package com.imd.petcare.configuration.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint listing the traces retained by the {@link InMemorySpanExporter}.
+ *
+ * {@code /actuator/traces} returns a summary of every retained trace, slowest first, and
+ * {@code /actuator/traces/{traceId}} returns the spans of one trace in start order.
+ */
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final InMemorySpanExporter exporter;
+
+    public TracesEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Lists the retained traces.
+     *
+     * @return one summary per trace, ordered by decreasing duration
+     */
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        Map<String, List<SpanData>> traces = exporter.getSpans().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        return traces.entrySet().stream()
+                .map(entry -> TraceSummary.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(TraceSummary::durationMs).reversed())
+                .toList();
+    }
+
+    /**
+     * Returns the spans of one trace.
+     *
+     * @param traceId the ID of the trace
+     * @return the spans of the trace in start order, empty if it is not retained
+     */
+    @ReadOperation
+    public List<SpanView> trace(@Selector String traceId) {
+        return exporter.getSpans().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(SpanView::of)
+                .toList();
+    }
+
+    public record TraceSummary(String traceId, String rootSpan, int spans, double durationMs) {
+
+        static TraceSummary of(String traceId, List<SpanData> spans) {
+            long start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+            long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(0);
+            String root = spans.stream()
+                    .filter(span -> !span.getParentSpanContext().isValid())
+                    .map(SpanData::getName)
+                    .findFirst()
+                    .orElse(spans.get(0).getName());
+            return new TraceSummary(traceId, root, spans.size(), millis(end - start));
+        }
+    }
+
+    public record SpanView(String spanId, String parentSpanId, String name, double durationMs,
+                           String status, Map<String, String> attributes) {
+
+        static SpanView of(SpanData span) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+            return new SpanView(
+                    span.getSpanId(),
+                    span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                    span.getName(),
+                    millis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                    span.getStatus().getStatusCode().name(),
+                    attributes);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) Duration.ofMillis(1).toNanos();
+    }
+}
@@ -0,0 +1,70 @@
+package com.imd.petcare.configuration.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Configuration class for tracing exporters and the spans Spring does not create on its own.
+ *
+ * HTTP requests, the security filter chain and the observations created by the application (service,
+ * repository, JWT verification, serialization) are turned into OpenTelemetry spans by Spring Boot.
+ * Finished spans are kept in memory for the {@code traces} actuator endpoint and can also be written to
+ * the log as OTLP JSON, one span batch per line, to be replayed into any OTLP-compatible tool.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * Defines the exporter retaining the most recent spans in memory.
+     *
+     * @param capacity the number of spans kept
+     * @return the in-memory SpanExporter, picked up by the OpenTelemetry auto-configuration
+     */
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(@Value("${petcare.tracing.memory.capacity:2000}") int capacity) {
+        return new InMemorySpanExporter(capacity);
+    }
+
+    /**
+     * Defines the actuator endpoint listing the traces retained in memory.
+     *
+     * @param exporter the in-memory exporter
+     * @return the traces endpoint
+     */
+    @Bean
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter exporter) {
+        return new TracesEndpoint(exporter);
+    }
+
+    /**
+     * Defines an exporter writing spans as OTLP JSON lines to the
+     * {@code io.opentelemetry.exporter.logging.otlp} logger, enabled by {@code petcare.tracing.otlp-json-log.enabled}.
+     *
+     * @return the OTLP JSON logging SpanExporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "petcare.tracing.otlp-json-log.enabled", havingValue = "true")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    /**
+     * Defines the Jackson message converter used for JSON responses, observing serialization.
+     *
+     * @param objectMapper the ObjectMapper configured by Spring Boot
+     * @param registry     the ObservationRegistry
+     * @return the observed Jackson message converter, replacing the default one
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                  ObservationRegistry registry) {
+        return new ObservedJacksonHttpMessageConverter(objectMapper, registry);
+    }
+}
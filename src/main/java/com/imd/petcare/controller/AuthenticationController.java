@@ -1,48 +1,81 @@
 package com.imd.petcare.controller;
 
+import com.imd.petcare.configuration.ratelimit.LoginRateLimiter;
 import com.imd.petcare.dto.ApiResponseDTO;
 import com.imd.petcare.dto.AuthenticationRequestDTO;
 import com.imd.petcare.dto.AuthenticationResponseDTO;
+import com.imd.petcare.dto.ForgotPasswordRequestDTO;
 import com.imd.petcare.dto.RefreshTokenRequestDTO;
+import com.imd.petcare.dto.ResetPasswordRequestDTO;
 import com.imd.petcare.service.AuthenticationService;
+import com.imd.petcare.service.PasswordRecoveryService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import com.imd.petcare.utils.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller class for handling authentication-related endpoints.
  *
- * This controller provides endpoints for user authentication and token management.
+ * This controller provides endpoints for user authentication and token management. The password recovery
+ * endpoints accept an Idempotency-Key header: a request repeated with the same key is answered with the response
+ * of the first one, without queueing another mail or resetting the password again. The endpoints issuing tokens
+ * do not, as their responses would be stored with the tokens in them.
  */
 @RestController
 @RequestMapping("/v1/auth")
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final PasswordRecoveryService passwordRecoveryService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final IdempotencyService idempotencyService;
 
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService,
+                                    PasswordRecoveryService passwordRecoveryService,
+                                    LoginRateLimiter loginRateLimiter,
+                                    IdempotencyService idempotencyService) {
         this.authenticationService = authenticationService;
+        this.passwordRecoveryService = passwordRecoveryService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * Handles authentication requests by validating user credentials and returning an authentication response.
      *
-     * @param request the authentication request containing user credentials
+     * @param request     the authentication request containing user credentials
+     * @param httpRequest the HTTP request, used to identify the client
      * @return a ResponseEntity containing an ApiResponseDTO with the authentication response
      *
-     * This method accepts an AuthenticationRequestDTO, processes it using the authenticationService,
-     * and returns a ResponseEntity with an ApiResponseDTO containing the authentication response.
+     * This method accepts an AuthenticationRequestDTO, checks the login rate limit of the client and of the
+     * login, processes it using the authenticationService, and returns a ResponseEntity with an ApiResponseDTO
+     * containing the authentication response. Only a failed authentication counts against the login.
      */
     @PostMapping("/authenticate")
     public ResponseEntity<ApiResponseDTO<AuthenticationResponseDTO>> authenticate(
-            @RequestBody AuthenticationRequestDTO request) {
+            @RequestBody AuthenticationRequestDTO request,
+            HttpServletRequest httpRequest) {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.login());
+        AuthenticationResponseDTO response;
+        try {
+            response = authenticationService.authenticate(request);
+        } catch (BusinessException | AuthenticationException e) {
+            loginRateLimiter.recordFailure(request.login());
+            throw e;
+        }
         return ResponseEntity.ok(
                 new ApiResponseDTO<>(
                         true,
                         "Authentication completed successfully",
-                        authenticationService.authenticate(request),
+                        response,
                         null
                 ));
     }
@@ -68,4 +101,57 @@ public class AuthenticationController {
                         null
                 ));
     }
+
+    /**
+     * Handles forgot-password requests by queueing a recovery mail for the given email.
+     *
+     * @param request        the request containing the email of the account
+     * @param httpRequest    the HTTP request, used to identify the client
+     * @param idempotencyKey the optional Idempotency-Key header
+     * @return a ResponseEntity with status 202 (ACCEPTED) and an ApiResponseDTO without data
+     *
+     * The response is the same whether or not the email belongs to an account. Requests count against the
+     * login rate limit of the client and of the email.
+     */
+    @PostMapping("/forgot-password")
+    public ResponseEntity<ApiResponseDTO<Void>> forgotPassword(
+            @RequestBody ForgotPasswordRequestDTO request,
+            HttpServletRequest httpRequest,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.email());
+        loginRateLimiter.recordFailure(request.email());
+        return idempotencyService.execute(idempotencyKey, request, () -> {
+            passwordRecoveryService.requestRecovery(request.email());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    new ApiResponseDTO<>(
+                            true,
+                            "Se o email estiver cadastrado, as instruções de recuperação serão enviadas.",
+                            null,
+                            null
+                    ));
+        });
+    }
+
+    /**
+     * Handles reset-password requests by setting a new password with a recovery token.
+     *
+     * @param request        the request containing the recovery token and the new password
+     * @param idempotencyKey the optional Idempotency-Key header
+     * @return a ResponseEntity containing an ApiResponseDTO without data
+     */
+    @PostMapping("/reset-password")
+    public ResponseEntity<ApiResponseDTO<Void>> resetPassword(
+            @RequestBody ResetPasswordRequestDTO request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, request, () -> {
+            passwordRecoveryService.resetPassword(request.token(), request.password());
+            return ResponseEntity.ok(
+                    new ApiResponseDTO<>(
+                            true,
+                            "Senha redefinida com sucesso.",
+                            null,
+                            null
+                    ));
+        });
+    }
 }
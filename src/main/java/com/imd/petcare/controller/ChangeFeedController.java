@@ -0,0 +1,49 @@
+package com.imd.petcare.controller;
+
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.dto.ChangeFeedDTO;
+import com.imd.petcare.service.ChangeFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class exposing the change feed.
+ *
+ * Consumers that need to follow entity changes read the feed incrementally instead of polling the full
+ * listings: each call returns the changes published after the last sequence number they processed.
+ */
+@RestController
+@RequestMapping("/v1/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Reads the changes published after the given sequence number.
+     * Only users with the Admin role have access to this endpoint.
+     *
+     * @param after  the last sequence number already processed, 0 to start from the oldest retained change
+     * @param entity the entity type to read, e.g. Scheduling or User; every type when omitted
+     * @param limit  the maximum number of changes to return
+     * @return ResponseEntity with ApiResponseDTO containing the changes and the sequence number to resume from
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDTO<ChangeFeedDTO>> read(@RequestParam(defaultValue = "0") long after,
+                                                              @RequestParam(required = false) String entity,
+                                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: Alterações localizadas com sucesso.",
+                changeFeedService.read(entity, after, limit),
+                null));
+    }
+}
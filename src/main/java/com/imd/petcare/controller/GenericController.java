@@ -2,17 +2,28 @@ package com.imd.petcare.controller;
 
 import com.imd.petcare.dto.ApiResponseDTO;
 import com.imd.petcare.dto.EntityDTO;
+import com.imd.petcare.dto.ValidationGroups;
 import com.imd.petcare.model.BaseEntity;
+import com.imd.petcare.service.ExportService;
 import com.imd.petcare.service.GenericService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import com.imd.petcare.utils.export.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Abstract controller class for managing generic entities.
  *
@@ -27,8 +38,14 @@ public abstract class GenericController<E extends BaseEntity, DTO extends Entity
 
     protected S service;
 
-    protected GenericController(S service) {
+    protected ExportService exportService;
+
+    protected IdempotencyService idempotencyService;
+
+    protected GenericController(S service, ExportService exportService, IdempotencyService idempotencyService) {
         this.service = service;
+        this.exportService = exportService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -53,6 +70,31 @@ public abstract class GenericController<E extends BaseEntity, DTO extends Entity
                 null));
     }
 
+    /**
+     * Exports all entities as a stream of rows.
+     * Only users with the Admin role have access to this endpoint.
+     *
+     * @param format   the export format, "ndjson" (default) or "csv"
+     * @param response the HttpServletResponse the rows are written to
+     * @throws IOException if writing the response fails
+     *
+     * This method handles GET requests to export every entity without pagination. Rows are read through
+     * a database cursor and written directly to the response body, so no page is buffered in memory.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"export." + exportFormat.getExtension() + "\"");
+
+        exportService.export(service, exportFormat, response.getOutputStream());
+    }
+
     /**
      * Retrieves an entity by its ID.
      *
@@ -73,36 +115,49 @@ public abstract class GenericController<E extends BaseEntity, DTO extends Entity
     /**
      * Creates a new entity.
      *
-     * @param dto the DTO containing the details of the entity to create
+     * @param dto            the DTO containing the details of the entity to create
+     * @param idempotencyKey the optional Idempotency-Key header
      * @return a ResponseEntity containing an ApiResponseDTO with the created EntityDTO
      *
      * This method handles POST requests to create a new entity and returns the created entity with a status of CREATED.
+     * A request repeated with the same Idempotency-Key is answered with the response of the first one.
      */
     @PostMapping
-    public ResponseEntity<ApiResponseDTO<EntityDTO>> create(@Valid @RequestBody DTO dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(
-                true,
-                "Sucesso: Entidade criada com sucesso.",
-                service.create(dto).toResponse(),
-                null));
+    public ResponseEntity<ApiResponseDTO<EntityDTO>> create(
+            @Valid @RequestBody DTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, dto, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(
+                        true,
+                        "Sucesso: Entidade criada com sucesso.",
+                        service.create(dto).toResponse(),
+                        null)));
     }
 
     /**
      * Updates an existing entity by its ID.
      *
-     * @param id  the ID of the entity to update
-     * @param dto the DTO containing the updated details of the entity
+     * @param id             the ID of the entity to update
+     * @param dto            the DTO containing the updated details of the entity
+     * @param idempotencyKey the optional Idempotency-Key header
      * @return a ResponseEntity containing an ApiResponseDTO with the updated EntityDTO
      *
      * This method handles PUT requests to update an existing entity and returns the updated entity with a status of CREATED.
+     * The DTO must carry the version the client read, so that a concurrent change is reported as a conflict.
+     * A request repeated with the same Idempotency-Key is answered with the response of the first one, instead of
+     * failing on the version it already incremented.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO<EntityDTO>> update(@PathVariable Long id, @Valid @RequestBody DTO dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(
-                true,
-                "Sucesso: A entidade foi atualizada com sucesso.",
-                service.update(id, dto).toResponse(),
-                null));
+    public ResponseEntity<ApiResponseDTO<EntityDTO>> update(
+            @PathVariable Long id,
+            @Validated({ Default.class, ValidationGroups.Update.class }) @RequestBody DTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, dto, () ->
+                ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDTO<>(
+                        true,
+                        "Sucesso: A entidade foi atualizada com sucesso.",
+                        service.update(id, dto).toResponse(),
+                        null)));
     }
 
     /**
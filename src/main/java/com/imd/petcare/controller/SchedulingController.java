@@ -1,18 +1,163 @@
 package com.imd.petcare.controller;
 
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.dto.AvailabilityDTO;
+import com.imd.petcare.dto.CalendarEntryDTO;
+import com.imd.petcare.dto.ImportReportDTO;
 import com.imd.petcare.dto.SchedulingDTO;
 import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.service.AvailabilityService;
+import com.imd.petcare.service.CalendarService;
+import com.imd.petcare.service.ExportService;
+import com.imd.petcare.service.SchedulingChangeHub;
+import com.imd.petcare.service.SchedulingImportService;
 import com.imd.petcare.service.SchedulingService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import com.imd.petcare.utils.export.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/v1/scheduling")
 @Validated
 public class SchedulingController extends GenericController<Scheduling, SchedulingDTO, SchedulingService>{
 
-    protected SchedulingController(SchedulingService service) {
-        super(service);
+    private final SchedulingImportService importService;
+    private final SchedulingChangeHub changeHub;
+    private final AvailabilityService availabilityService;
+    private final CalendarService calendarService;
+
+    protected SchedulingController(SchedulingService service,
+                                   ExportService exportService,
+                                   SchedulingImportService importService,
+                                   SchedulingChangeHub changeHub,
+                                   AvailabilityService availabilityService,
+                                   CalendarService calendarService,
+                                   IdempotencyService idempotencyService) {
+        super(service, exportService, idempotencyService);
+        this.importService = importService;
+        this.changeHub = changeHub;
+        this.availabilityService = availabilityService;
+        this.calendarService = calendarService;
+    }
+
+    /**
+     * Retrieves the calendar of a user over a date range: the single schedulings and the occurrences of the
+     * scheduling series, with recurring occurrences expanded for the range only.
+     * Users read their own calendar; Admins and Receptionists may read the calendar of any user.
+     *
+     * @param user   the authenticated user
+     * @param userId the ID of the user whose calendar is read; the authenticated user when omitted
+     * @param from   the start of the range, as an ISO date-time
+     * @param to     the end of the range, as an ISO date-time
+     * @return ResponseEntity with ApiResponseDTO containing the appointments overlapping the range, ordered by
+     * start
+     */
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST') or #userId == null or #userId == principal.id")
+    public ResponseEntity<ApiResponseDTO<List<CalendarEntryDTO>>> calendar(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to) {
+        List<CalendarEntryDTO> entries = calendarService.read(userId != null ? userId : user.getId(), from, to);
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: Agenda localizada com sucesso.",
+                entries,
+                null));
+    }
+
+    /**
+     * Searches the free periods of the doctors or groomers over a date range.
+     * Only users with the Admin or Receptionist role have access to this endpoint.
+     *
+     * @param role       the role of the staff members, GROOMERS (default) or DOCTOR
+     * @param resourceId the IDs of the staff members to consider; every one with the role when omitted
+     * @param from       the start of the range, as an ISO date-time
+     * @param to         the end of the range, as an ISO date-time
+     * @param duration   the length of the appointment to fit, in minutes
+     * @param limit      the maximum number of free periods returned per staff member
+     * @return ResponseEntity with ApiResponseDTO containing the earliest free slot and the free periods of each
+     * staff member
+     */
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyRole('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<ApiResponseDTO<AvailabilityDTO>> availability(
+            @RequestParam(defaultValue = "GROOMERS") Role role,
+            @RequestParam(required = false) List<Long> resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "10") int limit) {
+        AvailabilityDTO availability = availabilityService.search(role, resourceId, from, to,
+                Duration.ofMinutes(duration), limit);
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: Horários livres localizados com sucesso.",
+                availability,
+                null));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the changes made to the schedulings of the authenticated user.
+     *
+     * @param user        the authenticated user
+     * @param lastEventId the ID of the last event received, sent by the browser when it reconnects
+     * @return the SseEmitter writing a "change" event, with the change feed entry as data, for each change
+     *
+     * After a reconnection the missed changes are sent first; when too many were missed, a single "reset"
+     * event tells the client to reload its list instead.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User user,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeHub.subscribe(user.getId(), lastEventId);
+    }
+
+    /**
+     * Imports schedulings in bulk from a CSV or NDJSON request body.
+     * Only users with the Admin role have access to this endpoint.
+     *
+     * @param request the HttpServletRequest whose body is read as it arrives
+     * @return ResponseEntity with ApiResponseDTO containing the import report
+     * @throws IOException if reading the request body fails
+     *
+     * The format is taken from the Content-Type header (text/csv or application/x-ndjson).
+     * Invalid records do not stop the import; they are listed in the report with their line number.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDTO<ImportReportDTO>> importSchedulings(HttpServletRequest request) throws IOException {
+        ImportReportDTO report = importService.importSchedulings(
+                ExportFormat.ofContentType(request.getContentType()),
+                request.getInputStream());
+
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: " + report.imported() + " agendamentos importados, " + report.rejected() + " rejeitados.",
+                report,
+                null));
     }
 }
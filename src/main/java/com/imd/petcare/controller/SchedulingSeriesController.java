@@ -0,0 +1,73 @@
+package com.imd.petcare.controller;
+
+import com.imd.petcare.dto.ApiResponseDTO;
+import com.imd.petcare.dto.OccurrenceOverrideDTO;
+import com.imd.petcare.dto.SchedulingSeriesDTO;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.service.ExportService;
+import com.imd.petcare.service.SchedulingSeriesService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+
+@RestController
+@RequestMapping("/v1/scheduling-series")
+@Validated
+public class SchedulingSeriesController extends GenericController<SchedulingSeries, SchedulingSeriesDTO, SchedulingSeriesService> {
+
+    protected SchedulingSeriesController(SchedulingSeriesService service,
+                                         ExportService exportService,
+                                         IdempotencyService idempotencyService) {
+        super(service, exportService, idempotencyService);
+    }
+
+    /**
+     * Changes or cancels one occurrence of a series.
+     *
+     * @param id  the ID of the series
+     * @param dto the occurrence, identified by its original start, and its new values
+     * @return ResponseEntity with ApiResponseDTO containing the stored change
+     *
+     * The occurrence is identified by the start it has according to the recurrence rule, as returned in the
+     * originalStartAt field of the calendar.
+     */
+    @PutMapping("/{id}/occurrences")
+    public ResponseEntity<ApiResponseDTO<OccurrenceOverrideDTO>> overrideOccurrence(
+            @PathVariable Long id, @Valid @RequestBody OccurrenceOverrideDTO dto) {
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: A ocorrência foi alterada com sucesso.",
+                service.overrideOccurrence(id, dto),
+                null));
+    }
+
+    /**
+     * Restores an occurrence of a series to the values given by the series.
+     *
+     * @param id              the ID of the series
+     * @param originalStartAt the start of the occurrence according to the recurrence rule, as an ISO date-time
+     * @return ResponseEntity with ApiResponseDTO indicating the restoration status
+     */
+    @DeleteMapping("/{id}/occurrences")
+    public ResponseEntity<ApiResponseDTO<OccurrenceOverrideDTO>> restoreOccurrence(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime originalStartAt) {
+        service.restoreOccurrence(id, originalStartAt);
+        return ResponseEntity.ok(new ApiResponseDTO<>(
+                true,
+                "Sucesso: A ocorrência foi restaurada com sucesso.",
+                null,
+                null));
+    }
+}
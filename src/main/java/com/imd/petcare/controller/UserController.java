@@ -2,8 +2,11 @@ package com.imd.petcare.controller;
 
 import com.imd.petcare.dto.*;
 import com.imd.petcare.model.User;
+import com.imd.petcare.service.ExportService;
 import com.imd.petcare.service.UserService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,8 +26,8 @@ import java.util.List;
 @RequestMapping("/v1/users")
 @Validated
 public class UserController extends GenericController<User, UserDTO, UserService> {
-    protected UserController(UserService service) {
-        super(service);
+    protected UserController(UserService service, ExportService exportService, IdempotencyService idempotencyService) {
+        super(service, exportService, idempotencyService);
     }
 
     /**
@@ -60,27 +63,34 @@ public class UserController extends GenericController<User, UserDTO, UserService
      * users with Admin Seller role have access only to users from their own seller store,
      * and users with Seller role have access only for their own user.
      *
-     * @param id  The ID of the user to update.
-     * @param dto The DTO representing the updated user.
+     * @param id             The ID of the user to update.
+     * @param dto            The DTO representing the updated user.
+     * @param idempotencyKey The optional Idempotency-Key header.
      * @return ResponseEntity containing the DTO and status 200 (OK).
      */
     @Override
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO<EntityDTO>> update(@PathVariable Long id, @Valid @RequestBody UserDTO dto) {
-        return super.update(id, dto);
+    public ResponseEntity<ApiResponseDTO<EntityDTO>> update(
+            @PathVariable Long id,
+            @Validated({ Default.class, ValidationGroups.Update.class }) @RequestBody UserDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return super.update(id, dto, idempotencyKey);
     }
 
     /**
      * Save a new user.
      * Only users with the Admin role have access to this endpoint.
      *
-     * @param dto The DTO representing the user to save.
+     * @param dto            The DTO representing the user to save.
+     * @param idempotencyKey The optional Idempotency-Key header.
      * @return ResponseEntity containing the DTO and status 201 (CREATED).
      */
     @Override
     @PostMapping
-    public ResponseEntity<ApiResponseDTO<EntityDTO>> create(@Valid @RequestBody UserDTO dto) {
-        return super.create(dto);
+    public ResponseEntity<ApiResponseDTO<EntityDTO>> create(
+            @Valid @RequestBody UserDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return super.create(dto, idempotencyKey);
     }
 
     /**
@@ -0,0 +1,13 @@
+package com.imd.petcare.dto;
+
+import java.util.List;
+
+/**
+ * The result of an availability search: the earliest free slot across all staff members, or null if none
+ * is free, and the free periods of each staff member.
+ */
+public record AvailabilityDTO(
+        FreeSlotDTO first,
+        List<StaffAvailabilityDTO> staff
+) {
+}
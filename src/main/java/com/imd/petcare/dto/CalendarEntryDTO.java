@@ -0,0 +1,32 @@
+package com.imd.petcare.dto;
+
+import com.imd.petcare.model.enums.SchedulingType;
+
+import java.time.ZonedDateTime;
+
+/**
+ * An appointment of a calendar: either a single scheduling or an occurrence of a scheduling series.
+ *
+ * @param schedulingId    the ID of the scheduling, or null for an occurrence
+ * @param seriesId        the ID of the series, or null for a single scheduling
+ * @param originalStartAt the start of the occurrence according to the recurrence rule, which identifies it
+ *                        when it is changed or cancelled; null for a single scheduling
+ * @param title           the title
+ * @param description     the description
+ * @param type            the type
+ * @param resourceId      the ID of the doctor or groomer booked, or null
+ * @param startAt         the start
+ * @param endAt           the end
+ */
+public record CalendarEntryDTO(
+        Long schedulingId,
+        Long seriesId,
+        ZonedDateTime originalStartAt,
+        String title,
+        String description,
+        SchedulingType type,
+        Long resourceId,
+        ZonedDateTime startAt,
+        ZonedDateTime endAt
+) {
+}
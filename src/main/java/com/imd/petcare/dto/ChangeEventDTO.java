@@ -0,0 +1,27 @@
+package com.imd.petcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.imd.petcare.model.ChangeEvent;
+import com.imd.petcare.model.enums.ChangeOperation;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A published entity change, as read from the change feed.
+ *
+ * The payload is the JSON representation of the entity after the change, or null for a deletion.
+ */
+public record ChangeEventDTO(
+        long sequence,
+        String entityType,
+        long entityId,
+        ChangeOperation operation,
+        Long ownerId,
+        ZonedDateTime occurredAt,
+        @JsonRawValue String payload
+) {
+    public static ChangeEventDTO of(ChangeEvent event) {
+        return new ChangeEventDTO(event.getSequence(), event.getEntityType(), event.getEntityId(),
+                event.getOperation(), event.getOwnerId(), event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,16 @@
+package com.imd.petcare.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed.
+ *
+ * The next page is read by passing lastSequence as the "after" parameter; hasMore tells whether it can be
+ * read right away or whether the client has caught up with the feed.
+ */
+public record ChangeFeedDTO(
+        List<ChangeEventDTO> events,
+        long lastSequence,
+        boolean hasMore
+) {
+}
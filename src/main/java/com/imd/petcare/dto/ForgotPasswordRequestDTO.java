@@ -0,0 +1,6 @@
+package com.imd.petcare.dto;
+
+public record ForgotPasswordRequestDTO(
+        String email
+) {
+}
@@ -0,0 +1,13 @@
+package com.imd.petcare.dto;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A free period of a staff member, long enough for the requested appointment.
+ */
+public record FreeSlotDTO(
+        long resourceId,
+        ZonedDateTime start,
+        ZonedDateTime end
+) {
+}
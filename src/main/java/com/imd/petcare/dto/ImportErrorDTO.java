@@ -0,0 +1,12 @@
+package com.imd.petcare.dto;
+
+/**
+ * A data transfer object (DTO) describing why a line of an imported file was rejected.
+ *
+ * @param line    The line of the file where the rejected record starts.
+ * @param message A message describing the problem.
+ */
+public record ImportErrorDTO(
+        long line,
+        String message) {
+}
@@ -0,0 +1,20 @@
+package com.imd.petcare.dto;
+
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) summarizing the result of a bulk import.
+ *
+ * @param records         The number of records read from the file.
+ * @param imported        The number of records saved.
+ * @param rejected        The number of records rejected.
+ * @param errors          The errors of the rejected records, limited to the first ones.
+ * @param errorsTruncated Whether more records were rejected than listed in errors.
+ */
+public record ImportReportDTO(
+        long records,
+        long imported,
+        long rejected,
+        List<ImportErrorDTO> errors,
+        boolean errorsTruncated) {
+}
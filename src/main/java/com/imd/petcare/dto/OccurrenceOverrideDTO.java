@@ -0,0 +1,26 @@
+package com.imd.petcare.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A change to one occurrence of a scheduling series; null fields keep the values of the series.
+ *
+ * @param originalStartAt the start of the occurrence according to the recurrence rule
+ * @param cancelled       true to cancel the occurrence
+ * @param startAt         the new start, given together with the new end
+ * @param endAt           the new end
+ * @param title           the new title
+ * @param description     the new description
+ */
+public record OccurrenceOverrideDTO(
+        @NotNull(message = "O início original da ocorrência é obrigatório.")
+        ZonedDateTime originalStartAt,
+        boolean cancelled,
+        ZonedDateTime startAt,
+        ZonedDateTime endAt,
+        String title,
+        String description
+) {
+}
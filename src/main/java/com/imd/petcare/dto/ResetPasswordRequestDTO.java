@@ -0,0 +1,7 @@
+package com.imd.petcare.dto;
+
+public record ResetPasswordRequestDTO(
+        String token,
+        String password
+) {
+}
@@ -1,19 +1,35 @@
 package com.imd.petcare.dto;
 
 import com.imd.petcare.model.enums.SchedulingType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.ZonedDateTime;
 
 public record SchedulingDTO(
         Long id,
+        @NotNull(groups = ValidationGroups.Import.class, message = "O usuário é obrigatório.")
         Long userId,
         String title,
         String description,
+        @Min(value = 1, groups = ValidationGroups.Import.class, message = "O mês deve estar entre 1 e 12.")
+        @Max(value = 12, groups = ValidationGroups.Import.class, message = "O mês deve estar entre 1 e 12.")
         Long month,
+        @Min(value = 1, groups = ValidationGroups.Import.class, message = "O dia deve estar entre 1 e 31.")
+        @Max(value = 31, groups = ValidationGroups.Import.class, message = "O dia deve estar entre 1 e 31.")
         Long day,
         Long year,
-        SchedulingType type
+        SchedulingType type,
+        Long resourceId,
+        ZonedDateTime startAt,
+        ZonedDateTime endAt,
+        @NotNull(groups = ValidationGroups.Update.class, message = "A versão é obrigatória para atualizar.")
+        Long version
 ) implements EntityDTO {
     @Override
     public EntityDTO toResponse() {
-        return new SchedulingDTO(this.id(), this.userId(), this.title(), this.description, this.month, this.day, this.year, this.type);
+        return new SchedulingDTO(this.id(), this.userId(), this.title(), this.description, this.month, this.day, this.year, this.type,
+                this.resourceId, this.startAt, this.endAt, this.version);
     }
 }
@@ -0,0 +1,36 @@
+package com.imd.petcare.dto;
+
+import com.imd.petcare.model.enums.SchedulingType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.ZonedDateTime;
+
+public record SchedulingSeriesDTO(
+        Long id,
+        @NotNull(message = "O usuário é obrigatório.")
+        Long userId,
+        String title,
+        String description,
+        SchedulingType type,
+        @NotNull(message = "O início da primeira ocorrência é obrigatório.")
+        ZonedDateTime startAt,
+        @NotNull(message = "A duração é obrigatória.")
+        @Min(value = 1, message = "A duração deve estar entre 1 e 1440 minutos.")
+        @Max(value = 1440, message = "A duração deve estar entre 1 e 1440 minutos.")
+        Integer durationMinutes,
+        String zone,
+        @NotBlank(message = "A regra de recorrência é obrigatória.")
+        String recurrence,
+        ZonedDateTime recursUntil,
+        @NotNull(groups = ValidationGroups.Update.class, message = "A versão é obrigatória para atualizar.")
+        Long version
+) implements EntityDTO {
+    @Override
+    public EntityDTO toResponse() {
+        return new SchedulingSeriesDTO(this.id, this.userId, this.title, this.description, this.type, this.startAt,
+                this.durationMinutes, this.zone, this.recurrence, this.recursUntil, this.version);
+    }
+}
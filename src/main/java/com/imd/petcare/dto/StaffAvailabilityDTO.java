@@ -0,0 +1,13 @@
+package com.imd.petcare.dto;
+
+import java.util.List;
+
+/**
+ * The free periods of one staff member, in chronological order.
+ */
+public record StaffAvailabilityDTO(
+        long resourceId,
+        String name,
+        List<FreeSlotDTO> freeSlots
+) {
+}
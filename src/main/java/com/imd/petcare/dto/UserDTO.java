@@ -2,20 +2,24 @@ package com.imd.petcare.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.utils.export.ExportIgnore;
+import jakarta.validation.constraints.NotNull;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record UserDTO(
         long id,
         PersonDTO person,
         String login,
-        String password,
+        @ExportIgnore String password,
         String email,
-        Role role
+        Role role,
+        @NotNull(groups = ValidationGroups.Update.class, message = "A versão é obrigatória para atualizar.")
+        Long version
 
 ) implements EntityDTO {
 
     @Override
     public UserDTO toResponse() {
-        return new UserDTO(this.id(), this.person(), this.login(), null, this.email, this.role());
+        return new UserDTO(this.id(), this.person(), this.login(), null, this.email, this.role(), this.version());
     }
 }
\ No newline at end of file
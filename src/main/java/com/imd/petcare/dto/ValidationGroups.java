@@ -0,0 +1,24 @@
+package com.imd.petcare.dto;
+
+/**
+ * Bean Validation groups for the constraints of a DTO that only apply to some operations.
+ *
+ * Constraints declared without a group belong to the Default group and are checked on every write.
+ */
+public final class ValidationGroups {
+
+    /**
+     * Constraints checked when an existing entity is updated, such as the version read by the client.
+     */
+    public interface Update {
+    }
+
+    /**
+     * Constraints checked on the records of a bulk import, which are stricter than those of the endpoints.
+     */
+    public interface Import {
+    }
+
+    private ValidationGroups() {
+    }
+}
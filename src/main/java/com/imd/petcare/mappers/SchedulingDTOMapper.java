@@ -18,7 +18,11 @@ public class SchedulingDTOMapper implements DtoMapper<Scheduling, SchedulingDTO>
                 entity.getMonth(),
                 entity.getDay(),
                 entity.getYear(),
-                entity.getType());
+                entity.getType(),
+                entity.getResource() != null ? entity.getResource().getId() : null,
+                entity.getStartAt(),
+                entity.getEndAt(),
+                entity.getVersion());
     }
 
     @Override
@@ -27,6 +31,9 @@ public class SchedulingDTOMapper implements DtoMapper<Scheduling, SchedulingDTO>
         if(schedulingDTO.id() != null) {
             scheduling.setId(schedulingDTO.id());
         }
+        if(schedulingDTO.version() != null) {
+            scheduling.setVersion(schedulingDTO.version());
+        }
         scheduling.setTitle(schedulingDTO.title());
         scheduling.setDescription(schedulingDTO.description());
         scheduling.setMonth(schedulingDTO.month());
@@ -36,6 +43,13 @@ public class SchedulingDTOMapper implements DtoMapper<Scheduling, SchedulingDTO>
         User user = new User();
         user.setId(schedulingDTO.userId());
         scheduling.setUser(user);
+        if (schedulingDTO.resourceId() != null) {
+            User resource = new User();
+            resource.setId(schedulingDTO.resourceId());
+            scheduling.setResource(resource);
+        }
+        scheduling.setStartAt(schedulingDTO.startAt());
+        scheduling.setEndAt(schedulingDTO.endAt());
 
         return scheduling;
     }
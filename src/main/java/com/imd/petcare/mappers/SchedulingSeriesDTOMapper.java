@@ -0,0 +1,51 @@
+package com.imd.petcare.mappers;
+
+import com.imd.petcare.dto.SchedulingSeriesDTO;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.model.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SchedulingSeriesDTOMapper implements DtoMapper<SchedulingSeries, SchedulingSeriesDTO> {
+
+    @Override
+    public SchedulingSeriesDTO toDto(SchedulingSeries entity) {
+        return new SchedulingSeriesDTO(
+                entity.getId(),
+                entity.getUser() != null ? entity.getUser().getId() : null,
+                entity.getTitle(),
+                entity.getDescription(),
+                entity.getType(),
+                entity.getStartAt(),
+                entity.getDurationMinutes(),
+                entity.getZone(),
+                entity.getRecurrence(),
+                entity.getRecursUntil(),
+                entity.getVersion());
+    }
+
+    @Override
+    public SchedulingSeries toEntity(SchedulingSeriesDTO dto) {
+        SchedulingSeries series = new SchedulingSeries();
+        if (dto.id() != null) {
+            series.setId(dto.id());
+        }
+        if (dto.version() != null) {
+            series.setVersion(dto.version());
+        }
+        User user = new User();
+        user.setId(dto.userId());
+        series.setUser(user);
+        series.setTitle(dto.title());
+        series.setDescription(dto.description());
+        series.setType(dto.type());
+        series.setStartAt(dto.startAt());
+        if (dto.durationMinutes() != null) {
+            series.setDurationMinutes(dto.durationMinutes());
+        }
+        series.setZone(dto.zone());
+        series.setRecurrence(dto.recurrence());
+
+        return series;
+    }
+}
@@ -30,7 +30,8 @@ public class UserDTOMapper implements DtoMapper<User, UserDTO> {
                 entity.getLogin(),
                 entity.getPassword(),
                 entity.getEmail(),
-                entity.getRole());
+                entity.getRole(),
+                entity.getVersion());
     }
 
     /**
@@ -47,6 +48,9 @@ public class UserDTOMapper implements DtoMapper<User, UserDTO> {
     public User toEntity(UserDTO userDTO) {
         User user = new User();
         user.setId(userDTO.id());
+        if (userDTO.version() != null) {
+            user.setVersion(userDTO.version());
+        }
         user.setLogin(userDTO.login());
         user.setPassword(userDTO.password());
         user.setEmail(userDTO.email());
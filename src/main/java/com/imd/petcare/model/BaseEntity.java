@@ -1,10 +1,11 @@
 package com.imd.petcare.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.proxy.HibernateProxy;
 
 import java.io.Serializable;
 import java.time.ZonedDateTime;
-import java.util.Objects;
 
 @MappedSuperclass
 public abstract class BaseEntity implements Serializable {
@@ -22,6 +23,15 @@ public abstract class BaseEntity implements Serializable {
     @Column(name = "active")
     protected boolean active = true;
 
+    /**
+     * Optimistic locking version. Kept primitive so that references built from DTOs (id only)
+     * are still treated as detached instances instead of transient ones.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public long getId() {
         return id;
     }
@@ -54,6 +64,14 @@ public abstract class BaseEntity implements Serializable {
         this.active = active;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = ZonedDateTime.now();
@@ -64,19 +82,32 @@ public abstract class BaseEntity implements Serializable {
         this.updatedAt = ZonedDateTime.now();
     }
 
+    /**
+     * Entities are equal when they are of the same persistent class and share the same assigned ID.
+     * Transient instances (ID not yet assigned) are only equal to themselves.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o)
             return true;
-        if (o == null || getClass() != o.getClass())
+        if (!(o instanceof BaseEntity that) || effectiveClass(this) != effectiveClass(that))
             return false;
-        BaseEntity that = (BaseEntity) o;
-        return active == that.active && Objects.equals(id, that.id) && Objects.equals(createdAt, that.createdAt)
-                && Objects.equals(updatedAt, that.updatedAt);
+        return id != 0 && id == that.getId();
     }
 
+    /**
+     * Hashes the ID alone once it is assigned, and falls back to a constant per-class hash for
+     * transient instances, so no field or association is traversed.
+     * A transient entity must therefore not be kept in a hash-based collection across its persist.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(id, createdAt, updatedAt, active);
+        return id != 0 ? Long.hashCode(id) : effectiveClass(this).hashCode();
+    }
+
+    private static Class<?> effectiveClass(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
     }
 }
@@ -0,0 +1,108 @@
+package com.imd.petcare.model;
+
+import com.imd.petcare.model.enums.ChangeOperation;
+import jakarta.persistence.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A change to an entity, written to the outbox in the transaction that made it.
+ *
+ * The sequence number is null until the ChangeEventRelay publishes the event. Sequence numbers are assigned
+ * by a single relay at publication time, so a reader following the feed by sequence never skips an event
+ * that committed late.
+ */
+@Entity
+@Table(name = "change_event", indexes = {
+        @Index(name = "idx_change_event_sequence", columnList = "sequence", unique = true),
+        @Index(name = "idx_change_event_owner", columnList = "owner_id, sequence")})
+public class ChangeEvent extends BaseEntity {
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ChangeOperation operation;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column
+    private Long sequence;
+
+    @Column(name = "published_at")
+    private ZonedDateTime publishedAt;
+
+    public ChangeEvent() { }
+
+    public ChangeEvent(String entityType, long entityId, ChangeOperation operation, Long ownerId, String payload) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.ownerId = ownerId;
+        this.payload = payload;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(long entityId) {
+        this.entityId = entityId;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ZonedDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(ZonedDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.imd.petcare.model;
+
+import jakarta.persistence.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A request made with an {@code Idempotency-Key} header, kept by the DatabaseIdempotencyStore.
+ *
+ * The key is a hash of the header, the caller and the endpoint. The status and body are null while the
+ * request is in progress; until the record expires, the key is reserved by that request, then its stored
+ * response is replayed to any repetition.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_record_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "idx_idempotency_record_expires", columnList = "expires_at")})
+public class IdempotencyRecord extends BaseEntity {
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column
+    private Integer status;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+
+    public IdempotencyRecord() { }
+
+    public IdempotencyRecord(String idempotencyKey, String fingerprint, ZonedDateTime expiresAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.fingerprint = fingerprint;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public ZonedDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(ZonedDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,105 @@
+package com.imd.petcare.model;
+
+import com.imd.petcare.model.enums.MailStatus;
+import com.imd.petcare.model.enums.MailType;
+import jakarta.persistence.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A mail waiting in the outbox to be rendered and sent by the MailOutboxWorker.
+ *
+ * Only the kind of mail and its recipient are stored: the content, including any secret it carries, is
+ * produced by the worker when the mail is sent.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at"))
+public class MailOutboxMessage extends BaseEntity {
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private MailType type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private MailStatus status = MailStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private ZonedDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public MailOutboxMessage() { }
+
+    public MailOutboxMessage(MailType type, String recipient, ZonedDateTime nextAttemptAt) {
+        this.type = type;
+        this.recipient = recipient;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public MailType getType() {
+        return type;
+    }
+
+    public void setType(MailType type) {
+        this.type = type;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public MailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MailStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public ZonedDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(ZonedDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public ZonedDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(ZonedDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -5,7 +5,6 @@ import jakarta.validation.constraints.NotBlank;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Objects;
 
 @Entity
 @Table(name = "refresh_token")
@@ -57,20 +56,4 @@ public class RefreshToken extends BaseEntity {
         ZonedDateTime fiveMinutesAgo = ZonedDateTime.now().minus(5, ChronoUnit.MINUTES);
         return !createdAt.isBefore(fiveMinutesAgo) && !isUsed;
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        RefreshToken that = (RefreshToken) o;
-        return Objects.equals(token, that.token) &&
-                Objects.equals(user, that.user);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), token, user);
-    }
-
 }
@@ -4,8 +4,27 @@ import com.imd.petcare.model.enums.SchedulingType;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Where;
 
+import java.time.ZonedDateTime;
+
+/**
+ * An appointment of a user.
+ *
+ * Every appointment has a start, by which the scheduling table is partitioned; one given only a date starts at
+ * midnight (UTC) of that day. An appointment booked with a resource (a doctor or groomer) also has an end, and
+ * the appointments of a resource never overlap: this is checked by the SchedulingService and enforced within
+ * each yearly partition by its {@code _no_overlap} exclusion constraint. Overlaps between appointments of two
+ * partitions, around the start of a year, are only checked by the SchedulingService, under a lock of the
+ * resource.
+ *
+ * {@code nextReminderAt} is when the owner is next reminded of the appointment, or null once every reminder
+ * was sent. It is set by the SchedulingService and moved forward by the ReminderScheduler, with bulk updates
+ * that leave the version untouched.
+ */
 @Entity
-@Table(name = "scheduling")
+@Table(name = "scheduling", indexes = {
+        @Index(name = "idx_scheduling_resource_start", columnList = "resource_id, start_at"),
+        @Index(name = "idx_scheduling_user_start", columnList = "user_id, start_at"),
+        @Index(name = "idx_scheduling_next_reminder", columnList = "next_reminder_at")})
 @Where(clause = "active = true")
 public class Scheduling extends BaseEntity{
 
@@ -32,6 +51,19 @@ public class Scheduling extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private SchedulingType type;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "resource_id")
+    private User resource;
+
+    @Column(name = "start_at", nullable = false)
+    private ZonedDateTime startAt;
+
+    @Column(name = "end_at")
+    private ZonedDateTime endAt;
+
+    @Column(name = "next_reminder_at")
+    private ZonedDateTime nextReminderAt;
+
     public String getTitle() {
         return title;
     }
@@ -87,4 +119,36 @@ public class Scheduling extends BaseEntity{
     public void setType(SchedulingType type) {
         this.type = type;
     }
+
+    public User getResource() {
+        return resource;
+    }
+
+    public void setResource(User resource) {
+        this.resource = resource;
+    }
+
+    public ZonedDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(ZonedDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public ZonedDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(ZonedDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public ZonedDateTime getNextReminderAt() {
+        return nextReminderAt;
+    }
+
+    public void setNextReminderAt(ZonedDateTime nextReminderAt) {
+        this.nextReminderAt = nextReminderAt;
+    }
 }
@@ -0,0 +1,98 @@
+package com.imd.petcare.model;
+
+import jakarta.persistence.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A change to one occurrence of a {@link SchedulingSeries}: the occurrence is either cancelled, or moved
+ * and/or retitled. Null fields keep the values of the series.
+ *
+ * The occurrence is identified by the start it has according to the rule. Restoring it deactivates the row,
+ * which is reused if the same occurrence is changed again.
+ */
+@Entity
+@Table(name = "scheduling_occurrence_override", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_scheduling_occurrence_override", columnNames = {"series_id", "original_start_at"})},
+        indexes = {
+                @Index(name = "idx_scheduling_occurrence_override_start", columnList = "start_at")})
+public class SchedulingOccurrenceOverride extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id", nullable = false)
+    private SchedulingSeries series;
+
+    @Column(name = "original_start_at", nullable = false)
+    private ZonedDateTime originalStartAt;
+
+    @Column(name = "cancelled", nullable = false)
+    private boolean cancelled;
+
+    @Column(name = "start_at")
+    private ZonedDateTime startAt;
+
+    @Column(name = "end_at")
+    private ZonedDateTime endAt;
+
+    @Column
+    private String title;
+
+    @Column
+    private String description;
+
+    public SchedulingSeries getSeries() {
+        return series;
+    }
+
+    public void setSeries(SchedulingSeries series) {
+        this.series = series;
+    }
+
+    public ZonedDateTime getOriginalStartAt() {
+        return originalStartAt;
+    }
+
+    public void setOriginalStartAt(ZonedDateTime originalStartAt) {
+        this.originalStartAt = originalStartAt;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public ZonedDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(ZonedDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public ZonedDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(ZonedDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
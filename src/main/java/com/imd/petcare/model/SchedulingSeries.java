@@ -0,0 +1,125 @@
+package com.imd.petcare.model;
+
+import com.imd.petcare.model.enums.SchedulingType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Where;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A recurring appointment of a user, e.g. a weekly grooming session or a yearly vaccination.
+ *
+ * The series stores its first occurrence, the duration of each occurrence and a recurrence rule; occurrences
+ * are never materialized, but expanded for the requested window when the calendar is read. Occurrences that
+ * were moved, edited or cancelled are stored sparsely as {@link SchedulingOccurrenceOverride} rows.
+ *
+ * {@code recursUntil} is computed when the series is written, from the COUNT or UNTIL part of the rule, so
+ * that finished series are filtered out by the calendar query without expanding them.
+ */
+@Entity
+@Table(name = "scheduling_series", indexes = {
+        @Index(name = "idx_scheduling_series_user", columnList = "user_id, recurs_until")})
+@Where(clause = "active = true")
+public class SchedulingSeries extends BaseEntity {
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column
+    private String title;
+
+    @Column
+    private String description;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private SchedulingType type;
+
+    @Column(name = "start_at", nullable = false)
+    private ZonedDateTime startAt;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private int durationMinutes;
+
+    @Column(name = "zone", nullable = false, length = 64)
+    private String zone;
+
+    @Column(name = "recurrence", nullable = false)
+    private String recurrence;
+
+    @Column(name = "recurs_until")
+    private ZonedDateTime recursUntil;
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public SchedulingType getType() {
+        return type;
+    }
+
+    public void setType(SchedulingType type) {
+        this.type = type;
+    }
+
+    public ZonedDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(ZonedDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    public ZonedDateTime getRecursUntil() {
+        return recursUntil;
+    }
+
+    public void setRecursUntil(ZonedDateTime recursUntil) {
+        this.recursUntil = recursUntil;
+    }
+}
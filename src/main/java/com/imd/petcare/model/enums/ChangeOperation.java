@@ -0,0 +1,7 @@
+package com.imd.petcare.model.enums;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
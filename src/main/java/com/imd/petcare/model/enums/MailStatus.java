@@ -0,0 +1,8 @@
+package com.imd.petcare.model.enums;
+
+public enum MailStatus {
+    PENDING,
+    SENT,
+    DISCARDED,
+    FAILED
+}
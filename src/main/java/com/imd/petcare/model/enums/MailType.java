@@ -0,0 +1,15 @@
+package com.imd.petcare.model.enums;
+
+public enum MailType {
+    PASSWORD_RECOVERY("Recuperação de senha");
+
+    private final String description;
+
+    MailType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,101 @@
+package com.imd.petcare.repository;
+
+import com.imd.petcare.model.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing ChangeEvent entities, extending GenericRepository.
+ *
+ * This repository interface provides the queries of the change event relay and of the change feed.
+ */
+@Repository
+public interface ChangeEventRepository extends GenericRepository<ChangeEvent> {
+
+    /**
+     * Tries to take the PostgreSQL advisory lock identified by the given key until the end of the transaction.
+     *
+     * @param key the lock key
+     * @return true if the lock was taken, false if another transaction holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+
+    /**
+     * Retrieves the highest sequence number published so far.
+     *
+     * @return the last sequence number, or 0 if no event was published
+     */
+    @Query("SELECT coalesce(max(e.sequence), 0) FROM ChangeEvent e")
+    long findLastSequence();
+
+    /**
+     * Retrieves the events not published yet, in the order they were recorded.
+     *
+     * The IDs come from a pooled sequence, so the creation time orders the events of different
+     * transactions and the ID only breaks ties.
+     *
+     * @param pageable the maximum number of events to retrieve
+     * @return the unpublished events
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.sequence IS NULL ORDER BY e.createdAt, e.id")
+    List<ChangeEvent> findUnpublished(Pageable pageable);
+
+    /**
+     * Retrieves the events published after the given sequence number, in sequence order.
+     *
+     * @param after    the last sequence number already read
+     * @param pageable the maximum number of events to retrieve
+     * @return the next events of the feed
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.sequence > :after ORDER BY e.sequence")
+    List<ChangeEvent> findPublishedAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Retrieves the events of one entity type published after the given sequence number, in sequence order.
+     *
+     * @param entityType the entity type, e.g. Scheduling
+     * @param after      the last sequence number already read
+     * @param pageable   the maximum number of events to retrieve
+     * @return the next events of the feed for that entity type
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.entityType = :entityType AND e.sequence > :after ORDER BY e.sequence")
+    List<ChangeEvent> findPublishedAfter(@Param("entityType") String entityType, @Param("after") long after,
+                                         Pageable pageable);
+
+    /**
+     * Retrieves the events of one entity type and owner published after the given sequence number,
+     * in sequence order.
+     *
+     * @param entityType the entity type, e.g. Scheduling
+     * @param ownerId    the ID of the user the entities belong to
+     * @param after      the last sequence number already read
+     * @param pageable   the maximum number of events to retrieve
+     * @return the next events of the feed for that entity type and owner
+     */
+    @Query("SELECT e FROM ChangeEvent e WHERE e.entityType = :entityType AND e.ownerId = :ownerId"
+            + " AND e.sequence > :after ORDER BY e.sequence")
+    List<ChangeEvent> findPublishedAfterForOwner(@Param("entityType") String entityType,
+                                                 @Param("ownerId") long ownerId,
+                                                 @Param("after") long after,
+                                                 Pageable pageable);
+
+    /**
+     * Deletes the events published before the given time.
+     *
+     * The last published event is always kept, so the sequence numbers continue after a purge.
+     *
+     * @param before the time before which published events are deleted
+     * @return the number of deleted events
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.sequence IS NOT NULL AND e.publishedAt < :before"
+            + " AND e.sequence < (SELECT max(l.sequence) FROM ChangeEvent l)")
+    int deletePublishedBefore(@Param("before") ZonedDateTime before);
+}
@@ -1,11 +1,15 @@
 package com.imd.petcare.repository;
 
 import com.imd.petcare.model.BaseEntity;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A generic repository interface extending JpaRepository to provide additional methods for soft deletion.
@@ -18,6 +22,11 @@ import java.util.Optional;
 @NoRepositoryBean
 public interface GenericRepository <T extends BaseEntity> extends JpaRepository<T, Long> {
 
+    /**
+     * Number of rows fetched per round trip when streaming entities.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     /**
      * Soft deletes an entity by ID, marking it as inactive.
      *
@@ -64,4 +73,37 @@ public interface GenericRepository <T extends BaseEntity> extends JpaRepository<
     default void deleteAll(Iterable<? extends T> arg0) {
         arg0.forEach(entity -> deleteById(entity.getId()));
     }
+
+    /**
+     * Updates an entity only if its version still matches the stored one.
+     *
+     * @param entity the detached entity carrying the ID, the version read by the client and the new state
+     * @return the number of updated rows: 1 on success, 0 if the entity does not exist or was modified concurrently
+     *
+     * Repositories should redeclare this method with a single conditional
+     * {@code UPDATE ... WHERE id = ? AND version = ?} query that also increments the version. This default
+     * implementation is a fallback that reselects the entity before merging it.
+     */
+    @Transactional
+    default int updateIfVersionMatches(T entity) {
+        Optional<T> stored = findById(entity.getId());
+        if (stored.isEmpty() || stored.get().getVersion() != entity.getVersion()) {
+            return 0;
+        }
+        save(entity);
+        return 1;
+    }
+
+    /**
+     * Streams all active entities ordered by ID, reading them through a database cursor.
+     *
+     * @return a stream of entities that must be consumed and closed inside a transaction
+     *
+     * The fetch size hint makes the PostgreSQL driver use a server-side cursor instead of
+     * loading the whole result set, and the read-only hint skips dirty-checking snapshots.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<T> streamAllByOrderByIdAsc();
 }
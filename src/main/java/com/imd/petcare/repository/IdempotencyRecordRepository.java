@@ -0,0 +1,68 @@
+package com.imd.petcare.repository;
+
+import com.imd.petcare.model.IdempotencyRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing IdempotencyRecord entities, extending GenericRepository.
+ *
+ * This repository interface provides the queries used by the DatabaseIdempotencyStore.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends GenericRepository<IdempotencyRecord> {
+
+    /**
+     * Locks and retrieves the record of a key.
+     *
+     * @param idempotencyKey the hashed key
+     * @return the record, locked until the end of the transaction, or empty if the key is unknown
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecord> findForUpdate(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Stores the response of the request holding a key.
+     *
+     * @param idempotencyKey the hashed key
+     * @param status         the HTTP status of the response
+     * @param body           the JSON body of the response
+     * @param expiresAt      the time until which the response is replayed
+     * @return the number of updated records
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.body = :body, r.expiresAt = :expiresAt "
+            + "WHERE r.idempotencyKey = :idempotencyKey AND r.status IS NULL")
+    int complete(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("status") int status,
+                 @Param("body") String body,
+                 @Param("expiresAt") ZonedDateTime expiresAt);
+
+    /**
+     * Deletes the record of a key whose request is still in progress, freeing the key for a retry.
+     *
+     * @param idempotencyKey the hashed key
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.status IS NULL")
+    int release(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Deletes the records that expired before the given time.
+     *
+     * @param before the time before which the records expired
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") ZonedDateTime before);
+}
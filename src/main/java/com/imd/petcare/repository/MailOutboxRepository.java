@@ -0,0 +1,53 @@
+package com.imd.petcare.repository;
+
+import com.imd.petcare.model.MailOutboxMessage;
+import com.imd.petcare.model.enums.MailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing MailOutboxMessage entities, extending GenericRepository.
+ *
+ * This repository interface provides the queries used by the mail outbox worker.
+ */
+@Repository
+public interface MailOutboxRepository extends GenericRepository<MailOutboxMessage> {
+
+    /**
+     * Locks and retrieves the pending messages whose next attempt is due, oldest first.
+     *
+     * @param now      the current time
+     * @param pageable the maximum number of messages to retrieve
+     * @return the due messages, locked until the end of the transaction
+     *
+     * The lock timeout hint of -2 makes Hibernate add SKIP LOCKED, so several application instances can
+     * process the outbox at the same time without picking the same messages.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutboxMessage m WHERE m.status = com.imd.petcare.model.enums.MailStatus.PENDING "
+            + "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<MailOutboxMessage> findDue(@Param("now") ZonedDateTime now, Pageable pageable);
+
+    /**
+     * Deletes the messages in the given states that were processed, i.e. last updated, before the given time.
+     *
+     * @param statuses the final states of the messages to delete
+     * @param before   the time before which the messages are deleted
+     * @return the number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM MailOutboxMessage m WHERE m.status IN :statuses AND m.updatedAt < :before")
+    int deleteProcessedBefore(@Param("statuses") Collection<MailStatus> statuses, @Param("before") ZonedDateTime before);
+}
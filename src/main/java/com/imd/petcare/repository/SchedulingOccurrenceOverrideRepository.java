@@ -0,0 +1,49 @@
+package com.imd.petcare.repository;
+
+import com.imd.petcare.model.SchedulingOccurrenceOverride;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing SchedulingOccurrenceOverride entities, extending GenericRepository.
+ */
+@Repository
+public interface SchedulingOccurrenceOverrideRepository extends GenericRepository<SchedulingOccurrenceOverride> {
+
+    /**
+     * Retrieves the override of an occurrence, active or not.
+     *
+     * @param seriesId        the ID of the series
+     * @param originalStartAt the start of the occurrence according to the recurrence rule
+     * @return an Optional containing the override if the occurrence was ever changed, otherwise empty
+     */
+    Optional<SchedulingOccurrenceOverride> findBySeriesIdAndOriginalStartAt(long seriesId, ZonedDateTime originalStartAt);
+
+    /**
+     * Retrieves the active overrides of the series of a user that concern a period: the occurrence either
+     * started in it according to the rule, or was moved into it.
+     *
+     * @param userId        the ID of the user
+     * @param earliestStart the earliest original start of an occurrence overlapping the period
+     * @param from          the start of the period
+     * @param to            the end of the period, exclusive
+     * @return the overrides, with their series
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT o FROM SchedulingOccurrenceOverride o JOIN FETCH o.series s "
+            + "WHERE s.user.id = :userId AND s.active = true AND o.active = true "
+            + "AND ((o.originalStartAt >= :earliestStart AND o.originalStartAt < :to) "
+            + "OR (o.startAt < :to AND o.endAt > :from))")
+    List<SchedulingOccurrenceOverride> findForUserInPeriod(@Param("userId") long userId,
+                                                          @Param("earliestStart") ZonedDateTime earliestStart,
+                                                          @Param("from") ZonedDateTime from,
+                                                          @Param("to") ZonedDateTime to);
+}
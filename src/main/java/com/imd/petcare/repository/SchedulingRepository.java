@@ -1,8 +1,264 @@
 package com.imd.petcare.repository;
 
 import com.imd.petcare.model.Scheduling;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for managing Scheduling entities, extending GenericRepository.
+ *
+ * The scheduling table is partitioned by year of start_at. Range queries therefore bound the start of the
+ * appointments they look for on both sides, using {@link #MAX_DURATION} for the lower bound, so that
+ * PostgreSQL only scans the partitions of the requested period.
+ */
 @Repository
 public interface SchedulingRepository extends GenericRepository<Scheduling>{
+
+    /**
+     * Longest appointment accepted by the SchedulingService: an appointment overlapping a period starts at
+     * most this long before it.
+     */
+    Duration MAX_DURATION = Duration.ofDays(1);
+
+    /**
+     * Updates a scheduling with a single conditional statement, incrementing its version.
+     *
+     * @param scheduling the scheduling carrying the ID, the expected version and the new state
+     * @return 1 if the scheduling was updated, 0 if it does not exist or its version is stale
+     */
+    @Override
+    @Transactional
+    @Modifying
+    @Query("UPDATE Scheduling s SET s.user = :#{#scheduling.user}, s.title = :#{#scheduling.title}, "
+            + "s.description = :#{#scheduling.description}, s.month = :#{#scheduling.month}, "
+            + "s.day = :#{#scheduling.day}, s.year = :#{#scheduling.year}, s.type = :#{#scheduling.type}, "
+            + "s.resource = :#{#scheduling.resource}, s.startAt = :#{#scheduling.startAt}, "
+            + "s.endAt = :#{#scheduling.endAt}, s.nextReminderAt = :#{#scheduling.nextReminderAt}, "
+            + "s.updatedAt = :#{#scheduling.updatedAt}, s.version = s.version + 1 "
+            + "WHERE s.id = :#{#scheduling.id} AND s.version = :#{#scheduling.version} AND s.active = true")
+    int updateIfVersionMatches(@Param("scheduling") Scheduling scheduling);
+
+    /**
+     * Streams all active schedulings ordered by ID, fetching their users in the same query.
+     *
+     * @return a stream of schedulings that must be consumed and closed inside a transaction
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Scheduling s LEFT JOIN FETCH s.user ORDER BY s.id")
+    Stream<Scheduling> streamAllByOrderByIdAsc();
+
+    /**
+     * Checks whether a resource has an appointment overlapping the given period.
+     *
+     * @param resourceId the ID of the resource
+     * @param start      the start of the period
+     * @param end        the end of the period, exclusive
+     * @param excludeId  the ID of a scheduling to ignore, e.g. the one being moved
+     * @return true if an active scheduling of the resource overlaps the period
+     */
+    default boolean existsOverlap(long resourceId, ZonedDateTime start, ZonedDateTime end, long excludeId) {
+        return existsOverlap(resourceId, start.minus(MAX_DURATION), start, end, excludeId);
+    }
+
+    @Query("SELECT count(s) > 0 FROM Scheduling s WHERE s.resource.id = :resourceId AND s.id <> :excludeId "
+            + "AND s.startAt > :earliestStart AND s.startAt < :end AND s.endAt > :start")
+    boolean existsOverlap(@Param("resourceId") long resourceId,
+                          @Param("earliestStart") ZonedDateTime earliestStart,
+                          @Param("start") ZonedDateTime start,
+                          @Param("end") ZonedDateTime end,
+                          @Param("excludeId") long excludeId);
+
+    /**
+     * Takes the PostgreSQL advisory lock of a resource until the end of the transaction, waiting for the
+     * transaction holding it.
+     *
+     * The lock is identified by two keys, the first one being 1, so it never collides with the single-key locks
+     * of the change event relay and the partition maintenance. IDs beyond the int range share locks, which only
+     * serializes more writes.
+     *
+     * @param resourceId the ID of the resource
+     * @return always 1
+     */
+    @Query(value = "SELECT count(*) FROM pg_advisory_xact_lock(1, CAST(:resourceId % 2147483647 AS int))",
+            nativeQuery = true)
+    long lockResource(@Param("resourceId") long resourceId);
+
+    /**
+     * Streams the appointments of all resources ending after the given time, ordered by resource and start,
+     * without loading the entities.
+     *
+     * @param from the time after which appointments are streamed
+     * @return a stream of projections that must be consumed and closed inside a transaction
+     */
+    default Stream<BookedInterval> streamBookedIntervals(ZonedDateTime from) {
+        return streamBookedIntervals(from.minus(MAX_DURATION), from);
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s.id AS id, s.resource.id AS resourceId, s.startAt AS startAt, s.endAt AS endAt "
+            + "FROM Scheduling s WHERE s.resource IS NOT NULL AND s.startAt > :earliestStart AND s.endAt > :from "
+            + "ORDER BY s.resource.id, s.startAt")
+    Stream<BookedInterval> streamBookedIntervals(@Param("earliestStart") ZonedDateTime earliestStart,
+                                                 @Param("from") ZonedDateTime from);
+
+    /**
+     * Retrieves the appointments of the given resources overlapping a period, ordered by resource and start.
+     *
+     * @param resourceIds the IDs of the resources
+     * @param from        the start of the period
+     * @param to          the end of the period, exclusive
+     * @return the booked periods
+     */
+    default List<BookedInterval> findBookedIntervals(Collection<Long> resourceIds, ZonedDateTime from, ZonedDateTime to) {
+        return findBookedIntervals(resourceIds, from.minus(MAX_DURATION), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s.id AS id, s.resource.id AS resourceId, s.startAt AS startAt, s.endAt AS endAt "
+            + "FROM Scheduling s WHERE s.resource.id IN :resourceIds AND s.startAt > :earliestStart "
+            + "AND s.startAt < :to AND s.endAt > :from ORDER BY s.resource.id, s.startAt")
+    List<BookedInterval> findBookedIntervals(@Param("resourceIds") Collection<Long> resourceIds,
+                                             @Param("earliestStart") ZonedDateTime earliestStart,
+                                             @Param("from") ZonedDateTime from,
+                                             @Param("to") ZonedDateTime to);
+
+    /**
+     * Retrieves the schedulings of a user overlapping a period, ordered by start.
+     *
+     * @param userId the ID of the user
+     * @param from   the start of the period
+     * @param to     the end of the period, exclusive
+     * @return the schedulings with a start and an end overlapping the period
+     */
+    default List<Scheduling> findForUserInPeriod(long userId, ZonedDateTime from, ZonedDateTime to) {
+        return findForUserInPeriod(userId, from.minus(MAX_DURATION), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Scheduling s WHERE s.user.id = :userId AND s.startAt > :earliestStart "
+            + "AND s.startAt < :to AND s.endAt > :from ORDER BY s.startAt")
+    List<Scheduling> findForUserInPeriod(@Param("userId") long userId,
+                                         @Param("earliestStart") ZonedDateTime earliestStart,
+                                         @Param("from") ZonedDateTime from,
+                                         @Param("to") ZonedDateTime to);
+
+    /**
+     * Streams the upcoming schedulings whose next reminder is due before the given time, without loading the
+     * entities.
+     *
+     * @param startAfter the time after which the appointments start
+     * @param until      the time before which reminders are streamed
+     * @return a stream of projections that must be consumed and closed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s.id AS id, s.nextReminderAt AS nextReminderAt FROM Scheduling s "
+            + "WHERE s.startAt > :startAfter AND s.nextReminderAt <= :until")
+    Stream<PendingReminder> streamRemindersDueBefore(@Param("startAfter") ZonedDateTime startAfter,
+                                                     @Param("until") ZonedDateTime until);
+
+    /**
+     * Retrieves what a reminder needs to know about the given schedulings and their owners.
+     *
+     * @param ids the IDs of the schedulings
+     * @return the active schedulings among the given ones
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s.id AS id, s.title AS title, s.startAt AS startAt, s.nextReminderAt AS nextReminderAt, "
+            + "u.id AS userId, u.email AS email FROM Scheduling s JOIN s.user u WHERE s.id IN :ids")
+    List<ReminderTarget> findReminderTargets(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves the next reminder of a scheduling forward if it is still the expected one, without incrementing
+     * the version of the scheduling.
+     *
+     * @param id       the ID of the scheduling
+     * @param expected the reminder about to be sent
+     * @param next     the following reminder, or null if there is none
+     * @return 1 if the reminder was claimed, 0 if another instance sent it or the scheduling was changed
+     */
+    @Modifying
+    @Query("UPDATE Scheduling s SET s.nextReminderAt = :next WHERE s.id = :id AND s.nextReminderAt = :expected")
+    int claimReminder(@Param("id") long id,
+                      @Param("expected") ZonedDateTime expected,
+                      @Param("next") ZonedDateTime next);
+
+    /**
+     * Sets the next reminder of a scheduling without incrementing its version.
+     *
+     * @param id   the ID of the scheduling
+     * @param next the next reminder, or null for none
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Scheduling s SET s.nextReminderAt = :next WHERE s.id = :id")
+    int updateNextReminder(@Param("id") long id, @Param("next") ZonedDateTime next);
+
+    /**
+     * Sets the next reminder of a scheduling that has none, without incrementing its version.
+     *
+     * @param id   the ID of the scheduling
+     * @param next the time of the next reminder
+     * @return 1 if the reminder was set, 0 if the scheduling has a reminder pending
+     */
+    @Modifying
+    @Query("UPDATE Scheduling s SET s.nextReminderAt = :next WHERE s.id = :id AND s.nextReminderAt IS NULL")
+    int updateNextReminderIfUnset(@Param("id") long id, @Param("next") ZonedDateTime next);
+
+    /**
+     * Projection of the period a scheduling books on its resource.
+     */
+    interface BookedInterval {
+        long getId();
+
+        long getResourceId();
+
+        ZonedDateTime getStartAt();
+
+        ZonedDateTime getEndAt();
+    }
+
+    /**
+     * Projection of a reminder waiting to be sent.
+     */
+    interface PendingReminder {
+        long getId();
+
+        ZonedDateTime getNextReminderAt();
+    }
+
+    /**
+     * Projection of a scheduling about to be reminded to its owner.
+     */
+    interface ReminderTarget {
+        long getId();
+
+        String getTitle();
+
+        ZonedDateTime getStartAt();
+
+        ZonedDateTime getNextReminderAt();
+
+        long getUserId();
+
+        String getEmail();
+    }
 }
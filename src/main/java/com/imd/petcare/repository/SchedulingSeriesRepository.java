@@ -0,0 +1,66 @@
+package com.imd.petcare.repository;
+
+import com.imd.petcare.model.SchedulingSeries;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for managing SchedulingSeries entities, extending GenericRepository.
+ */
+@Repository
+public interface SchedulingSeriesRepository extends GenericRepository<SchedulingSeries> {
+
+    /**
+     * Updates a series with a single conditional statement, incrementing its version.
+     *
+     * @param series the series carrying the ID, the expected version and the new state
+     * @return 1 if the series was updated, 0 if it does not exist or its version is stale
+     */
+    @Override
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulingSeries s SET s.user = :#{#series.user}, s.title = :#{#series.title}, "
+            + "s.description = :#{#series.description}, s.type = :#{#series.type}, "
+            + "s.startAt = :#{#series.startAt}, s.durationMinutes = :#{#series.durationMinutes}, "
+            + "s.zone = :#{#series.zone}, s.recurrence = :#{#series.recurrence}, "
+            + "s.recursUntil = :#{#series.recursUntil}, s.updatedAt = :#{#series.updatedAt}, s.version = s.version + 1 "
+            + "WHERE s.id = :#{#series.id} AND s.version = :#{#series.version} AND s.active = true")
+    int updateIfVersionMatches(@Param("series") SchedulingSeries series);
+
+    /**
+     * Streams all active series ordered by ID, fetching their users in the same query.
+     *
+     * @return a stream of series that must be consumed and closed inside a transaction
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM SchedulingSeries s LEFT JOIN FETCH s.user ORDER BY s.id")
+    Stream<SchedulingSeries> streamAllByOrderByIdAsc();
+
+    /**
+     * Retrieves the series of a user that may have an occurrence starting in a period.
+     *
+     * @param userId the ID of the user
+     * @param from   the earliest start of an occurrence
+     * @param to     the end of the period, exclusive
+     * @return the series started before the end of the period and not finished before its start
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM SchedulingSeries s WHERE s.user.id = :userId AND s.startAt < :to "
+            + "AND (s.recursUntil IS NULL OR s.recursUntil >= :from)")
+    List<SchedulingSeries> findRecurringInPeriod(@Param("userId") long userId,
+                                                 @Param("from") ZonedDateTime from,
+                                                 @Param("to") ZonedDateTime to);
+}
@@ -1,12 +1,23 @@
 package com.imd.petcare.repository;
 
+import com.imd.petcare.model.Person;
 import com.imd.petcare.model.User;
 import com.imd.petcare.model.enums.Role;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing User entities, extending GenericRepository.
@@ -24,6 +35,15 @@ public interface UserRepository extends GenericRepository<User> {
      */
     boolean existsByLogin(String login);
 
+    /**
+     * Checks if a user other than the given one already uses the given login.
+     *
+     * @param login the login to check for existence
+     * @param id    the ID of the user to ignore
+     * @return true if another user with the given login exists, false otherwise
+     */
+    boolean existsByLoginAndIdNot(String login, long id);
+
     /**
      * Checks if a user with the given email exists.
      *
@@ -33,6 +53,16 @@ public interface UserRepository extends GenericRepository<User> {
     @Query("select (count(u) > 0) from User u where u.email = ?1")
     boolean existsPersonByEmail(String email);
 
+    /**
+     * Checks if a user other than the given one already uses the given email.
+     *
+     * @param email the email to check for existence
+     * @param id    the ID of the user to ignore
+     * @return true if another user with the given email exists, false otherwise
+     */
+    @Query("select (count(u) > 0) from User u where u.email = ?1 and u.id <> ?2")
+    boolean existsPersonByEmailAndIdNot(String email, long id);
+
     /**
      * Checks if a user with the given identifier exists.
      *
@@ -42,6 +72,25 @@ public interface UserRepository extends GenericRepository<User> {
     @Query("select (count(u) > 0) from User u where u.person.identifier = ?1")
     boolean existsPersonByIdentifier(String identifier);
 
+    /**
+     * Checks if a user other than the given one already uses the given identifier.
+     *
+     * @param identifier the identifier to check for existence
+     * @param id         the ID of the user to ignore
+     * @return true if another user with the given identifier exists, false otherwise
+     */
+    @Query("select (count(u) > 0) from User u where u.person.identifier = ?1 and u.id <> ?2")
+    boolean existsPersonByIdentifierAndIdNot(String identifier, long id);
+
+    /**
+     * Retrieves which of the given IDs belong to existing users, in a single query.
+     *
+     * @param ids the IDs to look up
+     * @return the subset of the given IDs that belong to existing users
+     */
+    @Query("select u.id from User u where u.id in ?1")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
     /**
      * Retrieves a user by their login.
      *
@@ -60,6 +109,48 @@ public interface UserRepository extends GenericRepository<User> {
     @Query("SELECT u FROM User u WHERE u.email = ?1")
     Optional<User> findByEmail(String login);
 
+    /**
+     * Updates a user with a single conditional statement, incrementing its version.
+     * The password and the associated person are not touched by this statement.
+     *
+     * @param user the user carrying the ID, the expected version and the new state
+     * @return 1 if the user was updated, 0 if it does not exist or its version is stale
+     */
+    @Override
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.login = :#{#user.login}, u.email = :#{#user.email}, u.role = :#{#user.role}, "
+            + "u.updatedAt = :#{#user.updatedAt}, u.version = u.version + 1 "
+            + "WHERE u.id = :#{#user.id} AND u.version = :#{#user.version} AND u.active = true")
+    int updateIfVersionMatches(@Param("user") User user);
+
+    /**
+     * Updates the person associated with a user, without reading the user first.
+     *
+     * @param userId the ID of the user owning the person
+     * @param person the new state of the person
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Person p SET p.name = :#{#person.name}, p.identifier = :#{#person.identifier}, "
+            + "p.phoneNumber = :#{#person.phoneNumber}, p.birthDate = :#{#person.birthDate}, "
+            + "p.updatedAt = :#{#person.updatedAt}, p.version = p.version + 1 "
+            + "WHERE p.id = (SELECT u.person.id FROM User u WHERE u.id = :userId)")
+    void updatePersonByUserId(@Param("userId") long userId, @Param("person") Person person);
+
+    /**
+     * Replaces the password of a user, incrementing its version.
+     *
+     * @param id        the ID of the user
+     * @param password  the encoded new password
+     * @param updatedAt the time of the change
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt, u.version = u.version + 1 WHERE u.id = :id")
+    void updatePasswordById(@Param("id") long id, @Param("password") String password,
+                            @Param("updatedAt") ZonedDateTime updatedAt);
+
     /**
      * Updates the role of a user by their ID.
      *
@@ -73,4 +164,65 @@ public interface UserRepository extends GenericRepository<User> {
             user.get().setRole(role);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams all active users ordered by ID, fetching their person in the same query.
+     *
+     * @return a stream of users that must be consumed and closed inside a transaction
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.person ORDER BY u.id")
+    Stream<User> streamAllByOrderByIdAsc();
+
+    /**
+     * Streams the login, email and identifier of every user, without loading the entities.
+     *
+     * @return a stream of projections that must be consumed and closed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u.login AS login, u.email AS email, p.identifier AS identifier FROM User u LEFT JOIN u.person p")
+    Stream<UniqueKeys> streamUniqueKeys();
+
+    /**
+     * Retrieves the role of a user.
+     *
+     * @param id the ID of the user
+     * @return the role of the user, or empty if the user does not exist
+     */
+    @Query("SELECT u.role FROM User u WHERE u.id = :id")
+    Optional<Role> findRoleById(@Param("id") long id);
+
+    /**
+     * Retrieves the ID and name of the users with the given role, ordered by ID.
+     *
+     * @param role the role of the staff members
+     * @return the staff members with that role
+     */
+    @Query("SELECT u.id AS id, p.name AS name FROM User u LEFT JOIN u.person p WHERE u.role = :role ORDER BY u.id")
+    List<StaffMember> findStaffByRole(@Param("role") Role role);
+
+    /**
+     * Projection of the user attributes that must be unique.
+     */
+    interface UniqueKeys {
+        String getLogin();
+
+        String getEmail();
+
+        String getIdentifier();
+    }
+
+    /**
+     * Projection of a staff member offered in availability searches.
+     */
+    interface StaffMember {
+        long getId();
+
+        String getName();
+    }
+}
@@ -0,0 +1,238 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.AvailabilityDTO;
+import com.imd.petcare.dto.FreeSlotDTO;
+import com.imd.petcare.dto.StaffAvailabilityDTO;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.utils.collection.IntervalIndex;
+import com.imd.petcare.utils.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Service class searching the free periods of staff members (doctors or groomers) over a date range.
+ *
+ * The booked periods of each staff member are read from the {@link ResourceScheduleIndex} when the range is
+ * covered by it, and otherwise with one indexed query for all staff members. They come sorted by start, so
+ * the free periods are found in a single pass that walks the busy periods and clips the gaps between them to
+ * the opening hours. Staff members are processed in parallel above a configurable count. Search times are
+ * recorded in the {@code petcare.availability.search} timer, tagged by source (index or database).
+ *
+ * Results reflect the appointments known when the search runs; booking a slot is still checked against
+ * overlaps.
+ */
+@Service
+public class AvailabilityService {
+
+    private final UserRepository userRepository;
+    private final SchedulingRepository schedulingRepository;
+    private final ResourceScheduleIndex scheduleIndex;
+    private final ZoneId zone;
+    private final LocalTime openingTime;
+    private final LocalTime closingTime;
+    private final long alignmentMillis;
+    private final Duration maxRange;
+    private final int parallelThreshold;
+    private final Timer indexSearches;
+    private final Timer databaseSearches;
+
+    public AvailabilityService(UserRepository userRepository,
+                               SchedulingRepository schedulingRepository,
+                               ResourceScheduleIndex scheduleIndex,
+                               Clock clock,
+                               MeterRegistry registry,
+                               @Value("${petcare.availability.opening-time:08:00}") String openingTime,
+                               @Value("${petcare.availability.closing-time:18:00}") String closingTime,
+                               @Value("${petcare.availability.alignment:15m}") Duration alignment,
+                               @Value("${petcare.availability.max-range:31d}") Duration maxRange,
+                               @Value("${petcare.availability.parallel-threshold:64}") int parallelThreshold) {
+        this.userRepository = userRepository;
+        this.schedulingRepository = schedulingRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.zone = clock.getZone();
+        this.openingTime = LocalTime.parse(openingTime);
+        this.closingTime = LocalTime.parse(closingTime);
+        this.alignmentMillis = Math.max(alignment.toMillis(), 1);
+        this.maxRange = maxRange;
+        this.parallelThreshold = parallelThreshold;
+        this.indexSearches = timer(registry, "index");
+        this.databaseSearches = timer(registry, "database");
+    }
+
+    /**
+     * Searches the free periods of the staff members with a role.
+     *
+     * @param role          the role of the staff members, DOCTOR or GROOMERS
+     * @param resourceIds   the staff members to consider, or null or empty for every one with the role
+     * @param from          the start of the range
+     * @param to            the end of the range, exclusive
+     * @param duration      the minimum length of a free period
+     * @param limitPerStaff the maximum number of free periods returned per staff member
+     * @return the earliest free slot and the free periods of each staff member
+     * @throws BusinessException if the role is not a staff role or the range is empty or too long
+     */
+    public AvailabilityDTO search(Role role, Collection<Long> resourceIds, ZonedDateTime from, ZonedDateTime to,
+                                  Duration duration, int limitPerStaff) {
+        if (role != Role.DOCTOR && role != Role.GROOMERS) {
+            throw new BusinessException("A busca de horários é feita entre médicos ou tratadores.", HttpStatus.BAD_REQUEST);
+        }
+        if (!to.isAfter(from) || Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new BusinessException("O período deve ter fim posterior ao início e no máximo "
+                    + maxRange.toDays() + " dias.", HttpStatus.BAD_REQUEST);
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new BusinessException("A duração deve ser positiva.", HttpStatus.BAD_REQUEST);
+        }
+
+        List<UserRepository.StaffMember> staff = userRepository.findStaffByRole(role).stream()
+                .filter(member -> resourceIds == null || resourceIds.isEmpty() || resourceIds.contains(member.getId()))
+                .toList();
+        Search search = new Search(from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli(),
+                duration.toMillis(), Math.max(limitPerStaff, 1));
+
+        List<StaffAvailabilityDTO> result;
+        if (search.from >= scheduleIndex.coveredFrom()) {
+            result = indexSearches.record(() -> map(staff, member -> {
+                IntervalIndex index = scheduleIndex.get(member.getId());
+                Busy busy = new Busy();
+                index.forEachOverlapping(search.from, search.to, (id, start, end) -> busy.add(start, end));
+                return search.freeSlots(member, busy);
+            }));
+        } else {
+            result = databaseSearches.record(() -> {
+                Map<Long, Busy> busyByStaff = new HashMap<>();
+                if (!staff.isEmpty()) {
+                    List<Long> ids = staff.stream().map(UserRepository.StaffMember::getId).toList();
+                    for (SchedulingRepository.BookedInterval row : schedulingRepository.findBookedIntervals(ids, from, to)) {
+                        busyByStaff.computeIfAbsent(row.getResourceId(), id -> new Busy()).add(
+                                row.getStartAt().toInstant().toEpochMilli(), row.getEndAt().toInstant().toEpochMilli());
+                    }
+                }
+                return map(staff, member ->
+                        search.freeSlots(member, Objects.requireNonNullElseGet(busyByStaff.get(member.getId()), Busy::new)));
+            });
+        }
+
+        FreeSlotDTO first = result.stream()
+                .filter(availability -> !availability.freeSlots().isEmpty())
+                .map(availability -> availability.freeSlots().getFirst())
+                .min(Comparator.comparing(FreeSlotDTO::start))
+                .orElse(null);
+        return new AvailabilityDTO(first, result);
+    }
+
+    private List<StaffAvailabilityDTO> map(List<UserRepository.StaffMember> staff,
+                                           Function<UserRepository.StaffMember, StaffAvailabilityDTO> freeSlots) {
+        return staff.size() >= parallelThreshold
+                ? staff.parallelStream().map(freeSlots).toList()
+                : staff.stream().map(freeSlots).toList();
+    }
+
+    private static Timer timer(MeterRegistry registry, String source) {
+        return Timer.builder("petcare.availability.search")
+                .description("Time taken to compute the free periods of the staff members")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    /**
+     * The parameters of one search, in epoch milliseconds.
+     */
+    private final class Search {
+        private final long from;
+        private final long to;
+        private final long duration;
+        private final int limit;
+
+        Search(long from, long to, long duration, int limit) {
+            this.from = from;
+            this.to = to;
+            this.duration = duration;
+            this.limit = limit;
+        }
+
+        /**
+         * Walks the busy periods once, in start order, and clips each gap between them to the opening hours.
+         */
+        StaffAvailabilityDTO freeSlots(UserRepository.StaffMember member, Busy busy) {
+            List<FreeSlotDTO> slots = new ArrayList<>(Math.min(limit, 16));
+            long cursor = from;
+            for (int i = 0; i < busy.size && slots.size() < limit; i++) {
+                if (busy.starts[i] > cursor) {
+                    addOpenPeriods(member.getId(), cursor, Math.min(busy.starts[i], to), slots);
+                }
+                cursor = Math.max(cursor, busy.ends[i]);
+            }
+            if (cursor < to && slots.size() < limit) {
+                addOpenPeriods(member.getId(), cursor, to, slots);
+            }
+            return new StaffAvailabilityDTO(member.getId(), member.getName(), slots);
+        }
+
+        private void addOpenPeriods(long resourceId, long start, long end, List<FreeSlotDTO> slots) {
+            LocalDate day = Instant.ofEpochMilli(start).atZone(zone).toLocalDate();
+            while (slots.size() < limit) {
+                long open = day.atTime(openingTime).atZone(zone).toInstant().toEpochMilli();
+                if (open >= end) {
+                    return;
+                }
+                long close = day.atTime(closingTime).atZone(zone).toInstant().toEpochMilli();
+                long slotStart = align(Math.max(start, open));
+                long slotEnd = Math.min(end, close);
+                if (slotEnd - slotStart >= duration) {
+                    slots.add(new FreeSlotDTO(resourceId, toDateTime(slotStart), toDateTime(slotEnd)));
+                }
+                day = day.plusDays(1);
+            }
+        }
+
+        private long align(long instant) {
+            return Math.ceilDiv(instant, alignmentMillis) * alignmentMillis;
+        }
+
+        private ZonedDateTime toDateTime(long instant) {
+            return Instant.ofEpochMilli(instant).atZone(zone);
+        }
+    }
+
+    /**
+     * The busy periods of one staff member, appended in start order.
+     */
+    private static final class Busy {
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private int size;
+
+        void add(long start, long end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+}
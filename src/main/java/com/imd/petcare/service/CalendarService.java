@@ -0,0 +1,145 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.CalendarEntryDTO;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.SchedulingOccurrenceOverride;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.repository.SchedulingOccurrenceOverrideRepository;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.SchedulingSeriesRepository;
+import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.recurrence.RecurrenceRule;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class reading the calendar of a user: the single schedulings and the occurrences of the series
+ * overlapping a window.
+ *
+ * Occurrences are expanded lazily, for the window only: each series jumps to the first period of the window
+ * and generates occurrences until its end, then the overrides concerning the window, read with one query,
+ * replace or cancel the occurrences they change. A read therefore costs three indexed queries plus the number
+ * of occurrences in the window, however long the series have been running.
+ */
+@Service
+public class CalendarService {
+
+    /**
+     * Maximum length of an occurrence, matching the validation of SchedulingSeriesDTO; an occurrence starting
+     * that long before the window may still overlap it.
+     */
+    private static final Duration MAX_OCCURRENCE_DURATION = Duration.ofMinutes(1440);
+
+    private final SchedulingRepository schedulingRepository;
+    private final SchedulingSeriesRepository seriesRepository;
+    private final SchedulingOccurrenceOverrideRepository overrideRepository;
+    private final Duration maxRange;
+
+    public CalendarService(SchedulingRepository schedulingRepository,
+                           SchedulingSeriesRepository seriesRepository,
+                           SchedulingOccurrenceOverrideRepository overrideRepository,
+                           @Value("${petcare.calendar.max-range:93d}") Duration maxRange) {
+        this.schedulingRepository = schedulingRepository;
+        this.seriesRepository = seriesRepository;
+        this.overrideRepository = overrideRepository;
+        this.maxRange = maxRange;
+    }
+
+    /**
+     * Reads the appointments of a user overlapping a window.
+     *
+     * @param userId the ID of the user
+     * @param from   the start of the window
+     * @param to     the end of the window, exclusive
+     * @return the single schedulings and the occurrences overlapping the window, ordered by start
+     * @throws BusinessException if the window is empty or too long
+     */
+    @Transactional
+    public List<CalendarEntryDTO> read(long userId, ZonedDateTime from, ZonedDateTime to) {
+        if (!to.isAfter(from) || Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new BusinessException("O período deve ter fim posterior ao início e no máximo "
+                    + maxRange.toDays() + " dias.", HttpStatus.BAD_REQUEST);
+        }
+        ZonedDateTime earliestStart = from.minus(MAX_OCCURRENCE_DURATION);
+
+        List<CalendarEntryDTO> entries = new ArrayList<>();
+        for (Scheduling scheduling : schedulingRepository.findForUserInPeriod(userId, from, to)) {
+            entries.add(new CalendarEntryDTO(scheduling.getId(), null, null, scheduling.getTitle(),
+                    scheduling.getDescription(), scheduling.getType(),
+                    scheduling.getResource() != null ? scheduling.getResource().getId() : null,
+                    scheduling.getStartAt(), scheduling.getEndAt()));
+        }
+
+        Map<Long, Map<Instant, SchedulingOccurrenceOverride>> overridesBySeries = new HashMap<>();
+        for (SchedulingOccurrenceOverride override :
+                overrideRepository.findForUserInPeriod(userId, earliestStart, from, to)) {
+            overridesBySeries.computeIfAbsent(override.getSeries().getId(), id -> new HashMap<>())
+                    .put(override.getOriginalStartAt().toInstant(), override);
+            if (!override.isCancelled()) {
+                CalendarEntryDTO entry = changedOccurrence(override);
+                if (entry.startAt().isBefore(to) && entry.endAt().isAfter(from)) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        for (SchedulingSeries series : seriesRepository.findRecurringInPeriod(userId, earliestStart, to)) {
+            expand(series, from, to, overridesBySeries.getOrDefault(series.getId(), Map.of()), entries);
+        }
+
+        entries.sort(Comparator.comparing(CalendarEntryDTO::startAt));
+        return entries;
+    }
+
+    /**
+     * Appends the occurrences of a series overlapping the window that no override changes.
+     */
+    private static void expand(SchedulingSeries series, ZonedDateTime from, ZonedDateTime to,
+                               Map<Instant, SchedulingOccurrenceOverride> overrides, List<CalendarEntryDTO> entries) {
+        ZoneId zone = ZoneId.of(series.getZone());
+        Duration duration = Duration.ofMinutes(series.getDurationMinutes());
+        Instant last = series.getRecursUntil() != null ? series.getRecursUntil().toInstant() : Instant.MAX;
+
+        Iterator<LocalDateTime> occurrences = RecurrenceRule.parse(series.getRecurrence()).occurrences(
+                series.getStartAt().withZoneSameInstant(zone).toLocalDateTime(),
+                from.minus(duration).withZoneSameInstant(zone).toLocalDateTime());
+        while (occurrences.hasNext()) {
+            ZonedDateTime start = occurrences.next().atZone(zone);
+            if (!start.isBefore(to) || start.toInstant().isAfter(last)) {
+                return;
+            }
+            ZonedDateTime end = start.plus(duration);
+            if (end.isAfter(from) && !overrides.containsKey(start.toInstant())) {
+                entries.add(new CalendarEntryDTO(null, series.getId(), start, series.getTitle(),
+                        series.getDescription(), series.getType(), null, start, end));
+            }
+        }
+    }
+
+    private static CalendarEntryDTO changedOccurrence(SchedulingOccurrenceOverride override) {
+        SchedulingSeries series = override.getSeries();
+        ZonedDateTime originalStart = override.getOriginalStartAt().withZoneSameInstant(ZoneId.of(series.getZone()));
+        ZonedDateTime start = override.getStartAt() != null ? override.getStartAt() : originalStart;
+        ZonedDateTime end = override.getEndAt() != null
+                ? override.getEndAt()
+                : originalStart.plusMinutes(series.getDurationMinutes());
+        return new CalendarEntryDTO(null, series.getId(), originalStart,
+                override.getTitle() != null ? override.getTitle() : series.getTitle(),
+                override.getDescription() != null ? override.getDescription() : series.getDescription(),
+                series.getType(), null, start, end);
+    }
+}
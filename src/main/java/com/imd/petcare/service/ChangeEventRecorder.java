@@ -0,0 +1,66 @@
+package com.imd.petcare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imd.petcare.dto.EntityDTO;
+import com.imd.petcare.model.BaseEntity;
+import com.imd.petcare.model.ChangeEvent;
+import com.imd.petcare.model.enums.ChangeOperation;
+import com.imd.petcare.repository.ChangeEventRepository;
+import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes entity changes to the {@code change_event} outbox table.
+ *
+ * Events are inserted in the transaction of the change itself, so an event exists if and only if the change
+ * was committed. They are published later by the {@link ChangeEventRelay}.
+ */
+@Component
+public class ChangeEventRecorder {
+
+    private final ChangeEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public ChangeEventRecorder(ChangeEventRepository repository,
+                               ObjectMapper objectMapper,
+                               @Value("${petcare.change-feed.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records a change of the given entity in the current transaction.
+     *
+     * @param operation the kind of change
+     * @param entity    the changed entity, carrying its ID
+     * @param ownerId   the ID of the user the entity belongs to, or null if it belongs to no user
+     * @param payload   the state of the entity after the change, or null for a deletion
+     * @throws IllegalStateException if the payload cannot be serialized
+     *
+     * A payload implementing EntityDTO is serialized through toResponse(), so it holds the same fields
+     * as the API responses.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(ChangeOperation operation, BaseEntity entity, Long ownerId, Object payload) {
+        if (!enabled) {
+            return;
+        }
+
+        String json = null;
+        if (payload != null) {
+            try {
+                json = objectMapper.writeValueAsString(payload instanceof EntityDTO dto ? dto.toResponse() : payload);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize the change of " + entity.getId(), e);
+            }
+        }
+
+        repository.save(new ChangeEvent(Hibernate.getClass(entity).getSimpleName(), entity.getId(), operation,
+                ownerId, json));
+    }
+}
@@ -0,0 +1,126 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.ChangeEventDTO;
+import com.imd.petcare.model.ChangeEvent;
+import com.imd.petcare.repository.ChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background relay publishing the events written to the {@code change_event} outbox.
+ *
+ * Each poll takes a batch of unpublished events in the order they were recorded and assigns them the next
+ * sequence numbers, which makes them visible in the change feed. Event IDs come from a pooled sequence and
+ * are not in commit order, so the feed is ordered by these sequence numbers instead: a transaction-scoped
+ * advisory lock lets a single instance assign them at a time, and an event committed late simply gets a
+ * later number. Once the batch is committed it is also published as a {@link Published} application event
+ * for in-process listeners. Published events are counted in the {@code petcare.change-feed.published} meter.
+ */
+@Component
+public class ChangeEventRelay {
+
+    /**
+     * The advisory lock key held by the instance assigning sequence numbers.
+     */
+    private static final long RELAY_LOCK_KEY = 0x7065_7463_6172_6501L;
+
+    private final Logger logger = LoggerFactory.getLogger(ChangeEventRelay.class);
+
+    private final ChangeEventRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter published;
+    private final int batchSize;
+    private final Duration retention;
+
+    public ChangeEventRelay(ChangeEventRepository repository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock,
+                            MeterRegistry registry,
+                            @Value("${petcare.change-feed.batch-size:500}") int batchSize,
+                            @Value("${petcare.change-feed.retention:30d}") Duration retention) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.published = Counter.builder("petcare.change-feed.published")
+                .description("Change events published to the change feed")
+                .register(registry);
+    }
+
+    /**
+     * Publishes the recorded events, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${petcare.change-feed.relay-interval:PT0.5S}")
+    public void relay() {
+        try {
+            List<ChangeEventDTO> batch;
+            do {
+                batch = transactionTemplate.execute(status -> publishBatch());
+                if (batch != null && !batch.isEmpty()) {
+                    published.increment(batch.size());
+                    eventPublisher.publishEvent(new Published(batch));
+                }
+            } while (batch != null && batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Change event relay failed; it will be retried on the next poll.", e);
+        }
+    }
+
+    /**
+     * Deletes the events that were published longer ago than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${petcare.change-feed.purge-interval:PT1H}")
+    public void purge() {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.deletePublishedBefore(ZonedDateTime.now(clock).minus(retention)));
+    }
+
+    private List<ChangeEventDTO> publishBatch() {
+        if (!repository.tryAdvisoryLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+
+        List<ChangeEvent> pending = repository.findUnpublished(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        long sequence = repository.findLastSequence();
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        List<ChangeEventDTO> batch = new ArrayList<>(pending.size());
+        for (ChangeEvent event : pending) {
+            event.setSequence(++sequence);
+            event.setPublishedAt(now);
+            batch.add(ChangeEventDTO.of(event));
+        }
+        return batch;
+    }
+
+    /**
+     * A batch of events that has just been published, in sequence order.
+     *
+     * @param events the published events
+     */
+    public record Published(List<ChangeEventDTO> events) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.ChangeEventDTO;
+import com.imd.petcare.dto.ChangeFeedDTO;
+import com.imd.petcare.model.ChangeEvent;
+import com.imd.petcare.repository.ChangeEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service class reading the change feed, the published entity changes ordered by sequence number.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final ChangeEventRepository repository;
+    private final int maxLimit;
+
+    public ChangeFeedService(ChangeEventRepository repository,
+                             @Value("${petcare.change-feed.max-page-size:1000}") int maxLimit) {
+        this.repository = repository;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Reads the changes published after the given sequence number.
+     *
+     * @param entityType the entity type to read, e.g. Scheduling, or null for every type
+     * @param after      the last sequence number already read, 0 to read from the oldest retained change
+     * @param limit      the maximum number of changes to return, capped by petcare.change-feed.max-page-size
+     * @return the next changes, in sequence order
+     *
+     * One more change than requested is read to tell whether the client has caught up with the feed.
+     */
+    public ChangeFeedDTO read(String entityType, long after, int limit) {
+        int size = Math.clamp(limit, 1, maxLimit);
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<ChangeEvent> events = entityType == null || entityType.isBlank()
+                ? repository.findPublishedAfter(after, page)
+                : repository.findPublishedAfter(entityType, after, page);
+
+        boolean hasMore = events.size() > size;
+        List<ChangeEventDTO> changes = events.stream().limit(size).map(ChangeEventDTO::of).toList();
+        long lastSequence = changes.isEmpty() ? after : changes.getLast().sequence();
+        return new ChangeFeedDTO(changes, lastSequence, hasMore);
+    }
+}
@@ -0,0 +1,135 @@
+package com.imd.petcare.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.imd.petcare.dto.EntityDTO;
+import com.imd.petcare.model.BaseEntity;
+import com.imd.petcare.utils.exception.ConversionException;
+import com.imd.petcare.utils.export.CsvRecordWriter;
+import com.imd.petcare.utils.export.ExportFormat;
+import jakarta.persistence.EntityManager;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting every entity managed by a {@link GenericService}.
+ *
+ * Entities are read through a database cursor and each row is mapped and written straight to the
+ * output stream, so memory usage does not grow with the number of exported rows.
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Number of rows written between two persistence context clears and output flushes.
+     */
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+    private final ObjectWriter objectWriter;
+
+    public ExportService(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all active entities of the given service to the output stream.
+     *
+     * @param service the service whose repository and mapper are used
+     * @param format  the output format
+     * @param out     the stream to write to; it is flushed but not closed
+     * @param <E>     the type of the exported entities
+     * @param <DTO>   the type of the DTOs written for each entity
+     * @throws IOException if writing to the output stream fails
+     *
+     * Rows are written as their response DTO, so sensitive fields cleared by
+     * {@link EntityDTO#toResponse()} are never exported. The persistence context is cleared
+     * periodically so that entities already written can be garbage collected.
+     */
+    @Transactional(readOnly = true)
+    public <E extends BaseEntity, DTO extends EntityDTO> void export(GenericService<E, DTO> service,
+                                                                      ExportFormat format,
+                                                                      OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == ExportFormat.CSV
+                ? csvRows(resolveDtoType(service), writer)
+                : ndjsonRows(writer);
+
+        try (Stream<E> entities = service.getRepository().streamAllByOrderByIdAsc()) {
+            Iterator<E> iterator = entities.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                rows.write(service.getDtoMapper().toDto(iterator.next()).toResponse());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    rows.flush();
+                }
+            }
+        }
+        rows.flush();
+    }
+
+    private RowWriter csvRows(Class<? extends Record> dtoType, Writer writer) throws IOException {
+        CsvRecordWriter csv = new CsvRecordWriter(dtoType, writer);
+        csv.writeHeader();
+        return new RowWriter() {
+            @Override
+            public void write(EntityDTO row) throws IOException {
+                csv.write((Record) row);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private RowWriter ndjsonRows(Writer writer) throws IOException {
+        JsonGenerator generator = objectWriter.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(EntityDTO row) throws IOException {
+                objectWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Record> resolveDtoType(GenericService<?, ?> service) {
+        Class<?>[] types = GenericTypeResolver.resolveTypeArguments(ClassUtils.getUserClass(service), GenericService.class);
+        if (types == null || !types[1].isRecord()) {
+            throw new ConversionException("Não foi possível determinar as colunas da exportação CSV.");
+        }
+        return (Class<? extends Record>) types[1];
+    }
+
+    private interface RowWriter {
+
+        void write(EntityDTO row) throws IOException;
+
+        void flush() throws IOException;
+    }
+}
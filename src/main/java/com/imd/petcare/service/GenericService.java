@@ -2,12 +2,16 @@ package com.imd.petcare.service;
 
 import com.imd.petcare.mappers.DtoMapper;
 import com.imd.petcare.model.BaseEntity;
+import com.imd.petcare.model.enums.ChangeOperation;
 import com.imd.petcare.repository.GenericRepository;
+import com.imd.petcare.utils.exception.ConcurrentUpdateException;
 import com.imd.petcare.utils.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.ZonedDateTime;
+
 /**
  * Generic service interface for managing entities and DTOs.
  *
@@ -31,6 +35,23 @@ public interface GenericService<E extends BaseEntity, DTO> {
      */
     DtoMapper<E, DTO> getDtoMapper();
 
+    /**
+     * Gets the recorder writing the changes made by this service to the change feed outbox.
+     *
+     * @return The change event recorder.
+     */
+    ChangeEventRecorder getChangeEventRecorder();
+
+    /**
+     * Gets the ID of the user an entity belongs to, recorded with its change events.
+     *
+     * @param entity The entity.
+     * @return The ID of the owner, or null if the entity belongs to no user.
+     */
+    default Long getOwnerId(E entity) {
+        return null;
+    }
+
     /**
      * Retrieves all entities using pagination.
      *
@@ -61,11 +82,15 @@ public interface GenericService<E extends BaseEntity, DTO> {
      *
      * @param dto The DTO representing the entity to be created.
      * @return The DTO representing the created entity.
+     *
+     * The change is recorded in the change feed outbox in the same transaction.
      */
     default DTO create(DTO dto) {
         E entity = getDtoMapper().toEntity(dto);
         validateBeforeSave(entity);
-        return getDtoMapper().toDto(getRepository().save(entity));
+        DTO created = getDtoMapper().toDto(getRepository().save(entity));
+        getChangeEventRecorder().record(ChangeOperation.CREATED, entity, getOwnerId(entity), created);
+        return created;
     }
 
     /**
@@ -74,28 +99,58 @@ public interface GenericService<E extends BaseEntity, DTO> {
      * @param id  The ID of the entity to be updated.
      * @param dto The DTO representing the updated entity.
      * @return The DTO representing the updated entity.
+     *
+     * The change is recorded in the change feed outbox in the same transaction.
      */
     default DTO update(Long id, DTO dto) {
 
-        getRepository().findById(id).orElseThrow(() -> new ResourceNotFoundException("Id não encontrado: " + id));
-
         E updatedEntity = getDtoMapper().toEntity(dto);
         updatedEntity.setId(id);
         validateBeforeUpdate(updatedEntity);
-        getRepository().save(updatedEntity);
 
-        return getDtoMapper().toDto(getRepository().save(updatedEntity));
+        DTO updated = getDtoMapper().toDto(updateIfVersionMatches(updatedEntity));
+        getChangeEventRecorder().record(ChangeOperation.UPDATED, updatedEntity, getOwnerId(updatedEntity), updated);
+        return updated;
+    }
+
+    /**
+     * Writes a detached entity with a single conditional update guarded by its version.
+     *
+     * @param entity the entity carrying the ID, the version read by the client and the new state
+     * @return the same entity, with its version incremented to match the stored row
+     * @throws ResourceNotFoundException if the ID is not found.
+     * @throws ConcurrentUpdateException if the entity was modified since the client read it.
+     *
+     * The entity is not reselected on the success path; the existence check only runs
+     * when no row was updated, to tell a missing entity apart from a stale version.
+     */
+    default E updateIfVersionMatches(E entity) {
+        entity.setUpdatedAt(ZonedDateTime.now());
+
+        if (getRepository().updateIfVersionMatches(entity) == 0) {
+            if (getRepository().existsById(entity.getId())) {
+                throw new ConcurrentUpdateException("A entidade " + entity.getId()
+                        + " foi alterada por outra requisição. Recarregue os dados e tente novamente.");
+            }
+            throw new ResourceNotFoundException("Id não encontrado: " + entity.getId());
+        }
+
+        entity.setVersion(entity.getVersion() + 1);
+        return entity;
     }
 
     /**
      * Deletes an entity by its ID.
      *
      * @param id The ID of the entity to be deleted.
+     *
+     * The entity is soft-deleted and the deletion is recorded in the change feed outbox in the same transaction.
      */
     default void deleteById(Long id) {
         E entity = getRepository().findById(id).orElseThrow(() -> new ResourceNotFoundException("Id não encontrado: " + id));
         entity.setActive(false);
         getRepository().save(entity);
+        getChangeEventRecorder().record(ChangeOperation.DELETED, entity, getOwnerId(entity), null);
     }
 
     default void validateBeforeSave(E entity) {
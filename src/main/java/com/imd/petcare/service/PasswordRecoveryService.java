@@ -0,0 +1,158 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.model.MailOutboxMessage;
+import com.imd.petcare.model.RecoveryToken;
+import com.imd.petcare.model.enums.MailType;
+import com.imd.petcare.repository.MailOutboxRepository;
+import com.imd.petcare.repository.RecoveryTokenRepository;
+import com.imd.petcare.repository.RefreshTokenRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.service.mail.OutgoingMail;
+import com.imd.petcare.utils.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Service class for the forgot-password and reset-password flow.
+ *
+ * A recovery request only queues a mail in the outbox, whether or not the email belongs to an account, so the
+ * request does the same work in both cases and its response time reveals nothing. The MailOutboxWorker later
+ * calls {@link #prepareRecoveryMail} to look the account up, issue the token and render the mail. Tokens are
+ * 256-bit random values; only their SHA-256 hash is stored, so the table alone cannot be used to reset a
+ * password.
+ */
+@Service
+public class PasswordRecoveryService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final UserRepository userRepository;
+    private final RecoveryTokenRepository recoveryTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Clock clock;
+    private final String resetUrl;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a new PasswordRecoveryService with the provided dependencies.
+     *
+     * @param userRepository          the repository for managing user data
+     * @param recoveryTokenRepository the repository for managing recovery tokens
+     * @param refreshTokenRepository  the repository for managing refresh tokens
+     * @param mailOutboxRepository    the outbox the recovery mails are queued in
+     * @param passwordEncoder         the password encoder for encrypting passwords
+     * @param clock                   the application clock
+     * @param spaHost                 the address of the front end, where the reset link points to
+     */
+    public PasswordRecoveryService(UserRepository userRepository,
+                                   RecoveryTokenRepository recoveryTokenRepository,
+                                   RefreshTokenRepository refreshTokenRepository,
+                                   MailOutboxRepository mailOutboxRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   Clock clock,
+                                   @Value("${spa.host}") String spaHost) {
+        this.userRepository = userRepository;
+        this.recoveryTokenRepository = recoveryTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.clock = clock;
+        this.resetUrl = spaHost + "/reset-password?token=";
+    }
+
+    /**
+     * Queues a password recovery mail for the given email.
+     *
+     * @param email the email the user typed
+     * @throws BusinessException if the email is blank
+     *
+     * No account lookup happens here: the mail is discarded by the worker if no user has the email.
+     */
+    @Transactional
+    public void requestRecovery(String email) {
+        if (email == null || email.isBlank()) {
+            throw new BusinessException("Email inválido.", HttpStatus.BAD_REQUEST);
+        }
+        mailOutboxRepository.save(new MailOutboxMessage(MailType.PASSWORD_RECOVERY, email.trim(), ZonedDateTime.now(clock)));
+    }
+
+    /**
+     * Issues a recovery token for the user with the given email and renders the mail carrying it.
+     *
+     * @param email the recipient of the queued mail
+     * @return the mail to send, or empty if no user has the email
+     *
+     * Tokens issued earlier to the same user are invalidated. Called by the MailOutboxWorker for each claimed
+     * message; the token is committed in a transaction of its own, so a failure here only affects this mail.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<OutgoingMail> prepareRecoveryMail(String email) {
+        return userRepository.findByEmail(email).map(user -> {
+            recoveryTokenRepository.updateIsUsedByUserId(user.getId());
+
+            byte[] bytes = new byte[TOKEN_BYTES];
+            random.nextBytes(bytes);
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+            recoveryTokenRepository.save(new RecoveryToken(hash(token), user));
+
+            return new OutgoingMail(
+                    user.getEmail(),
+                    "PetCare - Recuperação de senha",
+                    "Olá, " + user.getPerson().getName() + ".\n\n"
+                            + "Para redefinir sua senha, acesse o link abaixo nos próximos minutos:\n"
+                            + resetUrl + token + "\n\n"
+                            + "Se você não pediu a recuperação, ignore este email.");
+        });
+    }
+
+    /**
+     * Sets a new password for the user the recovery token was issued to.
+     *
+     * @param token    the token received by mail
+     * @param password the new password
+     * @throws BusinessException if the token is unknown, used or expired, or the password is blank
+     *
+     * The recovery tokens and the refresh tokens of the user are invalidated, so that sessions opened with
+     * the old password cannot be renewed.
+     */
+    @Transactional
+    public void resetPassword(String token, String password) {
+        if (password == null || password.isBlank()) {
+            throw new BusinessException("A nova senha é obrigatória.", HttpStatus.BAD_REQUEST);
+        }
+        RecoveryToken recoveryToken = Optional.ofNullable(token)
+                .flatMap(value -> recoveryTokenRepository.findByToken(hash(value)))
+                .filter(RecoveryToken::isValid)
+                .orElseThrow(() -> new BusinessException("Token de recuperação inválido ou expirado!", HttpStatus.BAD_REQUEST));
+
+        long userId = recoveryToken.getUser().getId();
+        userRepository.updatePasswordById(userId, passwordEncoder.encode(password), ZonedDateTime.now(clock));
+        recoveryTokenRepository.updateIsUsedByUserId(userId);
+        refreshTokenRepository.updateIsUsedByUserId(userId);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
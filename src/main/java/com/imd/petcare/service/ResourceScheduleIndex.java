@@ -0,0 +1,297 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.utils.collection.IntervalIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jctools.maps.NonBlockingHashMapLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the periods booked on each resource (doctor or groomer), answering overlap checks
+ * without a query.
+ *
+ * Each resource has an {@link IntervalIndex} of its appointments ending after the horizon, warmed from the
+ * database at startup and rebuilt periodically. Committed creations, moves and deletions are applied right
+ * after the commit. Appointments written by other instances are only picked up by the next rebuild, so the
+ * index is a filter, not the authority: when it finds no overlap the write proceeds, and the exclusion
+ * constraint of the partition still rejects a real one at commit; when it finds an overlap, a query confirms it
+ * and a stale entry is dropped. Periods starting before the horizon, and every check made before the first build
+ * completes, go to the database. The exclusion constraints do not see overlaps across partitions, so the
+ * SchedulingService does not ask the index about periods around the start of a year, and queries instead.
+ *
+ * Checks are counted in {@code petcare.scheduling-index.checks}, tagged by result (free, conflict, stale or
+ * database); the number of indexed appointments and the rebuild time are exported too.
+ */
+@Service
+public class ResourceScheduleIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(ResourceScheduleIndex.class);
+
+    private final SchedulingRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration horizon;
+    private final Timer rebuildTimer;
+    private final Counter free;
+    private final Counter conflict;
+    private final Counter stale;
+    private final Counter database;
+
+    private volatile State state;
+
+    /**
+     * Changes committed while a rebuild reads the database, replayed on the new state before it is published.
+     * Guarded by this.
+     */
+    private List<Slot> pending;
+
+    public ResourceScheduleIndex(SchedulingRepository repository,
+                                 PlatformTransactionManager transactionManager,
+                                 Clock clock,
+                                 MeterRegistry registry,
+                                 @Value("${petcare.scheduling-index.horizon:1d}") Duration horizon) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.clock = clock;
+        this.horizon = horizon;
+        this.rebuildTimer = Timer.builder("petcare.scheduling-index.rebuild")
+                .description("Time taken to rebuild the resource schedule index from the database")
+                .register(registry);
+        this.free = counter(registry, "free");
+        this.conflict = counter(registry, "conflict");
+        this.stale = counter(registry, "stale");
+        this.database = counter(registry, "database");
+        Gauge.builder("petcare.scheduling-index.size", this, index -> index.state != null ? index.state.slots.size() : 0)
+                .description("Appointments held in the resource schedule index")
+                .register(registry);
+    }
+
+    /**
+     * Tells whether a resource has an appointment overlapping the given period.
+     *
+     * @param resourceId the ID of the resource
+     * @param start      the start of the period
+     * @param end        the end of the period, exclusive
+     * @param excludeId  the ID of the scheduling being moved, or 0 for a new one
+     * @return true if an appointment of the resource overlaps the period
+     */
+    public boolean hasConflict(long resourceId, ZonedDateTime start, ZonedDateTime end, long excludeId) {
+        State current = state;
+        long startMillis = start.toInstant().toEpochMilli();
+        if (current == null || startMillis < current.from) {
+            database.increment();
+            return repository.existsOverlap(resourceId, start, end, excludeId);
+        }
+
+        IntervalIndex index = current.byResource.get(resourceId);
+        long found = index != null
+                ? index.findOverlap(startMillis, end.toInstant().toEpochMilli(), excludeId)
+                : -1;
+        if (found < 0) {
+            free.increment();
+            return false;
+        }
+        if (repository.existsOverlap(resourceId, start, end, excludeId)) {
+            conflict.increment();
+            return true;
+        }
+        stale.increment();
+        apply(new Slot(found, 0, 0, 0));
+        return false;
+    }
+
+    /**
+     * Returns the index of a resource, for read-only range scans.
+     *
+     * @param resourceId the ID of the resource
+     * @return the index of the resource, an empty index if it has no appointment, or null before the first
+     * build completes
+     */
+    public IntervalIndex get(long resourceId) {
+        State current = state;
+        if (current == null) {
+            return null;
+        }
+        IntervalIndex index = current.byResource.get(resourceId);
+        return index != null ? index : new IntervalIndex();
+    }
+
+    /**
+     * Returns the earliest instant covered by the index, or Long.MAX_VALUE before the first build completes.
+     *
+     * @return the horizon of the index, in epoch milliseconds
+     */
+    public long coveredFrom() {
+        State current = state;
+        return current != null ? current.from : Long.MAX_VALUE;
+    }
+
+    /**
+     * Records the period booked by a scheduling once the current transaction commits.
+     *
+     * @param id         the ID of the scheduling
+     * @param resourceId the ID of its resource, or null if it books none
+     * @param start      its start, or null
+     * @param end        its end, or null
+     */
+    public void putAfterCommit(long id, Long resourceId, ZonedDateTime start, ZonedDateTime end) {
+        Slot slot = resourceId != null && start != null && end != null
+                ? new Slot(id, resourceId, start.toInstant().toEpochMilli(), end.toInstant().toEpochMilli())
+                : new Slot(id, 0, 0, 0);
+        afterCommit(slot);
+    }
+
+    /**
+     * Frees the period booked by a scheduling once the current transaction commits.
+     *
+     * @param id the ID of the deleted scheduling
+     */
+    public void removeAfterCommit(long id) {
+        afterCommit(new Slot(id, 0, 0, 0));
+    }
+
+    /**
+     * Rebuilds the index from the database: at startup, then periodically to pick up the appointments written
+     * by other instances and move the horizon forward.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${petcare.scheduling-index.rebuild-interval:PT15M}")
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            rebuildTimer.record(() -> {
+                ZonedDateTime from = ZonedDateTime.now(clock).minus(horizon);
+                State next = new State(from.toInstant().toEpochMilli());
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<SchedulingRepository.BookedInterval> rows = repository.streamBookedIntervals(from)) {
+                        load(next, rows.iterator());
+                    }
+                });
+                synchronized (this) {
+                    pending.forEach(slot -> apply(next, slot));
+                    state = next;
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not rebuild the resource schedule index; keeping the previous one.", e);
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    private static void load(State next, Iterator<SchedulingRepository.BookedInterval> rows) {
+        long resourceId = -1;
+        IntervalIndex.Builder builder = null;
+        while (rows.hasNext()) {
+            SchedulingRepository.BookedInterval row = rows.next();
+            if (row.getResourceId() != resourceId) {
+                if (builder != null) {
+                    next.byResource.put(resourceId, builder.build());
+                }
+                resourceId = row.getResourceId();
+                builder = new IntervalIndex.Builder();
+            }
+            Slot slot = new Slot(row.getId(), resourceId, row.getStartAt().toInstant().toEpochMilli(),
+                    row.getEndAt().toInstant().toEpochMilli());
+            builder.add(slot.id, slot.start, slot.end);
+            next.slots.put(slot.id, slot);
+        }
+        if (builder != null) {
+            next.byResource.put(resourceId, builder.build());
+        }
+    }
+
+    private void afterCommit(Slot slot) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(slot);
+                }
+            });
+        } else {
+            apply(slot);
+        }
+    }
+
+    private synchronized void apply(Slot slot) {
+        if (pending != null) {
+            pending.add(slot);
+        }
+        if (state != null) {
+            apply(state, slot);
+        }
+    }
+
+    /**
+     * Replaces the period booked by the scheduling of the slot; a slot without resource only removes it.
+     */
+    private static void apply(State target, Slot slot) {
+        Slot previous = target.slots.remove(slot.id);
+        if (previous != null) {
+            IntervalIndex index = target.byResource.get(previous.resourceId);
+            if (index != null) {
+                index.remove(previous.id, previous.start);
+            }
+        }
+        if (slot.resourceId != 0 && slot.end > target.from) {
+            target.slots.put(slot.id, slot);
+            IntervalIndex index = target.byResource.get(slot.resourceId);
+            if (index == null) {
+                index = new IntervalIndex();
+                target.byResource.put(slot.resourceId, index);
+            }
+            index.put(slot.id, slot.start, slot.end);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("petcare.scheduling-index.checks")
+                .description("Overlap checks answered through the resource schedule index")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * The period a scheduling books on a resource; a resource ID of 0 means none.
+     */
+    private record Slot(long id, long resourceId, long start, long end) {
+    }
+
+    /**
+     * The indexes of all resources and the slot of each indexed scheduling, covering appointments ending
+     * after {@code from}.
+     */
+    private static final class State {
+        private final long from;
+        private final NonBlockingHashMapLong<IntervalIndex> byResource = new NonBlockingHashMapLong<>();
+        private final NonBlockingHashMapLong<Slot> slots = new NonBlockingHashMapLong<>();
+
+        State(long from) {
+            this.from = from;
+        }
+    }
+}
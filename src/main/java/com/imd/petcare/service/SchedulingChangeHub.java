@@ -0,0 +1,315 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.ChangeEventDTO;
+import com.imd.petcare.model.ChangeEvent;
+import com.imd.petcare.repository.ChangeEventRepository;
+import com.imd.petcare.utils.exception.ServiceOverloadedException;
+import com.imd.petcare.utils.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of Scheduling changes to the Server-Sent Events streams of their owners.
+ *
+ * The hub follows the change feed: batches published by the {@link ChangeEventRelay} of this instance are
+ * dispatched as soon as they are committed, and a poll of the feed picks up the batches relayed by other
+ * instances. Each event is offered to the subscribers of the user owning the scheduling.
+ *
+ * Every subscriber has a bounded queue drained by its own virtual thread, which writes to the asynchronous
+ * response and sends a keep-alive comment when idle; no servlet thread is held by an open stream. A subscriber
+ * whose queue is full is evicted by closing its stream. Nothing is lost: the browser reconnects with the
+ * Last-Event-ID header and the missed events are replayed from the feed, or a reset event asks the client to
+ * reload its list when too many were missed.
+ *
+ * Open streams are reported by the {@code petcare.scheduling-stream.subscribers} gauge, and delivered events
+ * and evictions by the {@code petcare.scheduling-stream.events} meter.
+ */
+@Component
+public class SchedulingChangeHub {
+
+    private static final String ENTITY_TYPE = "Scheduling";
+    private static final String CONNECTIONS_MESSAGE = "Limite de conexões de acompanhamento excedido.";
+    private static final Duration CONNECTIONS_RETRY_AFTER = Duration.ofMinutes(1);
+    private static final String OVERLOADED_MESSAGE = "Serviço sobrecarregado. Tente novamente em alguns instantes.";
+
+    private final Logger logger = LoggerFactory.getLogger(SchedulingChangeHub.class);
+
+    private final ChangeEventRepository repository;
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerUser;
+    private final int replayLimit;
+    private final int pollBatchSize;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Counter delivered;
+    private final Counter evicted;
+
+    /**
+     * The last sequence number dispatched, or -1 before the first poll.
+     */
+    private volatile long lastSequence = -1;
+
+    public SchedulingChangeHub(ChangeEventRepository repository,
+                               MeterRegistry registry,
+                               @Value("${petcare.scheduling-stream.queue-capacity:256}") int queueCapacity,
+                               @Value("${petcare.scheduling-stream.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${petcare.scheduling-stream.max-subscribers-per-user:5}") int maxSubscribersPerUser,
+                               @Value("${petcare.scheduling-stream.replay-limit:500}") int replayLimit,
+                               @Value("${petcare.scheduling-stream.poll-batch-size:500}") int pollBatchSize,
+                               @Value("${petcare.scheduling-stream.timeout:30m}") Duration timeout,
+                               @Value("${petcare.scheduling-stream.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.repository = repository;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.replayLimit = replayLimit;
+        this.pollBatchSize = pollBatchSize;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+
+        Gauge.builder("petcare.scheduling-stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open scheduling change streams")
+                .register(registry);
+        this.delivered = Counter.builder("petcare.scheduling-stream.events")
+                .description("Scheduling changes offered to the open streams")
+                .tag("result", "delivered")
+                .register(registry);
+        this.evicted = Counter.builder("petcare.scheduling-stream.events")
+                .description("Scheduling changes offered to the open streams")
+                .tag("result", "evicted")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream of the changes made to the schedulings of a user.
+     *
+     * @param userId      the ID of the subscribing user
+     * @param lastEventId the sequence number of the last event received before a reconnection, or null
+     * @return the SseEmitter to return from the controller
+     * @throws TooManyRequestsException   if the user already has the maximum number of open streams
+     * @throws ServiceOverloadedException if the instance already has the maximum number of open streams
+     *
+     * The subscriber is registered before the missed events are read, so no event can fall between the
+     * replay and the live stream; events received twice are skipped by sequence number.
+     */
+    public SseEmitter subscribe(long userId, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE);
+        }
+
+        Subscriber subscriber = new Subscriber(userId, lastEventId, new SseEmitter(timeout.toMillis()));
+        try {
+            subscribers.compute(userId, (id, set) -> {
+                Set<Subscriber> current = set != null ? set : new CopyOnWriteArraySet<>();
+                if (current.size() >= maxSubscribersPerUser) {
+                    throw new TooManyRequestsException(CONNECTIONS_MESSAGE, CONNECTIONS_RETRY_AFTER);
+                }
+                current.add(subscriber);
+                return current;
+            });
+        } catch (TooManyRequestsException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        Thread.ofVirtual().name("scheduling-stream-" + userId).start(subscriber::run);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Dispatches a batch published by the relay of this instance, unless an earlier batch relayed by another
+     * instance has not been dispatched yet; the next poll then dispatches both in order.
+     *
+     * @param published the batch that has just been published
+     */
+    @EventListener
+    public synchronized void onPublished(ChangeEventRelay.Published published) {
+        if (lastSequence >= 0 && published.events().getFirst().sequence() == lastSequence + 1) {
+            dispatch(published.events());
+        }
+    }
+
+    /**
+     * Reads the feed from the last dispatched sequence number and dispatches what was missed. Without any
+     * subscriber, only the position in the feed is moved forward.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${petcare.scheduling-stream.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            if (lastSequence < 0 || subscriberCount.get() == 0) {
+                long last = repository.findLastSequence();
+                synchronized (this) {
+                    lastSequence = Math.max(lastSequence, last);
+                }
+                return;
+            }
+
+            List<ChangeEvent> events;
+            do {
+                long after;
+                synchronized (this) {
+                    after = lastSequence;
+                }
+                events = repository.findPublishedAfter(after, PageRequest.of(0, pollBatchSize));
+                if (!events.isEmpty()) {
+                    List<ChangeEventDTO> batch = events.stream().map(ChangeEventDTO::of).toList();
+                    synchronized (this) {
+                        dispatch(batch);
+                    }
+                }
+            } while (events.size() == pollBatchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Scheduling change poll failed; it will be retried.", e);
+        }
+    }
+
+    /**
+     * Completes every open stream on shutdown, so that browsers reconnect to another instance.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void dispatch(List<ChangeEventDTO> events) {
+        for (ChangeEventDTO event : events) {
+            if (event.sequence() <= lastSequence) {
+                continue;
+            }
+            lastSequence = event.sequence();
+            if (!ENTITY_TYPE.equals(event.entityType()) || event.ownerId() == null) {
+                continue;
+            }
+
+            Set<Subscriber> owners = subscribers.get(event.ownerId());
+            if (owners == null) {
+                continue;
+            }
+            for (Subscriber subscriber : owners) {
+                if (subscriber.queue.offer(event)) {
+                    delivered.increment();
+                } else {
+                    evicted.increment();
+                    logger.debug("Evicting the slow scheduling stream of user {}", subscriber.userId);
+                    subscriber.close();
+                    subscriber.emitter.complete();
+                }
+            }
+        }
+    }
+
+    /**
+     * An open stream and the queue of events waiting to be written to it.
+     */
+    private final class Subscriber {
+        private final long userId;
+        private final Long lastEventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEventDTO> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread thread;
+        private long lastSent;
+
+        Subscriber(long userId, Long lastEventId, SseEmitter emitter) {
+            this.userId = userId;
+            this.lastEventId = lastEventId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Replays the missed events, then writes the queued ones as they arrive until the stream is closed.
+         */
+        void run() {
+            thread = Thread.currentThread();
+            try {
+                if (lastEventId != null) {
+                    replay();
+                }
+                long heartbeatMillis = heartbeatInterval.toMillis();
+                while (!closed.get()) {
+                    ChangeEventDTO event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else if (event.sequence() > lastSent) {
+                        send(event);
+                    }
+                }
+            } catch (IOException | IllegalStateException | InterruptedException e) {
+                close();
+            } catch (RuntimeException e) {
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void replay() throws IOException {
+            List<ChangeEvent> missed = repository.findPublishedAfterForOwner(ENTITY_TYPE, userId, lastEventId,
+                    PageRequest.of(0, replayLimit + 1));
+            if (missed.size() > replayLimit) {
+                emitter.send(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                return;
+            }
+            lastSent = lastEventId;
+            for (ChangeEvent event : missed) {
+                send(ChangeEventDTO.of(event));
+            }
+        }
+
+        private void send(ChangeEventDTO event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .name("change")
+                    .data(event, MediaType.APPLICATION_JSON));
+            lastSent = event.sequence();
+        }
+
+        /**
+         * Unregisters the subscriber and stops its thread; called once the stream is completed, timed out,
+         * broken or evicted.
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.computeIfPresent(userId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            subscriberCount.decrementAndGet();
+            Thread current = thread;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+    }
+}
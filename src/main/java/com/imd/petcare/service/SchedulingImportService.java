@@ -0,0 +1,302 @@
+package com.imd.petcare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.imd.petcare.dto.ImportErrorDTO;
+import com.imd.petcare.dto.ImportReportDTO;
+import com.imd.petcare.dto.SchedulingDTO;
+import com.imd.petcare.dto.ValidationGroups;
+import com.imd.petcare.mappers.SchedulingDTOMapper;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.enums.ChangeOperation;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.service.reminder.ReminderScheduler;
+import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ConversionException;
+import com.imd.petcare.utils.export.CsvRecordReader;
+import com.imd.petcare.utils.export.ExportFormat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for importing schedulings in bulk from CSV or NDJSON files.
+ *
+ * The file is parsed one record at a time. Valid records are grouped in chunks of {@link #CHUNK_SIZE}:
+ * the users referenced by a chunk are resolved with a single query and the chunk is inserted through
+ * JDBC batches in its own transaction. Reading stops while a chunk is written, so the upload is only
+ * consumed as fast as the database accepts rows, and memory usage does not depend on the file size.
+ */
+@Service
+public class SchedulingImportService {
+
+    /**
+     * Number of records resolved and inserted together; a multiple of hibernate.jdbc.batch_size.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Maximum number of errors listed in the report; further errors are only counted.
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final SchedulingRepository repository;
+    private final UserRepository userRepository;
+    private final SchedulingDTOMapper mapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader ndjsonReader;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final ReminderScheduler reminderScheduler;
+
+    public SchedulingImportService(SchedulingRepository repository,
+                                   UserRepository userRepository,
+                                   SchedulingDTOMapper mapper,
+                                   Validator validator,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   ChangeEventRecorder changeEventRecorder,
+                                   ReminderScheduler reminderScheduler) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.mapper = mapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ndjsonReader = objectMapper.readerFor(SchedulingDTO.class);
+        this.changeEventRecorder = changeEventRecorder;
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    /**
+     * Imports the schedulings contained in the given input.
+     *
+     * @param format the format of the input
+     * @param in     the input to read; it is not closed
+     * @return a report with the number of imported records and the errors of the rejected ones
+     * @throws IOException if reading the input fails
+     *
+     * CSV files must start with a header whose column names match the SchedulingDTO fields, as produced
+     * by the export endpoint. IDs and versions in the file are ignored: every record creates a new scheduling.
+     */
+    public ImportReportDTO importSchedulings(ExportFormat format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RecordSource source = format == ExportFormat.CSV ? csvSource(reader) : ndjsonSource(reader);
+        Report report = new Report();
+        List<ParsedRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        ParsedRecord parsed;
+        while ((parsed = source.next()) != null) {
+            report.records++;
+            String error = parsed.error() != null ? parsed.error() : validate(parsed.dto());
+            if (error != null) {
+                report.reject(parsed.line(), error);
+                continue;
+            }
+            chunk.add(parsed);
+            if (chunk.size() == CHUNK_SIZE) {
+                save(chunk, report);
+                chunk.clear();
+            }
+        }
+        save(chunk, report);
+
+        return report.toDto();
+    }
+
+    private String validate(SchedulingDTO dto) {
+        Set<ConstraintViolation<SchedulingDTO>> violations = validator.validate(dto, Default.class, ValidationGroups.Import.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Resolves the users of a chunk with one query and inserts its valid records, and their change events,
+     * in one transaction. Records are checked for a start and a period as the SchedulingService does; the
+     * availability of their resource is left to the exclusion constraint of their partition, except around the
+     * start of a year, where the appointments of another partition are checked by a query. Records of one chunk
+     * are not checked against each other there.
+     */
+    private void save(List<ParsedRecord> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        chunk.forEach(parsed -> userIds.add(parsed.dto().userId()));
+        Set<Long> existingUserIds = userRepository.findExistingIds(userIds);
+
+        List<ParsedRecord> accepted = new ArrayList<>(chunk.size());
+        List<Scheduling> entities = new ArrayList<>(chunk.size());
+        for (ParsedRecord parsed : chunk) {
+            if (!existingUserIds.contains(parsed.dto().userId())) {
+                report.reject(parsed.line(), "userId: Usuário não encontrado: " + parsed.dto().userId());
+                continue;
+            }
+            Scheduling entity = mapper.toEntity(asNew(parsed.dto()));
+            try {
+                SchedulingService.checkPeriod(entity);
+            } catch (BusinessException e) {
+                report.reject(parsed.line(), e.getMessage());
+                continue;
+            }
+            if (entity.getResource() != null && entity.getEndAt() != null
+                    && SchedulingService.spansPartitions(entity.getStartAt(), entity.getEndAt())
+                    && repository.existsOverlap(entity.getResource().getId(), entity.getStartAt(),
+                    entity.getEndAt(), 0)) {
+                report.reject(parsed.line(), "O responsável já possui um agendamento nesse horário.");
+                continue;
+            }
+            accepted.add(parsed);
+            entity.setNextReminderAt(reminderScheduler.nextReminderAt(entity.getStartAt()));
+            entities.add(entity);
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(entities);
+                entities.forEach(entity -> {
+                    changeEventRecorder.record(ChangeOperation.CREATED, entity, entity.getUser().getId(),
+                            mapper.toDto(entity));
+                    reminderScheduler.scheduleAfterCommit(entity);
+                });
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.imported += entities.size();
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            String message = "Erro ao salvar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            accepted.forEach(parsed -> report.reject(parsed.line(), message));
+        }
+    }
+
+    private static SchedulingDTO asNew(SchedulingDTO dto) {
+        return new SchedulingDTO(null, dto.userId(), dto.title(), dto.description(),
+                dto.month(), dto.day(), dto.year(), dto.type(), dto.resourceId(), dto.startAt(), dto.endAt(), null);
+    }
+
+    private RecordSource csvSource(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+
+        return () -> {
+            List<String> cells;
+            try {
+                do {
+                    cells = csv.next();
+                } while (cells != null && cells.size() == 1 && cells.get(0).isBlank());
+            } catch (ConversionException e) {
+                return new ParsedRecord(csv.getRecordLine(), null, e.getMessage());
+            }
+            if (cells == null) {
+                return null;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < cells.size(); i++) {
+                if (!cells.get(i).isEmpty()) {
+                    values.put(header.get(i).trim(), cells.get(i));
+                }
+            }
+            try {
+                return new ParsedRecord(csv.getRecordLine(), objectMapper.convertValue(values, SchedulingDTO.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRecord(csv.getRecordLine(), null, describe(e));
+            }
+        };
+    }
+
+    private RecordSource ndjsonSource(BufferedReader reader) {
+        long[] line = {0};
+        return () -> {
+            String text;
+            do {
+                text = reader.readLine();
+                line[0]++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+
+            try {
+                return new ParsedRecord(line[0], ndjsonReader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRecord(line[0], null, describe(e));
+            }
+        };
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof JsonProcessingException)) {
+            cause = cause.getCause();
+        }
+        return cause != null ? ((JsonProcessingException) cause).getOriginalMessage() : e.getMessage();
+    }
+
+    /**
+     * Supplies parsed records one at a time, returning null at the end of the input.
+     */
+    private interface RecordSource {
+        ParsedRecord next() throws IOException;
+    }
+
+    private record ParsedRecord(long line, SchedulingDTO dto, String error) {
+    }
+
+    private static final class Report {
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long records;
+        private long imported;
+        private long rejected;
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDTO(line, message));
+            }
+        }
+
+        ImportReportDTO toDto() {
+            return new ImportReportDTO(records, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.repository.GenericRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Background job maintaining the yearly partitions of the {@code scheduling} table, which is partitioned by
+ * year of {@code start_at} by {@code db/schema-extensions.sql}.
+ *
+ * Each run creates the partitions of the current year and of the configured number of years ahead, so that
+ * new appointments never land in the default partition. Partitions of years older than
+ * {@code petcare.scheduling-partition.archive-after-years} are then detached and archived, which removes
+ * them from every query of the application: in {@code table} mode they are moved to the
+ * {@code scheduling_archive} schema, and in {@code file} mode they are exported as gzipped JSON lines to
+ * {@code scheduling-<year>.ndjson.gz} in the archive directory before being dropped.
+ *
+ * Every step runs in its own transaction holding an advisory lock, so that a single instance maintains the
+ * partitions at a time, and a step interrupted midway is resumed by the next run. Archived partitions are
+ * counted in the {@code petcare.scheduling-partition.archived} meter, tagged by mode.
+ */
+@Component
+public class SchedulingPartitionMaintenance {
+
+    /**
+     * The advisory lock key held by the instance maintaining the partitions.
+     */
+    private static final long MAINTENANCE_LOCK_KEY = 0x7065_7463_6172_6502L;
+
+    private static final String ARCHIVE_SCHEMA = "scheduling_archive";
+
+    private final Logger logger = LoggerFactory.getLogger(SchedulingPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int yearsAhead;
+    private final int archiveAfterYears;
+    private final ArchiveMode archiveMode;
+    private final Path archiveDirectory;
+    private final Counter archived;
+
+    public SchedulingPartitionMaintenance(DataSource dataSource,
+                                          PlatformTransactionManager transactionManager,
+                                          Clock clock,
+                                          MeterRegistry registry,
+                                          @Value("${petcare.scheduling-partition.years-ahead:1}") int yearsAhead,
+                                          @Value("${petcare.scheduling-partition.archive-after-years:2}") int archiveAfterYears,
+                                          @Value("${petcare.scheduling-partition.archive-mode:table}") ArchiveMode archiveMode,
+                                          @Value("${petcare.scheduling-partition.archive-dir:archive}") String archiveDirectory) {
+        if (archiveAfterYears < 1) {
+            throw new IllegalArgumentException("petcare.scheduling-partition.archive-after-years must be at least 1");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Integer.parseInt(GenericRepository.STREAM_FETCH_SIZE));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.yearsAhead = Math.max(yearsAhead, 0);
+        this.archiveAfterYears = archiveAfterYears;
+        this.archiveMode = archiveMode;
+        this.archiveDirectory = Path.of(archiveDirectory);
+        this.archived = Counter.builder("petcare.scheduling-partition.archived")
+                .description("Yearly partitions of the scheduling table archived")
+                .tag("mode", archiveMode.name().toLowerCase())
+                .register(registry);
+    }
+
+    /**
+     * Creates the upcoming partitions and archives the old ones.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${petcare.scheduling-partition.maintenance-interval:PT24H}")
+    public void maintain() {
+        try {
+            int currentYear = clock.instant().atZone(ZoneOffset.UTC).getYear();
+            if (!inLockedTransaction(() -> createPartitions(currentYear))) {
+                return;
+            }
+            int cutoffYear = currentYear - archiveAfterYears;
+            inLockedTransaction(() -> detachPartitions(cutoffYear));
+            for (int year : findPartitionYears(false)) {
+                if (year < cutoffYear) {
+                    inLockedTransaction(() -> archive(year));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Scheduling partition maintenance failed; it will be retried on the next run.", e);
+        }
+    }
+
+    /**
+     * Creates the partitions of the current and the coming years that do not exist yet.
+     *
+     * @return false if the scheduling table is not partitioned, in which case there is nothing to maintain
+     */
+    private boolean createPartitions(int currentYear) {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('scheduling')", String.class);
+        if (!"p".equals(kind)) {
+            logger.warn("The scheduling table is not partitioned; partition maintenance is skipped.");
+            return false;
+        }
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            jdbcTemplate.execute("SELECT scheduling_ensure_partition(" + year + ")");
+        }
+        return true;
+    }
+
+    private boolean detachPartitions(int cutoffYear) {
+        for (int year : findPartitionYears(true)) {
+            if (year < cutoffYear) {
+                jdbcTemplate.execute("ALTER TABLE scheduling DETACH PARTITION " + partitionName(year));
+                logger.info("Detached partition {} of the scheduling table.", partitionName(year));
+            }
+        }
+        return true;
+    }
+
+    private boolean archive(int year) {
+        String partition = partitionName(year);
+        if (archiveMode == ArchiveMode.TABLE) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, ARCHIVE_SCHEMA + "." + partition);
+            if (Boolean.TRUE.equals(exists)) {
+                logger.warn("{} already exists in the {} schema; {} is left detached.", partition, ARCHIVE_SCHEMA,
+                        partition);
+                return true;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        } else {
+            export(partition, archiveDirectory.resolve("scheduling-" + year + ".ndjson.gz"));
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        archived.increment();
+        logger.info("Archived partition {} of the scheduling table to {}.", partition,
+                archiveMode == ArchiveMode.TABLE ? ARCHIVE_SCHEMA : archiveDirectory);
+        return true;
+    }
+
+    /**
+     * Writes the rows of a detached partition to a gzipped file, one JSON object per line in ID order. The
+     * file is written under a temporary name and moved into place once complete.
+     */
+    private void export(String partition, Path file) {
+        try {
+            Files.createDirectories(archiveDirectory);
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8))) {
+                jdbcTemplate.query("SELECT row_to_json(t)::text FROM " + partition + " t ORDER BY t.id", rs -> {
+                    try {
+                        writer.write(rs.getString(1));
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export " + partition + " to " + file, e);
+        }
+    }
+
+    /**
+     * Lists the years of the yearly partitions in the current schema.
+     *
+     * @param attached true for the partitions attached to the scheduling table, false for the detached ones
+     */
+    private List<Integer> findPartitionYears(boolean attached) {
+        return jdbcTemplate.queryForList(
+                "SELECT substr(c.relname, 13)::int FROM pg_class c "
+                        + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE n.nspname = current_schema() AND c.relkind = 'r' "
+                        + "AND c.relname ~ '^scheduling_y[0-9]{4}$' "
+                        + "AND EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid) = ? "
+                        + "ORDER BY 1",
+                Integer.class, attached);
+    }
+
+    /**
+     * Runs a step in a transaction, provided no other instance is maintaining the partitions.
+     *
+     * @return the result of the step, or false if the lock is held elsewhere
+     */
+    private boolean inLockedTransaction(Step step) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY);
+            return Boolean.TRUE.equals(locked) && step.run();
+        }));
+    }
+
+    private static String partitionName(int year) {
+        return "scheduling_y" + year;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        boolean run();
+    }
+
+    /**
+     * Where detached partitions go.
+     */
+    public enum ArchiveMode {
+        /**
+         * Moved to the {@code scheduling_archive} schema, where they can still be queried directly.
+         */
+        TABLE,
+        /**
+         * Exported to a gzipped JSON lines file in the archive directory, then dropped.
+         */
+        FILE
+    }
+}
@@ -0,0 +1,227 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.OccurrenceOverrideDTO;
+import com.imd.petcare.dto.SchedulingSeriesDTO;
+import com.imd.petcare.mappers.DtoMapper;
+import com.imd.petcare.mappers.SchedulingSeriesDTOMapper;
+import com.imd.petcare.model.SchedulingOccurrenceOverride;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.model.enums.ChangeOperation;
+import com.imd.petcare.repository.GenericRepository;
+import com.imd.petcare.repository.SchedulingOccurrenceOverrideRepository;
+import com.imd.petcare.repository.SchedulingSeriesRepository;
+import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ResourceNotFoundException;
+import com.imd.petcare.utils.recurrence.RecurrenceRule;
+import jakarta.transaction.Transactional;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+
+/**
+ * Service class for managing recurring appointments and the changes made to their occurrences.
+ *
+ * A series is validated and normalized when it is written: its rule is stored in canonical form, its first
+ * occurrence is expressed in its zone (the zone of the application by default), and the start of its last
+ * occurrence is computed once from COUNT or UNTIL. Occurrences themselves are only expanded by the
+ * {@link CalendarService}.
+ */
+@Transactional
+@Service
+public class SchedulingSeriesService implements GenericService<SchedulingSeries, SchedulingSeriesDTO> {
+    private final SchedulingSeriesRepository repository;
+    private final SchedulingOccurrenceOverrideRepository overrideRepository;
+    private final SchedulingSeriesDTOMapper mapper;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final ZoneId defaultZone;
+
+    public SchedulingSeriesService(SchedulingSeriesRepository repository,
+                                   SchedulingOccurrenceOverrideRepository overrideRepository,
+                                   SchedulingSeriesDTOMapper mapper,
+                                   ChangeEventRecorder changeEventRecorder,
+                                   Clock clock) {
+        this.repository = repository;
+        this.overrideRepository = overrideRepository;
+        this.mapper = mapper;
+        this.changeEventRecorder = changeEventRecorder;
+        this.defaultZone = clock.getZone();
+    }
+
+    @Override
+    public GenericRepository<SchedulingSeries> getRepository() {
+        return this.repository;
+    }
+
+    @Override
+    public DtoMapper<SchedulingSeries, SchedulingSeriesDTO> getDtoMapper() {
+        return this.mapper;
+    }
+
+    @Override
+    public ChangeEventRecorder getChangeEventRecorder() {
+        return this.changeEventRecorder;
+    }
+
+    @Override
+    public Long getOwnerId(SchedulingSeries entity) {
+        return entity.getUser() != null ? entity.getUser().getId() : null;
+    }
+
+    @Override
+    public void validateBeforeSave(SchedulingSeries entity) {
+        normalize(entity);
+    }
+
+    @Override
+    public void validateBeforeUpdate(SchedulingSeries entity) {
+        normalize(entity);
+    }
+
+    /**
+     * Changes or cancels one occurrence of a series.
+     *
+     * @param seriesId the ID of the series
+     * @param dto      the occurrence, identified by its original start, and its new values
+     * @return the stored change
+     * @throws ResourceNotFoundException if the series does not exist
+     * @throws BusinessException if the original start is not an occurrence of the series, or if the new
+     * period is incomplete or empty
+     *
+     * Changing the same occurrence again replaces the previous change. The series is recorded as updated in
+     * the change feed, so that clients showing the calendar reload it.
+     */
+    public OccurrenceOverrideDTO overrideOccurrence(Long seriesId, OccurrenceOverrideDTO dto) {
+        SchedulingSeries series = findSeries(seriesId);
+        checkOccurrence(series, dto.originalStartAt());
+        if ((dto.startAt() == null) != (dto.endAt() == null)) {
+            throw new BusinessException("Informe o início e o fim da ocorrência.", HttpStatus.BAD_REQUEST);
+        }
+        if (dto.startAt() != null && !dto.endAt().isAfter(dto.startAt())) {
+            throw new BusinessException("O fim da ocorrência deve ser posterior ao início.", HttpStatus.BAD_REQUEST);
+        }
+
+        SchedulingOccurrenceOverride override = overrideRepository
+                .findBySeriesIdAndOriginalStartAt(seriesId, dto.originalStartAt())
+                .orElseGet(SchedulingOccurrenceOverride::new);
+        override.setSeries(series);
+        override.setOriginalStartAt(dto.originalStartAt());
+        override.setActive(true);
+        override.setCancelled(dto.cancelled());
+        override.setStartAt(dto.startAt());
+        override.setEndAt(dto.endAt());
+        override.setTitle(dto.title());
+        override.setDescription(dto.description());
+        overrideRepository.save(override);
+
+        changeEventRecorder.record(ChangeOperation.UPDATED, series, getOwnerId(series), mapper.toDto(series));
+        return dto;
+    }
+
+    /**
+     * Restores an occurrence of a series to the values given by the series.
+     *
+     * @param seriesId        the ID of the series
+     * @param originalStartAt the start of the occurrence according to the recurrence rule
+     * @throws ResourceNotFoundException if the series does not exist or the occurrence was not changed
+     */
+    public void restoreOccurrence(Long seriesId, ZonedDateTime originalStartAt) {
+        SchedulingSeries series = findSeries(seriesId);
+        SchedulingOccurrenceOverride override = overrideRepository
+                .findBySeriesIdAndOriginalStartAt(seriesId, originalStartAt)
+                .filter(SchedulingOccurrenceOverride::isActive)
+                .orElseThrow(() -> new ResourceNotFoundException("Ocorrência alterada não encontrada: " + originalStartAt));
+        override.setActive(false);
+        overrideRepository.save(override);
+
+        changeEventRecorder.record(ChangeOperation.UPDATED, series, getOwnerId(series), mapper.toDto(series));
+    }
+
+    private SchedulingSeries findSeries(Long id) {
+        return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Id não encontrado: " + id));
+    }
+
+    /**
+     * Validates the rule and the zone of a series and computes the start of its last occurrence.
+     *
+     * @param entity the series about to be written
+     * @throws BusinessException if the rule or the zone is invalid
+     */
+    private void normalize(SchedulingSeries entity) {
+        ZoneId zone;
+        RecurrenceRule rule;
+        try {
+            zone = entity.getZone() == null || entity.getZone().isBlank() ? defaultZone : ZoneId.of(entity.getZone());
+        } catch (DateTimeException e) {
+            throw new BusinessException("Fuso horário inválido: " + entity.getZone(), HttpStatus.BAD_REQUEST);
+        }
+        try {
+            rule = RecurrenceRule.parse(entity.getRecurrence());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Regra de recorrência inválida: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        ZonedDateTime start = entity.getStartAt().withZoneSameInstant(zone);
+        entity.setZone(zone.getId());
+        entity.setStartAt(start);
+        entity.setRecurrence(rule.toString());
+        entity.setRecursUntil(lastStart(rule, start));
+    }
+
+    /**
+     * Returns the start of the last occurrence of a series, or null if it recurs forever. With COUNT, the
+     * occurrences are iterated once here, so that reads never need to count from the first one.
+     */
+    private static ZonedDateTime lastStart(RecurrenceRule rule, ZonedDateTime start) {
+        if (rule.getCount() != null) {
+            LocalDateTime local = start.toLocalDateTime();
+            Iterator<LocalDateTime> occurrences = rule.occurrences(local, local);
+            LocalDateTime last = local;
+            for (int i = 0; i < rule.getCount() && occurrences.hasNext(); i++) {
+                last = occurrences.next();
+            }
+            return last.atZone(start.getZone());
+        }
+        Instant until = rule.getUntil(start.getZone());
+        if (until == null) {
+            return null;
+        }
+        if (until.isBefore(start.toInstant())) {
+            throw new BusinessException("O fim da recorrência deve ser posterior à primeira ocorrência.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        return until.atZone(start.getZone());
+    }
+
+    /**
+     * Checks that an instant is the start of an occurrence of a series, according to its rule.
+     */
+    private static void checkOccurrence(SchedulingSeries series, ZonedDateTime originalStartAt) {
+        RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrence());
+        ZoneId zone = ZoneId.of(series.getZone());
+        Instant original = originalStartAt.toInstant();
+        boolean found = false;
+        if (series.getRecursUntil() == null || !original.isAfter(series.getRecursUntil().toInstant())) {
+            // starts one hour earlier, in case the occurrence was shifted by a daylight saving gap
+            Iterator<LocalDateTime> occurrences = rule.occurrences(
+                    series.getStartAt().withZoneSameInstant(zone).toLocalDateTime(),
+                    originalStartAt.withZoneSameInstant(zone).toLocalDateTime().minusHours(1));
+            while (occurrences.hasNext()) {
+                Instant next = occurrences.next().atZone(zone).toInstant();
+                if (!next.isBefore(original)) {
+                    found = next.equals(original);
+                    break;
+                }
+            }
+        }
+        if (!found) {
+            throw new BusinessException("O horário informado não é uma ocorrência da série.", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
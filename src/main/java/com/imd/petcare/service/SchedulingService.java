@@ -4,20 +4,41 @@ import com.imd.petcare.dto.SchedulingDTO;
 import com.imd.petcare.mappers.DtoMapper;
 import com.imd.petcare.mappers.SchedulingDTOMapper;
 import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.enums.Role;
 import com.imd.petcare.repository.GenericRepository;
 import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.service.reminder.ReminderScheduler;
+import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ResourceNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 @Transactional
 @Service
 public class SchedulingService implements GenericService<Scheduling, SchedulingDTO>{
     private final SchedulingRepository repository;
     private final SchedulingDTOMapper mapper;
+    private final ChangeEventRecorder changeEventRecorder;
+    private final UserRepository userRepository;
+    private final ResourceScheduleIndex scheduleIndex;
+    private final ReminderScheduler reminderScheduler;
 
-    public SchedulingService(SchedulingRepository repository, SchedulingDTOMapper mapper) {
+    public SchedulingService(SchedulingRepository repository, SchedulingDTOMapper mapper,
+                             ChangeEventRecorder changeEventRecorder, UserRepository userRepository,
+                             ResourceScheduleIndex scheduleIndex, ReminderScheduler reminderScheduler) {
         this.repository = repository;
         this.mapper = mapper;
+        this.changeEventRecorder = changeEventRecorder;
+        this.userRepository = userRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.reminderScheduler = reminderScheduler;
     }
 
     @Override
@@ -29,4 +50,155 @@ public class SchedulingService implements GenericService<Scheduling, SchedulingD
     public DtoMapper<Scheduling, SchedulingDTO> getDtoMapper() {
         return this.mapper;
     }
+
+    @Override
+    public ChangeEventRecorder getChangeEventRecorder() {
+        return this.changeEventRecorder;
+    }
+
+    @Override
+    public Long getOwnerId(Scheduling entity) {
+        return entity.getUser() != null ? entity.getUser().getId() : null;
+    }
+
+    @Override
+    public SchedulingDTO create(SchedulingDTO dto) {
+        SchedulingDTO created = GenericService.super.create(dto);
+        if (created.resourceId() != null) {
+            // Surfaces an exclusion constraint violation here rather than as a failed commit.
+            repository.flush();
+        }
+        scheduleIndex.putAfterCommit(created.id(), created.resourceId(), created.startAt(), created.endAt());
+        return created;
+    }
+
+    @Override
+    public SchedulingDTO update(Long id, SchedulingDTO dto) {
+        SchedulingDTO updated = GenericService.super.update(id, dto);
+        scheduleIndex.putAfterCommit(id, updated.resourceId(), updated.startAt(), updated.endAt());
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        GenericService.super.deleteById(id);
+        repository.updateNextReminder(id, null);
+        scheduleIndex.removeAfterCommit(id);
+    }
+
+    @Override
+    public void validateBeforeSave(Scheduling entity) {
+        checkAvailability(entity);
+        scheduleReminder(entity);
+    }
+
+    @Override
+    public void validateBeforeUpdate(Scheduling entity) {
+        checkAvailability(entity);
+        scheduleReminder(entity);
+    }
+
+    /**
+     * Sets the first reminder of a scheduling still ahead, and hands it to the ReminderScheduler once the
+     * write commits. Moving an appointment therefore resets its reminders.
+     */
+    private void scheduleReminder(Scheduling entity) {
+        entity.setNextReminderAt(reminderScheduler.nextReminderAt(entity.getStartAt()));
+        reminderScheduler.scheduleAfterCommit(entity);
+    }
+
+    /**
+     * Checks the period and the resource of a scheduling.
+     *
+     * @param entity the scheduling about to be written
+     * @throws BusinessException if the period is missing, empty or too long, if the resource is not a doctor or
+     * groomer, or if the resource already has an appointment overlapping the period
+     * @throws ResourceNotFoundException if the resource does not exist
+     *
+     * The end is optional, but a scheduling booked with a resource needs one. The overlap check runs against
+     * the in-memory ResourceScheduleIndex, and the exclusion constraint of each partition of the scheduling table
+     * backs it up. That constraint only sees the appointments starting in its year, so a period that may overlap
+     * an appointment of another partition is checked by a query instead, holding the lock of the resource until
+     * the write commits.
+     */
+    private void checkAvailability(Scheduling entity) {
+        checkPeriod(entity);
+        if (entity.getResource() == null) {
+            return;
+        }
+        if (entity.getEndAt() == null) {
+            throw new BusinessException("Informe o início e o fim do agendamento.", HttpStatus.BAD_REQUEST);
+        }
+
+        long resourceId = entity.getResource().getId();
+        Role role = userRepository.findRoleById(resourceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Responsável não encontrado: " + resourceId));
+        if (role != Role.DOCTOR && role != Role.GROOMERS) {
+            throw new BusinessException("O responsável deve ser um médico ou um tratador.", HttpStatus.BAD_REQUEST);
+        }
+        boolean conflict;
+        if (spansPartitions(entity.getStartAt(), entity.getEndAt())) {
+            repository.lockResource(resourceId);
+            conflict = repository.existsOverlap(resourceId, entity.getStartAt(), entity.getEndAt(), entity.getId());
+        } else {
+            conflict = scheduleIndex.hasConflict(resourceId, entity.getStartAt(), entity.getEndAt(), entity.getId());
+        }
+        if (conflict) {
+            throw new BusinessException("O responsável já possui um agendamento nesse horário.", HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Tells whether a period may overlap appointments starting in another year (UTC) than it does, which the
+     * exclusion constraint of its partition does not see: an overlapping appointment starts at most
+     * {@link SchedulingRepository#MAX_DURATION} before the period and before its end, so this is the case when a
+     * year begins in between.
+     *
+     * @param start the start of the period
+     * @param end   the end of the period, exclusive
+     * @return true if the period, extended back by the longest appointment, spans two years
+     */
+    static boolean spansPartitions(ZonedDateTime start, ZonedDateTime end) {
+        int firstYear = start.minus(SchedulingRepository.MAX_DURATION).withZoneSameInstant(ZoneOffset.UTC).getYear();
+        int lastYear = end.minusNanos(1).withZoneSameInstant(ZoneOffset.UTC).getYear();
+        return firstYear != lastYear;
+    }
+
+    /**
+     * Completes the start of a scheduling and checks its period; shared with the SchedulingImportService.
+     *
+     * @param entity the scheduling about to be written
+     * @throws BusinessException if the scheduling has neither a start nor a valid date, or if its period is
+     * empty or longer than {@link SchedulingRepository#MAX_DURATION}
+     *
+     * The scheduling table is partitioned by start, which every scheduling therefore has: one given only a
+     * year, month and day starts at midnight (UTC) of that day.
+     */
+    static void checkPeriod(Scheduling entity) {
+        if (entity.getStartAt() == null) {
+            entity.setStartAt(startOfDay(entity));
+        }
+        if (entity.getEndAt() == null) {
+            return;
+        }
+        if (!entity.getEndAt().isAfter(entity.getStartAt())) {
+            throw new BusinessException("O fim do agendamento deve ser posterior ao início.", HttpStatus.BAD_REQUEST);
+        }
+        if (entity.getEndAt().isAfter(entity.getStartAt().plus(SchedulingRepository.MAX_DURATION))) {
+            throw new BusinessException("O agendamento deve durar no máximo "
+                    + SchedulingRepository.MAX_DURATION.toHours() + " horas.", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static ZonedDateTime startOfDay(Scheduling entity) {
+        if (entity.getYear() != null && entity.getMonth() != null && entity.getDay() != null) {
+            try {
+                return LocalDate.of(Math.toIntExact(entity.getYear()), Math.toIntExact(entity.getMonth()),
+                        Math.toIntExact(entity.getDay())).atStartOfDay(ZoneOffset.UTC);
+            } catch (DateTimeException | ArithmeticException e) {
+                // Reported below.
+            }
+        }
+        throw new BusinessException("Informe o início ou uma data válida do agendamento.", HttpStatus.BAD_REQUEST);
+    }
 }
@@ -0,0 +1,224 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.model.User;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.utils.collection.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over the normalized logins, emails and identifiers of all users, answering
+ * uniqueness checks that would otherwise always run a query.
+ *
+ * When the filter says a value is absent, the query is skipped; when it says the value may be present, the
+ * query decides. Values are normalized (trimmed and lower-cased) on both sides, which can only add positives.
+ * New values are added before they are written, and once more after the commit, so no check or rebuild can
+ * miss a stored value. Values replaced by an update stay in the filter as harmless false positives until the
+ * next rebuild, which streams the keys of all users into a fresh filter and swaps it in. The {@code @Where}
+ * clause of User excludes soft-deleted users from the uniqueness queries and from the rebuild, so the values
+ * of a deleted user are false positives too until then. Until the first build completes, every check goes to
+ * the database.
+ *
+ * Checks are counted in {@code petcare.user-keys.checks}, tagged by key and result (absent, present or
+ * false_positive); the observed and the expected false positive rates and the rebuild time are exported too.
+ */
+@Service
+public class UserKeyFilter {
+
+    /**
+     * The attribute a value belongs to.
+     */
+    public enum Key {
+        LOGIN, EMAIL, IDENTIFIER
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(UserKeyFilter.class);
+
+    private final UserRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final long maxBytes;
+    private final Timer rebuildTimer;
+    private final Map<Key, Counter> absent = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> present = new EnumMap<>(Key.class);
+    private final Map<Key, Counter> falsePositives = new EnumMap<>(Key.class);
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    public UserKeyFilter(UserRepository repository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry registry,
+                         @Value("${petcare.user-keys.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${petcare.user-keys.min-capacity:100000}") long minCapacity,
+                         @Value("${petcare.user-keys.max-size:16MB}") DataSize maxSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.maxBytes = maxSize.toBytes();
+
+        for (Key key : Key.values()) {
+            absent.put(key, counter(registry, key, "absent"));
+            present.put(key, counter(registry, key, "present"));
+            falsePositives.put(key, counter(registry, key, "false_positive"));
+        }
+        this.rebuildTimer = Timer.builder("petcare.user-keys.rebuild")
+                .description("Time taken to rebuild the user key filter from the database")
+                .register(registry);
+        Gauge.builder("petcare.user-keys.false-positive-rate", this, UserKeyFilter::observedFalsePositiveRate)
+                .description("Share of checks for unused values that still had to query the database")
+                .register(registry);
+        Gauge.builder("petcare.user-keys.expected-false-positive-rate", this,
+                        f -> f.filter != null ? f.filter.expectedFalsePositiveRate() : Double.NaN)
+                .description("False positive probability estimated from the filter's fill ratio")
+                .register(registry);
+        Gauge.builder("petcare.user-keys.size", this, f -> f.filter != null ? f.filter.sizeInBytes() : 0)
+                .description("Memory used by the user key filter")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Tells whether a value is used by a user, querying the database only if the filter cannot rule it out.
+     *
+     * @param key   the attribute the value belongs to
+     * @param value the value to look up
+     * @param query the uniqueness query to run when the value may be in use
+     * @return the result of the query, or false if the filter knows the value is unused
+     */
+    public boolean exists(Key key, String value, BooleanSupplier query) {
+        BloomFilter current = filter;
+        if (current != null && value != null && !current.mightContain(key.ordinal(), normalize(value))) {
+            absent.get(key).increment();
+            return false;
+        }
+        boolean exists = query.getAsBoolean();
+        if (current != null) {
+            (exists ? present : falsePositives).get(key).increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Adds the login, email and identifier of a user about to be inserted or updated.
+     *
+     * The values are added right away, so that checks running before the commit already see them, and again
+     * after the commit, so that a rebuild whose read started before the commit does not lose them.
+     *
+     * @param user the user being written
+     */
+    public void add(User user) {
+        String login = user.getLogin();
+        String email = user.getEmail();
+        String identifier = user.getPerson() != null ? user.getPerson().getIdentifier() : null;
+        add(login, email, identifier);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(login, email, identifier);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the database: at startup, then periodically to drop values no longer in use.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${petcare.user-keys.rebuild-interval:PT6H}")
+    public void rebuild() {
+        try {
+            rebuildTimer.record(() -> {
+                long users = repository.count();
+                BloomFilter next = BloomFilter.create(
+                        Math.max(minCapacity, users * Key.values().length * 2), falsePositiveRate, maxBytes);
+                // Set before reading, so values written while the database is read land in both filters.
+                building = next;
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<UserRepository.UniqueKeys> keys = repository.streamUniqueKeys()) {
+                        Iterator<UserRepository.UniqueKeys> iterator = keys.iterator();
+                        while (iterator.hasNext()) {
+                            UserRepository.UniqueKeys row = iterator.next();
+                            put(next, Key.LOGIN, row.getLogin());
+                            put(next, Key.EMAIL, row.getEmail());
+                            put(next, Key.IDENTIFIER, row.getIdentifier());
+                        }
+                    }
+                });
+                filter = next;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not rebuild the user key filter; keeping the previous one.", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private void add(String login, String email, String identifier) {
+        // Read building before filter: the rebuild publishes the new filter before clearing building.
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        if (next != null) {
+            put(next, login, email, identifier);
+        }
+        if (current != null && current != next) {
+            put(current, login, email, identifier);
+        }
+    }
+
+    private static void put(BloomFilter target, String login, String email, String identifier) {
+        put(target, Key.LOGIN, login);
+        put(target, Key.EMAIL, email);
+        put(target, Key.IDENTIFIER, identifier);
+    }
+
+    private static void put(BloomFilter target, Key key, String value) {
+        if (value != null) {
+            target.put(key.ordinal(), normalize(value));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositive = 0;
+        double negative = 0;
+        for (Key key : Key.values()) {
+            falsePositive += falsePositives.get(key).count();
+            negative += absent.get(key).count();
+        }
+        return falsePositive + negative == 0 ? 0 : falsePositive / (falsePositive + negative);
+    }
+
+    private static Counter counter(MeterRegistry registry, Key key, String result) {
+        return Counter.builder("petcare.user-keys.checks")
+                .description("Uniqueness checks answered through the user key filter")
+                .tag("key", key.name().toLowerCase(Locale.ROOT))
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -6,10 +6,13 @@ import com.imd.petcare.dto.UserDetailsDTO;
 import com.imd.petcare.mappers.DtoMapper;
 import com.imd.petcare.mappers.UserDTOMapper;
 import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.ChangeOperation;
 import com.imd.petcare.model.enums.Role;
 import com.imd.petcare.repository.GenericRepository;
 import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.service.UserKeyFilter.Key;
 import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ConcurrentUpdateException;
 import com.imd.petcare.utils.exception.ResourceNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
@@ -18,7 +21,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Service class for managing user entities, implementing GenericService for User entities and UserDTOs.
@@ -32,6 +34,8 @@ public class UserService implements GenericService<User, UserDTO> {
     private final UserDTOMapper mapper;
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final UserKeyFilter userKeyFilter;
+    private final ChangeEventRecorder changeEventRecorder;
 
     /**
      * Constructs a new UserService with the provided dependencies.
@@ -39,12 +43,17 @@ public class UserService implements GenericService<User, UserDTO> {
      * @param repository       the repository for managing user data
      * @param mapper           the mapper for converting between User entities and UserDTOs
      * @param passwordEncoder the password encoder for encrypting passwords
+     * @param userKeyFilter   the filter answering uniqueness checks for unused values without a query
+     * @param changeEventRecorder the recorder writing user changes to the change feed outbox
      */
-    public UserService(UserRepository repository, UserDTOMapper mapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository repository, UserDTOMapper mapper, PasswordEncoder passwordEncoder,
+                       UserKeyFilter userKeyFilter, ChangeEventRecorder changeEventRecorder) {
         this.repository = repository;
         this.userRepository = repository;
         this.mapper = mapper;
         this.passwordEncoder = passwordEncoder;
+        this.userKeyFilter = userKeyFilter;
+        this.changeEventRecorder = changeEventRecorder;
     }
 
     @Override
@@ -57,6 +66,16 @@ public class UserService implements GenericService<User, UserDTO> {
         return this.mapper;
     }
 
+    @Override
+    public ChangeEventRecorder getChangeEventRecorder() {
+        return this.changeEventRecorder;
+    }
+
+    @Override
+    public Long getOwnerId(User entity) {
+        return entity.getId();
+    }
+
     /**
      * Retrieves all roles available in the system.
      *
@@ -72,73 +91,92 @@ public class UserService implements GenericService<User, UserDTO> {
      * Updates a user with the specified ID using the provided UserDTO.
      *
      * @param id      the ID of the user to update
-     * @param userDTO the UserDTO containing updated user information
+     * @param userDTO the UserDTO containing updated user information and the version read by the client
      * @return the updated UserDTO
-     * @throws BusinessException if the ID in the DTO does not match the provided ID, or if the user does not exist
+     * @throws BusinessException if the ID in the DTO does not match the provided ID, or if the new data is not unique
+     * @throws ResourceNotFoundException if the user does not exist
+     * @throws ConcurrentUpdateException if the user was modified concurrently
+     *
+     * The user is not read before the update: uniqueness is checked against the other users and the
+     * row is written with a single statement guarded by its version. The password is never changed here.
      */
     @Override
     public UserDTO update(Long id, UserDTO userDTO) {
         if (id != userDTO.id()) {
             throw new BusinessException("O id não pode ser alterado!", HttpStatus.BAD_REQUEST);
         }
-        User userDb = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Id not found: " + id));
 
         User updatedEntity = getDtoMapper().toEntity(userDTO);
-
         updatedEntity.setId(id);
-        updatedEntity.getPerson().setId(userDb.getPerson().getId());
-        updatedEntity.setPassword(userDb.getPassword());
-        updatedEntity.setRole(userDTO.role());
 
-        checkIdentifierBeforeUpdate(userDb, updatedEntity);
-        checkLoginBeforeUpdate(userDb.getLogin(), updatedEntity.getLogin());
-        checkEmailBeforeUpdate(userDb.getEmail(), updatedEntity.getEmail());
+        validateBeforeUpdate(updatedEntity);
+
+        updateIfVersionMatches(updatedEntity);
+        updatedEntity.getPerson().setUpdatedAt(updatedEntity.getUpdatedAt());
+        userRepository.updatePersonByUserId(id, updatedEntity.getPerson());
 
-        return mapper.toDto(userRepository.save(updatedEntity));
+        UserDTO updated = mapper.toDto(updatedEntity);
+        changeEventRecorder.record(ChangeOperation.UPDATED, updatedEntity, id, updated);
+        return updated;
     }
 
     /**
-     * Checks if the login needs to be updated and validates it.
+     * Validates user data before updating, ensuring login, email and identifier are not used by another user.
+     * The new values are then registered in the user key filter, before they are written.
      *
-     * @param loginUserDb      the login from the database
-     * @param loginUpdatedUser the updated login
-     * @throws BusinessException if the updated login already exists in the database
+     * @param entity the user entity to validate
+     * @throws BusinessException if the user data is invalid
      */
-    public void checkLoginBeforeUpdate(String loginUserDb, String loginUpdatedUser) {
-        if (!Objects.equals(loginUserDb, loginUpdatedUser)) {
-            validateLogin(loginUpdatedUser);
-        }
+    @Override
+    public void validateBeforeUpdate(User entity) {
+        checkIdentifierBeforeUpdate(entity.getId(), entity.getPerson().getIdentifier());
+        checkLoginBeforeUpdate(entity.getId(), entity.getLogin());
+        checkEmailBeforeUpdate(entity.getId(), entity.getEmail());
+        userKeyFilter.add(entity);
     }
 
     /**
-     * Checks if the email needs to be updated and validates it.
+     * Validates that the login is not used by another user.
      *
-     * @param emailUserDb      the email from the database
-     * @param emailUpdatedUser the updated email
-     * @throws BusinessException if the updated email already exists in the database
+     * @param id    the ID of the user being updated
+     * @param login the updated login
+     * @throws BusinessException if another user already has the login
      */
-    public void checkEmailBeforeUpdate(String emailUserDb, String emailUpdatedUser) {
-        if (!Objects.equals(emailUserDb, emailUpdatedUser)) {
-            validateEmail(emailUpdatedUser);
+    public void checkLoginBeforeUpdate(long id, String login) {
+        if (userKeyFilter.exists(Key.LOGIN, login, () -> repository.existsByLoginAndIdNot(login, id))) {
+            throw new BusinessException(
+                    "Login inválido: " + login + ". Já existe um usuário cadastrado com esse identificador",
+                    HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Checks if the identifier needs to be updated and validates it.
+     * Validates that the email is not used by another user.
      *
-     * @param userDb      the user entity from the database
-     * @param updatedUser the updated user entity
-     * @throws BusinessException if the updated identifier already exists in the database
+     * @param id    the ID of the user being updated
+     * @param email the updated email
+     * @throws BusinessException if another user already has the email
      */
-    public void checkIdentifierBeforeUpdate(User userDb, User updatedUser) {
-
-        var changeIdentifier = !Objects.equals(
-                userDb.getPerson().getIdentifier(),
-                updatedUser.getPerson().getIdentifier());
+    public void checkEmailBeforeUpdate(long id, String email) {
+        if (userKeyFilter.exists(Key.EMAIL, email, () -> repository.existsPersonByEmailAndIdNot(email, id))) {
+            throw new BusinessException("Email inválido: " + email + ". Já existe um usuário cadastrado com esse email",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
 
-        if (changeIdentifier) {
-            validateIdentifier(updatedUser.getPerson().getIdentifier());
+    /**
+     * Validates that the identifier is not used by another user.
+     *
+     * @param id         the ID of the user being updated
+     * @param identifier the updated identifier
+     * @throws BusinessException if another user already has the identifier
+     */
+    public void checkIdentifierBeforeUpdate(long id, String identifier) {
+        if (userKeyFilter.exists(Key.IDENTIFIER, identifier,
+                () -> repository.existsPersonByIdentifierAndIdNot(identifier, id))) {
+            throw new BusinessException(
+                    "Identificador inválido: " + identifier + ". Já existe um usuário cadastrado com esse identificador",
+                    HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -149,7 +187,7 @@ public class UserService implements GenericService<User, UserDTO> {
      * @throws BusinessException if the login already exists in the database
      */
     public void validateLogin(String login) {
-        if (repository.existsByLogin(login)) {
+        if (userKeyFilter.exists(Key.LOGIN, login, () -> repository.existsByLogin(login))) {
             throw new BusinessException(
                     "Login inválido: " + login + ". Já existe um usuário cadastrado com esse identificador",
                     HttpStatus.BAD_REQUEST);
@@ -163,7 +201,7 @@ public class UserService implements GenericService<User, UserDTO> {
      * @throws BusinessException if the email already exists in the database
      */
     public void validateEmail(String email) {
-        if (repository.existsPersonByEmail(email)) {
+        if (userKeyFilter.exists(Key.EMAIL, email, () -> repository.existsPersonByEmail(email))) {
             throw new BusinessException("Email inválido: " + email + ". Já existe um usuário cadastrado com esse email",
                     HttpStatus.BAD_REQUEST);
         }
@@ -176,7 +214,7 @@ public class UserService implements GenericService<User, UserDTO> {
      * @throws BusinessException if the identifier already exists in the database
      */
     public void validateIdentifier(String identifier) {
-        if (repository.existsPersonByIdentifier(identifier)) {
+        if (userKeyFilter.exists(Key.IDENTIFIER, identifier, () -> repository.existsPersonByIdentifier(identifier))) {
             throw new BusinessException(
                     String.format("%s inválido: %s. Já existe um usuário cadastrado com esse identificador", identifier),
                     HttpStatus.BAD_REQUEST);
@@ -185,6 +223,7 @@ public class UserService implements GenericService<User, UserDTO> {
 
     /**
      * Validates user data before saving.
+     * The values are then registered in the user key filter, before they are written.
      *
      * @param entity the user entity to validate
      * @throws BusinessException if the user data is invalid
@@ -195,6 +234,7 @@ public class UserService implements GenericService<User, UserDTO> {
         validateIdentifier(entity.getPerson().getIdentifier());
         validateLogin(entity.getLogin());
         validateEmail(entity.getEmail());
+        userKeyFilter.add(entity);
     }
 
     /**
@@ -208,7 +248,7 @@ public class UserService implements GenericService<User, UserDTO> {
         if (email == null || email.trim().isEmpty()) {
             throw new BusinessException("Email is invalid.", HttpStatus.BAD_REQUEST);
         }
-        return repository.existsPersonByEmail(email);
+        return userKeyFilter.exists(Key.EMAIL, email, () -> repository.existsPersonByEmail(email));
     }
 
     /**
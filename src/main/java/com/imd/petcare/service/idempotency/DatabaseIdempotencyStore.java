@@ -0,0 +1,95 @@
+package com.imd.petcare.service.idempotency;
+
+import com.imd.petcare.model.IdempotencyRecord;
+import com.imd.petcare.repository.IdempotencyRecordRepository;
+import com.imd.petcare.utils.exception.BusinessException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps the reservations and the stored responses in the {@code idempotency_record} table, so that a
+ * request retried against another instance is recognized too.
+ *
+ * A key is reserved by inserting its record, the unique index on the key deciding between instances racing
+ * for it; a record that expired, because its response is past the retention or its request was abandoned,
+ * is taken over in place. Each operation runs in its own transaction, independent of the request's, so the
+ * response is stored only once the request has committed. Expired records are deleted periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    static final String IN_PROGRESS_MESSAGE = "Uma requisição com a mesma chave de idempotência ainda está em andamento.";
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository,
+                                    PlatformTransactionManager transactionManager,
+                                    Clock clock) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredResponse> reserve(String key, String fingerprint, Instant reservedUntil) {
+        try {
+            return transactionTemplate.execute(status -> {
+                ZonedDateTime expiresAt = ZonedDateTime.ofInstant(reservedUntil, clock.getZone());
+                IdempotencyRecord existing = repository.findForUpdate(key).orElse(null);
+                if (existing == null) {
+                    repository.saveAndFlush(new IdempotencyRecord(key, fingerprint, expiresAt));
+                    return Optional.<StoredResponse>empty();
+                }
+                if (existing.getExpiresAt().toInstant().isAfter(clock.instant())) {
+                    if (existing.getStatus() == null) {
+                        throw new BusinessException(IN_PROGRESS_MESSAGE, HttpStatus.CONFLICT);
+                    }
+                    return Optional.of(new StoredResponse(existing.getFingerprint(), existing.getStatus(),
+                            existing.getBody(), existing.getExpiresAt().toInstant()));
+                }
+                existing.setFingerprint(fingerprint);
+                existing.setStatus(null);
+                existing.setBody(null);
+                existing.setExpiresAt(expiresAt);
+                return Optional.<StoredResponse>empty();
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(IN_PROGRESS_MESSAGE, HttpStatus.CONFLICT);
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        transactionTemplate.executeWithoutResult(status -> repository.complete(key, response.status(),
+                response.body(), ZonedDateTime.ofInstant(response.expiresAt(), clock.getZone())));
+    }
+
+    @Override
+    public void release(String key) {
+        transactionTemplate.executeWithoutResult(status -> repository.release(key));
+    }
+
+    /**
+     * Deletes the records that expired.
+     */
+    @Scheduled(fixedDelayString = "${petcare.idempotency.purge-interval:PT1H}")
+    public void purge() {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.deleteExpiredBefore(ZonedDateTime.now(clock)));
+    }
+}
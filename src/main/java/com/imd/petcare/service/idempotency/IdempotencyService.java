@@ -0,0 +1,232 @@
+package com.imd.petcare.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imd.petcare.utils.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes the write endpoints safe to retry: a request sent with an {@code Idempotency-Key} header is executed
+ * once, and its repetitions are answered with the stored response instead of running it again.
+ *
+ * Keys are scoped to the authenticated user, by login, or to anonymous callers, and to the method and path of
+ * the request, then hashed. The request body is hashed too: repeating a key with a different body is rejected
+ * with a 422. Concurrent repetitions of a request still in progress on this instance wait for it and share
+ * its outcome, response or error; on another instance sharing the database store, they are rejected with a
+ * 409 until it completes. A request that fails is not stored, so that the client can retry it.
+ *
+ * Responses are kept by the {@link IdempotencyStore} for {@code petcare.idempotency.ttl}, as JSON, and
+ * replayed with the {@code Idempotent-Replayed} header. Outcomes are counted in the
+ * {@code petcare.idempotency.requests} meter, tagged by result (executed, replayed or collapsed).
+ */
+@Service
+public class IdempotencyService {
+
+    /**
+     * The request header carrying the key chosen by the client.
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * The response header marking a replayed response.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter collapsed;
+
+    /**
+     * The requests with a key in progress on this instance, by hashed key.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store,
+                              ObjectMapper objectMapper,
+                              Clock clock,
+                              MeterRegistry registry,
+                              @Value("${petcare.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${petcare.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.executed = counter(registry, "executed");
+        this.replayed = counter(registry, "replayed");
+        this.collapsed = counter(registry, "collapsed");
+    }
+
+    /**
+     * Executes a request once per key.
+     *
+     * @param key     the value of the {@code Idempotency-Key} header, or null to execute the request as is
+     * @param request the request body, compared with the body of the repetitions
+     * @param action  the execution of the request
+     * @param <T>     the type of the response body
+     * @return the response of the request, or the stored one if the key was already used
+     * @throws BusinessException if the key is invalid, was used with another body, or is held by a request
+     *                           still in progress elsewhere
+     *
+     * A replayed response carries the stored JSON body in place of a {@code T}; controllers return it as is.
+     */
+    public <T> ResponseEntity<T> execute(String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("A chave de idempotência deve ter entre 1 e " + MAX_KEY_LENGTH
+                    + " caracteres.", HttpStatus.BAD_REQUEST);
+        }
+
+        String scopedKey = scope(key);
+        String fingerprint = hash(serialize(request));
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, execution);
+        if (running != null) {
+            collapsed.increment();
+            return replay(await(running), fingerprint);
+        }
+
+        try {
+            Optional<StoredResponse> stored = store.reserve(scopedKey, fingerprint, clock.instant().plus(waitTimeout));
+            if (stored.isPresent()) {
+                execution.complete(stored.get());
+                replayed.increment();
+                return replay(stored.get(), fingerprint);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                store.release(scopedKey);
+                throw e;
+            }
+            StoredResponse result = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                    serialize(response.getBody()), clock.instant().plus(ttl));
+            try {
+                store.complete(scopedKey, result);
+            } catch (RuntimeException e) {
+                logger.warn("Could not store the response of an idempotent request; a retry will execute it again.", e);
+            }
+            execution.complete(result);
+            executed.increment();
+            return response;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, execution);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(DatabaseIdempotencyStore.IN_PROGRESS_MESSAGE, HttpStatus.CONFLICT);
+        } catch (TimeoutException e) {
+            throw new BusinessException(DatabaseIdempotencyStore.IN_PROGRESS_MESSAGE, HttpStatus.CONFLICT);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new BusinessException("A chave de idempotência já foi usada em outra requisição.",
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        try {
+            return ResponseEntity.status(stored.status())
+                    .header(REPLAYED_HEADER, "true")
+                    .body((T) objectMapper.readTree(stored.body()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response is not valid JSON", e);
+        }
+    }
+
+    /**
+     * Hashes a key together with the caller and the endpoint, so that the same key chosen by two clients,
+     * or sent to two endpoints, does not collide.
+     */
+    private static String scope(String key) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)
+                ? "user " + authentication.getName() : "anonymous";
+        String endpoint = "";
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            endpoint = request.getMethod() + " " + request.getRequestURI();
+        }
+        return hash(caller + "\n" + endpoint + "\n" + key);
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("petcare.idempotency.requests")
+                .description("Requests made with an Idempotency-Key header")
+                .tag("result", result)
+                .register(registry);
+    }
+}
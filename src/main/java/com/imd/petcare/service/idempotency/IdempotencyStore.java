@@ -0,0 +1,42 @@
+package com.imd.petcare.service.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps the responses of the requests made with an {@code Idempotency-Key} header. The store in use is
+ * selected by the {@code petcare.idempotency.store} property: {@code memory} (the default) for
+ * {@link InMemoryIdempotencyStore}, or {@code database} for {@link DatabaseIdempotencyStore}, which shares
+ * the keys between instances.
+ *
+ * Keys are hashed by the IdempotencyService before they reach the store.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Returns the stored response of a key, or reserves the key for the caller until it completes or
+     * releases it.
+     *
+     * @param key          the hashed key
+     * @param fingerprint  the hash of the request body
+     * @param reservedUntil the time after which an unfinished reservation is abandoned and the key can be taken again
+     * @return the stored response, or empty if the key is now reserved for the caller
+     * @throws com.imd.petcare.utils.exception.BusinessException if another instance holds the reservation
+     */
+    Optional<StoredResponse> reserve(String key, String fingerprint, Instant reservedUntil);
+
+    /**
+     * Stores the response of the request holding a key.
+     *
+     * @param key      the hashed key
+     * @param response the response to replay
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Frees a reserved key without storing a response, so that the request can be retried.
+     *
+     * @param key the hashed key
+     */
+    void release(String key);
+}
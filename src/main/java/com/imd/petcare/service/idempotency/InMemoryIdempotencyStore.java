@@ -0,0 +1,71 @@
+package com.imd.petcare.service.idempotency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the stored responses in a map bounded by the {@code petcare.idempotency.max-entries} property,
+ * evicting the least recently used one when full; expired responses are dropped when they are read.
+ *
+ * Reservations are not recorded: within an instance, concurrent requests with the same key are already
+ * collapsed by the IdempotencyService, and keys are not shared between instances. The number of responses
+ * held is reported by the {@code petcare.idempotency.entries} gauge.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Clock clock;
+
+    /**
+     * The stored responses in access order. Guarded by this.
+     */
+    private final Map<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(Clock clock,
+                                    MeterRegistry registry,
+                                    @Value("${petcare.idempotency.max-entries:10000}") int maxEntries) {
+        this.clock = clock;
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        Gauge.builder("petcare.idempotency.entries", this, InMemoryIdempotencyStore::size)
+                .description("Responses held for replay")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> reserve(String key, String fingerprint, Instant reservedUntil) {
+        StoredResponse response = responses.get(key);
+        if (response != null && !response.expiresAt().isAfter(clock.instant())) {
+            responses.remove(key);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response);
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+    }
+
+    private synchronized int size() {
+        return responses.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.imd.petcare.service.idempotency;
+
+import java.time.Instant;
+
+/**
+ * The response of a request made with an {@code Idempotency-Key} header, as replayed to its repetitions.
+ *
+ * @param fingerprint the hash of the request body, compared with the body of each repetition
+ * @param status      the HTTP status of the response
+ * @param body        the JSON body of the response
+ * @param expiresAt   the time until which the response is replayed
+ */
+public record StoredResponse(String fingerprint, int status, String body, Instant expiresAt) {
+}
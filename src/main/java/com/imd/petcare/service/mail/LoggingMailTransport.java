@@ -0,0 +1,28 @@
+package com.imd.petcare.service.mail;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for SMTP that writes each mail to the {@code petcare.mail} logger instead of sending it.
+ * Meant for development and tests: the mails, and any link they carry, end up in the application log.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.mail.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingMailTransport implements MailTransport {
+
+    private final Logger logger = LoggerFactory.getLogger("petcare.mail");
+
+    @Override
+    public Map<OutgoingMail, Exception> send(List<OutgoingMail> batch) {
+        for (OutgoingMail mail : batch) {
+            logger.info("Mail to {}: {}\n{}", mail.to(), mail.subject(), mail.body());
+        }
+        return Map.of();
+    }
+}
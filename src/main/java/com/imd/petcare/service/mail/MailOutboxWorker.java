@@ -0,0 +1,199 @@
+package com.imd.petcare.service.mail;
+
+import com.imd.petcare.model.MailOutboxMessage;
+import com.imd.petcare.model.enums.MailStatus;
+import com.imd.petcare.repository.MailOutboxRepository;
+import com.imd.petcare.service.PasswordRecoveryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Background worker delivering the mails queued in the {@code mail_outbox} table.
+ *
+ * Each poll claims a batch of due messages in a short transaction: they are locked (skipping those locked by
+ * another instance), their attempt is counted and their next attempt is pushed back by
+ * {@code petcare.mail.claim-timeout}, so that no other poll picks them while they are being sent. The messages
+ * are then rendered, each in its own transaction, and handed to the {@link MailTransport} in one call with no
+ * transaction or connection held; a message that cannot be rendered fails alone. The outcome of the batch is
+ * recorded in a last transaction. If the instance stops in between, the claimed messages are retried once
+ * the claim times out.
+ *
+ * A message whose delivery fails is retried with exponential backoff until {@code petcare.mail.max-attempts}
+ * is reached, then marked as failed. Outcomes are counted in the {@code petcare.mail.messages} meter, tagged
+ * by type and result.
+ */
+@Component
+public class MailOutboxWorker {
+
+    private static final List<MailStatus> PROCESSED = List.of(MailStatus.SENT, MailStatus.DISCARDED, MailStatus.FAILED);
+
+    private final Logger logger = LoggerFactory.getLogger(MailOutboxWorker.class);
+
+    private final MailOutboxRepository repository;
+    private final PasswordRecoveryService passwordRecoveryService;
+    private final MailTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration claimTimeout;
+    private final Duration retention;
+
+    public MailOutboxWorker(MailOutboxRepository repository,
+                            PasswordRecoveryService passwordRecoveryService,
+                            MailTransport transport,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock,
+                            MeterRegistry registry,
+                            @Value("${petcare.mail.batch-size:50}") int batchSize,
+                            @Value("${petcare.mail.max-attempts:5}") int maxAttempts,
+                            @Value("${petcare.mail.retry-backoff:30s}") Duration retryBackoff,
+                            @Value("${petcare.mail.claim-timeout:5m}") Duration claimTimeout,
+                            @Value("${petcare.mail.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.passwordRecoveryService = passwordRecoveryService;
+        this.transport = transport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.claimTimeout = claimTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Sends the due messages, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${petcare.mail.poll-interval:PT1S}")
+    public void dispatch() {
+        try {
+            List<MailOutboxMessage> batch;
+            do {
+                batch = transactionTemplate.execute(status -> claimBatch());
+                if (batch != null && !batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch != null && batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Mail outbox dispatch failed; it will be retried on the next poll.", e);
+        }
+    }
+
+    /**
+     * Deletes the messages that were processed longer ago than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${petcare.mail.purge-interval:PT1H}")
+    public void purge() {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.deleteProcessedBefore(PROCESSED, ZonedDateTime.now(clock).minus(retention)));
+    }
+
+    /**
+     * Locks the due messages and claims them for this poll.
+     *
+     * @return the claimed messages, detached once the transaction commits
+     */
+    private List<MailOutboxMessage> claimBatch() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        List<MailOutboxMessage> due = repository.findDue(now, PageRequest.of(0, batchSize));
+        for (MailOutboxMessage message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(claimTimeout));
+        }
+        return due;
+    }
+
+    /**
+     * Renders and sends claimed messages outside of any transaction, then records the outcome.
+     */
+    private void deliver(List<MailOutboxMessage> batch) {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        Map<OutgoingMail, MailOutboxMessage> rendered = new IdentityHashMap<>();
+        for (MailOutboxMessage message : batch) {
+            try {
+                Optional<OutgoingMail> mail = render(message);
+                if (mail.isPresent()) {
+                    rendered.put(mail.get(), message);
+                } else {
+                    message.setStatus(MailStatus.DISCARDED);
+                    count(message, "discarded");
+                }
+            } catch (RuntimeException e) {
+                failed(message, e, now);
+            }
+        }
+
+        Map<OutgoingMail, Exception> failures;
+        try {
+            failures = rendered.isEmpty() ? Map.of() : transport.send(new ArrayList<>(rendered.keySet()));
+        } catch (RuntimeException e) {
+            Map<OutgoingMail, Exception> all = new IdentityHashMap<>();
+            rendered.keySet().forEach(mail -> all.put(mail, e));
+            failures = all;
+        }
+        Map<OutgoingMail, Exception> outcome = failures;
+        rendered.forEach((mail, message) -> {
+            Exception failure = outcome.get(mail);
+            if (failure == null) {
+                message.setStatus(MailStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                count(message, "sent");
+            } else {
+                failed(message, failure, now);
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch));
+    }
+
+    private Optional<OutgoingMail> render(MailOutboxMessage message) {
+        return switch (message.getType()) {
+            case PASSWORD_RECOVERY -> passwordRecoveryService.prepareRecoveryMail(message.getRecipient());
+        };
+    }
+
+    private void failed(MailOutboxMessage message, Exception e, ZonedDateTime now) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(MailStatus.FAILED);
+            count(message, "failed");
+            logger.warn("Mail {} abandoned after {} attempts: {}", message.getId(), message.getAttempts(), error);
+        } else {
+            message.setNextAttemptAt(now.plus(retryBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20))));
+            count(message, "retried");
+        }
+    }
+
+    private void count(MailOutboxMessage message, String result) {
+        Counter.builder("petcare.mail.messages")
+                .description("Outbox mails processed")
+                .tag("type", message.getType().name().toLowerCase(Locale.ROOT))
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,20 @@
+package com.imd.petcare.service.mail;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers rendered mails. The transport in use is selected by the {@code petcare.mail.transport} property:
+ * {@code smtp} for {@link SmtpMailTransport}, or {@code log} (the default) for the local
+ * {@link LoggingMailTransport}.
+ */
+public interface MailTransport {
+
+    /**
+     * Sends a batch of mails.
+     *
+     * @param batch the mails to send
+     * @return the mails that could not be sent, with the reason; empty if all were sent
+     */
+    Map<OutgoingMail, Exception> send(List<OutgoingMail> batch);
+}
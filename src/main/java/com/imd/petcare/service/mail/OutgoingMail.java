@@ -0,0 +1,14 @@
+package com.imd.petcare.service.mail;
+
+/**
+ * A rendered mail, ready to be handed to a {@link MailTransport}.
+ *
+ * @param to      the recipient address.
+ * @param subject the subject line.
+ * @param body    the plain text body.
+ */
+public record OutgoingMail(
+        String to,
+        String subject,
+        String body) {
+}
@@ -0,0 +1,67 @@
+package com.imd.petcare.service.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends mails through the SMTP server configured by the {@code spring.mail.*} properties.
+ *
+ * A batch is sent over a single connection. When the server refuses some of the messages, only those are
+ * reported as failed.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.mail.transport", havingValue = "smtp")
+public class SmtpMailTransport implements MailTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpMailTransport(JavaMailSender mailSender, @Value("${petcare.mail.from}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public Map<OutgoingMail, Exception> send(List<OutgoingMail> batch) {
+        Map<SimpleMailMessage, OutgoingMail> messages = new IdentityHashMap<>();
+        for (OutgoingMail mail : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(mail.to());
+            message.setSubject(mail.subject());
+            message.setText(mail.body());
+            messages.put(message, mail);
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<OutgoingMail, Exception> failed = new HashMap<>();
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutgoingMail mail = messages.get(message);
+                if (mail != null) {
+                    failed.put(mail, cause);
+                }
+            });
+            if (failed.isEmpty()) {
+                batch.forEach(mail -> failed.put(mail, e));
+            }
+            return failed;
+        } catch (MailException e) {
+            Map<OutgoingMail, Exception> failed = new HashMap<>();
+            batch.forEach(mail -> failed.put(mail, e));
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.imd.petcare.service.reminder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in that appends each reminder as a JSON line to the file named by the
+ * {@code petcare.reminder.file} property, so that tests and demos can follow what would have been sent.
+ *
+ * A batch is written and flushed in one go; if the write fails, the whole batch is reported as failed.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.reminder.sender", havingValue = "file")
+public class FileReminderSender implements ReminderSender {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileReminderSender(ObjectMapper objectMapper,
+                              @Value("${petcare.reminder.file:reminders.ndjson}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized Map<Reminder, Exception> send(List<Reminder> batch) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Reminder reminder : batch) {
+                writer.write(objectMapper.writeValueAsString(reminder));
+                writer.newLine();
+            }
+            return Map.of();
+        } catch (IOException e) {
+            Map<Reminder, Exception> failed = new HashMap<>();
+            batch.forEach(reminder -> failed.put(reminder, e));
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.imd.petcare.service.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in that writes each reminder to the {@code petcare.reminder} logger instead of sending it.
+ */
+@Component
+@ConditionalOnProperty(name = "petcare.reminder.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSender implements ReminderSender {
+
+    private final Logger logger = LoggerFactory.getLogger("petcare.reminder");
+
+    @Override
+    public Map<Reminder, Exception> send(List<Reminder> batch) {
+        for (Reminder reminder : batch) {
+            logger.info("Reminder to {} for scheduling {}: {} at {}", reminder.email(), reminder.schedulingId(),
+                    reminder.title(), reminder.startAt());
+        }
+        return Map.of();
+    }
+}
@@ -0,0 +1,15 @@
+package com.imd.petcare.service.reminder;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A reminder of an upcoming appointment, handed to the {@link ReminderSender}.
+ *
+ * @param schedulingId the ID of the scheduling
+ * @param userId       the ID of the user owning it
+ * @param email        the email address of the user
+ * @param title        the title of the appointment
+ * @param startAt      the start of the appointment
+ */
+public record Reminder(long schedulingId, long userId, String email, String title, ZonedDateTime startAt) {
+}
@@ -0,0 +1,343 @@
+package com.imd.petcare.service.reminder;
+
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.utils.collection.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sends reminders of upcoming appointments to their owners, a configurable time before they start.
+ *
+ * Each scheduling stores when its next reminder is due in the indexed {@code next_reminder_at} column. The
+ * reminders due within the horizon are loaded into a {@link TimingWheel} at startup and on each reload, with
+ * a range scan of that index rather than a scan of the table; reminders set by this instance are added as
+ * soon as their transaction commits. Every tick, the reminders that expired are claimed in batches, one
+ * transaction per batch, and each batch is sent through the {@link ReminderSender} once its claims are
+ * committed, so no transaction or connection is held while the sender runs. The horizon must exceed the
+ * reload interval, so that consecutive loads overlap.
+ *
+ * The database stays the authority: a reminder is claimed with a conditional update of its
+ * {@code next_reminder_at} before it is sent, which moves the column to the following reminder. An instance
+ * holding a stale entry, because the appointment was moved or another instance sent the reminder first,
+ * claims nothing. Reminders that could not be sent are retried after a delay, until the appointment starts,
+ * unless the appointment was changed in the meantime.
+ *
+ * Outcomes are counted in the {@code petcare.reminder.reminders} meter, tagged by result (sent, failed or
+ * skipped), and the {@code petcare.reminder.pending} gauge reports the size of the wheel.
+ */
+@Component
+public class ReminderScheduler {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final SchedulingRepository repository;
+    private final ReminderSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Clock clock;
+    private final List<Duration> leadTimes;
+    private final Duration horizon;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter skipped;
+
+    /**
+     * The reminders waiting in the wheel and the scheduled time of the reminder of each scheduling; an entry
+     * of the wheel that does not match the map is stale and dropped when it expires. Guarded by this.
+     */
+    private final TimingWheel<Pending> wheel;
+    private final Map<Long, Instant> scheduled = new HashMap<>();
+
+    /**
+     * The time up to which due reminders are loaded, or null before the first load. Guarded by this.
+     */
+    private Instant loadedUntil;
+
+    public ReminderScheduler(SchedulingRepository repository,
+                             ReminderSender sender,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             MeterRegistry registry,
+                             @Value("${petcare.reminder.lead-times:24h,1h}") Duration[] leadTimes,
+                             @Value("${petcare.reminder.horizon:1h}") Duration horizon,
+                             @Value("${petcare.reminder.tick:PT1S}") Duration tick,
+                             @Value("${petcare.reminder.retry-delay:1m}") Duration retryDelay,
+                             @Value("${petcare.reminder.batch-size:100}") int batchSize) {
+        this.repository = repository;
+        this.sender = sender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.clock = clock;
+        this.leadTimes = Arrays.stream(leadTimes).filter(Duration::isPositive).sorted().toList();
+        this.horizon = horizon;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+        if (horizon.plus(retryDelay).toMillis() >= wheel.spanMillis()) {
+            throw new IllegalArgumentException("petcare.reminder.horizon exceeds the span of the timing wheel");
+        }
+
+        this.sent = counter(registry, "sent");
+        this.failed = counter(registry, "failed");
+        this.skipped = counter(registry, "skipped");
+        Gauge.builder("petcare.reminder.pending", this, ReminderScheduler::pendingCount)
+                .description("Reminders waiting in the timing wheel")
+                .register(registry);
+    }
+
+    /**
+     * Computes the first reminder of an appointment that is still ahead.
+     *
+     * @param startAt the start of the appointment, or null
+     * @return the time of the next reminder, or null if the appointment has no start or every reminder time
+     * has passed
+     */
+    public ZonedDateTime nextReminderAt(ZonedDateTime startAt) {
+        return nextReminderAt(startAt, clock.instant());
+    }
+
+    /**
+     * Adds the reminder of a scheduling to the wheel once the current transaction commits.
+     *
+     * @param scheduling the scheduling being written; its ID is read after the commit, so a new scheduling
+     *                   can be passed before it is saved
+     */
+    public void scheduleAfterCommit(Scheduling scheduling) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(scheduling.getId(), scheduling.getNextReminderAt());
+                }
+            });
+        } else {
+            schedule(scheduling.getId(), scheduling.getNextReminderAt());
+        }
+    }
+
+    /**
+     * Loads the reminders due within the horizon, including the overdue ones of appointments that have not
+     * started yet: at startup, then periodically to move the horizon forward and pick up the reminders set by
+     * other instances.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${petcare.reminder.reload-interval:PT5M}")
+    public void load() {
+        try {
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            ZonedDateTime until = now.plus(horizon);
+            synchronized (this) {
+                loadedUntil = until.toInstant();
+            }
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<SchedulingRepository.PendingReminder> rows = repository.streamRemindersDueBefore(now, until)) {
+                    rows.forEach(row -> schedule(row.getId(), row.getNextReminderAt()));
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not load the upcoming reminders; they will be loaded on the next attempt.", e);
+        }
+    }
+
+    /**
+     * Sends the reminders that expired since the previous tick.
+     */
+    @Scheduled(fixedDelayString = "${petcare.reminder.tick:PT1S}")
+    public void fire() {
+        List<Pending> due = new ArrayList<>();
+        synchronized (this) {
+            for (Pending pending : wheel.advance(clock.millis())) {
+                if (scheduled.remove(pending.schedulingId, pending.remindAt)) {
+                    due.add(pending);
+                }
+            }
+        }
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Pending> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            Map<Reminder, ZonedDateTime> claimed;
+            try {
+                claimed = transactionTemplate.execute(status -> claimBatch(batch));
+            } catch (RuntimeException e) {
+                logger.error("Could not claim a batch of {} reminders; retrying in {}.", batch.size(), retryDelay, e);
+                Instant retryAt = clock.instant().plus(retryDelay);
+                batch.forEach(pending -> scheduleRetry(pending, retryAt));
+                continue;
+            }
+            if (claimed != null && !claimed.isEmpty()) {
+                send(claimed);
+            }
+        }
+    }
+
+    /**
+     * Claims the reminders of a batch that are still current.
+     *
+     * @return the reminders to send, with the next reminder their claim moved the scheduling to
+     */
+    private Map<Reminder, ZonedDateTime> claimBatch(List<Pending> batch) {
+        Instant now = clock.instant();
+        Map<Long, SchedulingRepository.ReminderTarget> targets = repository
+                .findReminderTargets(batch.stream().map(Pending::schedulingId).toList()).stream()
+                .collect(Collectors.toMap(SchedulingRepository.ReminderTarget::getId, Function.identity()));
+
+        Map<Reminder, ZonedDateTime> claimed = new HashMap<>();
+        for (Pending pending : batch) {
+            SchedulingRepository.ReminderTarget target = targets.get(pending.schedulingId);
+            if (target == null || target.getNextReminderAt() == null
+                    || !target.getNextReminderAt().toInstant().equals(pending.remindAt)) {
+                continue;
+            }
+            ZonedDateTime next = nextReminderAt(target.getStartAt(), pending.remindAt);
+            if (repository.claimReminder(target.getId(), target.getNextReminderAt(), next) == 0) {
+                continue;
+            }
+            scheduleAfterCommit(target.getId(), next);
+            if (target.getStartAt() == null || !target.getStartAt().toInstant().isAfter(now)) {
+                skipped.increment();
+                continue;
+            }
+            claimed.put(new Reminder(target.getId(), target.getUserId(), target.getEmail(), target.getTitle(),
+                    target.getStartAt()), next);
+        }
+        return claimed;
+    }
+
+    /**
+     * Sends claimed reminders and schedules a retry of those that failed, provided their scheduling still
+     * holds the reminder set by the claim.
+     */
+    private void send(Map<Reminder, ZonedDateTime> claimed) {
+        Map<Reminder, Exception> failures;
+        try {
+            failures = sender.send(new ArrayList<>(claimed.keySet()));
+        } catch (RuntimeException e) {
+            failures = new HashMap<>();
+            for (Reminder reminder : claimed.keySet()) {
+                failures.put(reminder, e);
+            }
+        }
+        sent.increment(claimed.size() - failures.size());
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        failures.forEach((reminder, e) -> {
+            failed.increment();
+            logger.warn("Reminder of scheduling {} failed: {}", reminder.schedulingId(), e.getMessage());
+        });
+        ZonedDateTime retryAt = ZonedDateTime.ofInstant(clock.instant().plus(retryDelay), clock.getZone())
+                .truncatedTo(ChronoUnit.SECONDS);
+        Map<Reminder, Exception> retried = failures;
+        try {
+            transactionTemplate.executeWithoutResult(status -> retried.keySet().forEach(reminder -> {
+                long schedulingId = reminder.schedulingId();
+                ZonedDateTime next = claimed.get(reminder);
+                int updated = next == null
+                        ? repository.updateNextReminderIfUnset(schedulingId, retryAt)
+                        : repository.claimReminder(schedulingId, next, retryAt);
+                if (updated > 0) {
+                    scheduleAfterCommit(schedulingId, retryAt);
+                }
+            }));
+        } catch (RuntimeException e) {
+            logger.error("Could not schedule the retry of {} reminders; they will not be sent again.",
+                    retried.size(), e);
+        }
+    }
+
+    /**
+     * Returns the earliest reminder time of an appointment after the given instant, truncated to the second
+     * so that it compares equal once read back from the database.
+     */
+    private ZonedDateTime nextReminderAt(ZonedDateTime startAt, Instant after) {
+        if (startAt == null) {
+            return null;
+        }
+        for (int i = leadTimes.size() - 1; i >= 0; i--) {
+            ZonedDateTime remindAt = startAt.minus(leadTimes.get(i)).truncatedTo(ChronoUnit.SECONDS);
+            if (remindAt.toInstant().isAfter(after)) {
+                return remindAt;
+            }
+        }
+        return null;
+    }
+
+    private void scheduleAfterCommit(long schedulingId, ZonedDateTime remindAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(schedulingId, remindAt);
+            }
+        });
+    }
+
+    /**
+     * Puts the reminder of a scheduling in the wheel, replacing the previous one; reminders beyond the loaded
+     * horizon are left to a later load.
+     */
+    private synchronized void schedule(long schedulingId, ZonedDateTime remindAt) {
+        Instant bound = loadedUntil != null ? loadedUntil : clock.instant().plus(horizon);
+        if (remindAt == null || remindAt.toInstant().isAfter(bound)) {
+            scheduled.remove(schedulingId);
+            return;
+        }
+        Instant instant = remindAt.toInstant();
+        if (!instant.equals(scheduled.put(schedulingId, instant))) {
+            wheel.add(instant.toEpochMilli(), new Pending(schedulingId, instant));
+        }
+    }
+
+    private synchronized void scheduleRetry(Pending pending, Instant retryAt) {
+        if (scheduled.putIfAbsent(pending.schedulingId, pending.remindAt) == null) {
+            wheel.add(retryAt.toEpochMilli(), pending);
+        }
+    }
+
+    private synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("petcare.reminder.reminders")
+                .description("Appointment reminders processed")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * A reminder in the wheel: the scheduling and the value of its {@code next_reminder_at} column.
+     */
+    private record Pending(long schedulingId, Instant remindAt) {
+    }
+}
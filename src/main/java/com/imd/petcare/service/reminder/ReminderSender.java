@@ -0,0 +1,20 @@
+package com.imd.petcare.service.reminder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers appointment reminders. The sender in use is selected by the {@code petcare.reminder.sender}
+ * property: {@code log} (the default) for {@link LoggingReminderSender}, or {@code file} for
+ * {@link FileReminderSender}; a push or SMS gateway plugs in as another implementation.
+ */
+public interface ReminderSender {
+
+    /**
+     * Sends a batch of reminders.
+     *
+     * @param batch the reminders to send
+     * @return the reminders that could not be sent, with the reason; empty if all were sent
+     */
+    Map<Reminder, Exception> send(List<Reminder> batch);
+}
@@ -0,0 +1,126 @@
+package com.imd.petcare.utils.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ *
+ * A negative answer of {@link #mightContain} is definite; a positive one is wrong with a probability that
+ * grows as the filter fills up, see {@link #expectedFalsePositiveRate()}. Values cannot be removed.
+ *
+ * The bits live in a long array updated through a {@link VarHandle} with atomic bitwise ORs, so values can be
+ * added while other threads query the filter, without locks. Each value is hashed once to 64 bits and its
+ * {@code k} bit positions are derived by double hashing. A seed distinguishes values of different kinds stored
+ * in the same filter.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final int MAX_HASHES = 16;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new long[(int) ((bitCount + 63) / 64)];
+        this.bitCount = (long) words.length * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates a filter sized for the given number of values and false positive rate, within a memory bound.
+     *
+     * @param expectedInsertions the number of values expected to be added.
+     * @param falsePositiveRate  the false positive rate wanted once that many values were added.
+     * @param maxBytes           the maximum size of the bit array, which takes precedence over the rate.
+     * @return a new, empty filter.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        long n = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        bits = Math.max(64, Math.min(bits, Math.min(maxBytes * 8, (long) (Integer.MAX_VALUE - 8) * 64)));
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / n * LN2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param seed  the kind of the value.
+     * @param value the value to add.
+     */
+    public void put(int seed, CharSequence value) {
+        long hash = hash(seed, value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if (((long) WORDS.getAndBitwiseOr(words, index, mask) & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Tells whether a value may have been added.
+     *
+     * @param seed  the kind of the value.
+     * @param value the value to look up.
+     * @return false if the value was certainly never added, true if it probably was.
+     */
+    public boolean mightContain(int seed, CharSequence value) {
+        long hash = hash(seed, value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false positive probability from the fraction of bits set.
+     *
+     * @return the probability that a value never added is reported as present.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return the size of the bit array, in bytes.
+     */
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    private static long hash(int seed, CharSequence value) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, spreading the FNV-1a hash over all 64 bits.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,201 @@
+package com.imd.petcare.utils.collection;
+
+import java.util.Arrays;
+
+/**
+ * Sorted-array index of the half-open intervals {@code [start, end)} booked on one resource, each identified
+ * by a long ID.
+ *
+ * The intervals of a resource do not overlap, so sorting them by start also sorts them by end, and an overlap
+ * lookup is a binary search followed by at most a couple of comparisons. The arrays are copied on write and
+ * published through a volatile field: lookups never lock and always see a consistent snapshot, while
+ * writers, which are far rarer, are serialized and pay one array copy each.
+ *
+ * Not a general interval tree: if overlapping intervals are inserted anyway, lookups may miss some of the
+ * overlaps, never report one that does not exist.
+ */
+public final class IntervalIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private volatile Snapshot snapshot;
+
+    public IntervalIndex() {
+        this.snapshot = new Snapshot(EMPTY, EMPTY, EMPTY);
+    }
+
+    private IntervalIndex(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Finds an interval overlapping {@code [start, end)}.
+     *
+     * @param start     the start of the interval to check
+     * @param end       the end of the interval to check, exclusive
+     * @param excludeId the ID of an interval to ignore, e.g. the previous state of the interval being moved
+     * @return the ID of an overlapping interval, or -1 if there is none
+     */
+    public long findOverlap(long start, long end, long excludeId) {
+        Snapshot current = snapshot;
+        for (int i = current.lastStartingBefore(end); i >= 0 && current.ends[i] > start; i--) {
+            if (current.ids[i] != excludeId) {
+                return current.ids[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calls the consumer with each interval overlapping {@code [from, to)}, in start order.
+     *
+     * @param from     the start of the range
+     * @param to       the end of the range, exclusive
+     * @param consumer the consumer receiving the ID, start and end of each interval
+     */
+    public void forEachOverlapping(long from, long to, IntervalConsumer consumer) {
+        Snapshot current = snapshot;
+        int first = current.lastStartingBefore(from);
+        if (first < 0 || current.ends[first] <= from) {
+            first++;
+        }
+        for (int i = first; i < current.ids.length && current.starts[i] < to; i++) {
+            consumer.accept(current.ids[i], current.starts[i], current.ends[i]);
+        }
+    }
+
+    /**
+     * Inserts an interval, keeping the arrays sorted by start.
+     *
+     * @param id    the ID of the interval
+     * @param start the start of the interval
+     * @param end   the end of the interval, exclusive
+     */
+    public synchronized void put(long id, long start, long end) {
+        Snapshot current = snapshot;
+        int size = current.ids.length;
+        int index = current.lastStartingBefore(start) + 1;
+
+        long[] ids = new long[size + 1];
+        long[] starts = new long[size + 1];
+        long[] ends = new long[size + 1];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.starts, 0, starts, 0, index);
+        System.arraycopy(current.ends, 0, ends, 0, index);
+        ids[index] = id;
+        starts[index] = start;
+        ends[index] = end;
+        System.arraycopy(current.ids, index, ids, index + 1, size - index);
+        System.arraycopy(current.starts, index, starts, index + 1, size - index);
+        System.arraycopy(current.ends, index, ends, index + 1, size - index);
+        snapshot = new Snapshot(ids, starts, ends);
+    }
+
+    /**
+     * Removes an interval.
+     *
+     * @param id    the ID of the interval
+     * @param start the start of the interval, used to find it
+     * @return true if the interval was found and removed
+     */
+    public synchronized boolean remove(long id, long start) {
+        Snapshot current = snapshot;
+        int index = current.lastStartingBefore(start + 1);
+        while (index >= 0 && current.starts[index] == start && current.ids[index] != id) {
+            index--;
+        }
+        if (index < 0 || current.ids[index] != id) {
+            return false;
+        }
+
+        int size = current.ids.length;
+        long[] ids = new long[size - 1];
+        long[] starts = new long[size - 1];
+        long[] ends = new long[size - 1];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.starts, 0, starts, 0, index);
+        System.arraycopy(current.ends, 0, ends, 0, index);
+        System.arraycopy(current.ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(current.starts, index + 1, starts, index, size - index - 1);
+        System.arraycopy(current.ends, index + 1, ends, index, size - index - 1);
+        snapshot = new Snapshot(ids, starts, ends);
+        return true;
+    }
+
+    /**
+     * Returns the number of intervals in the index.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return snapshot.ids.length;
+    }
+
+    /**
+     * Callback receiving the intervals of a range.
+     */
+    @FunctionalInterface
+    public interface IntervalConsumer {
+        void accept(long id, long start, long end);
+    }
+
+    /**
+     * Builds an index from intervals appended in start order, without copying the arrays on each insertion.
+     */
+    public static final class Builder {
+        private long[] ids = new long[16];
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private int size;
+
+        /**
+         * Appends an interval starting at or after the previous one.
+         *
+         * @param id    the ID of the interval
+         * @param start the start of the interval
+         * @param end   the end of the interval, exclusive
+         * @return this builder
+         * @throws IllegalArgumentException if the interval starts before the previous one
+         */
+        public Builder add(long id, long start, long end) {
+            if (size > 0 && start < starts[size - 1]) {
+                throw new IllegalArgumentException("Intervals must be added in start order");
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            ids[size] = id;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            return this;
+        }
+
+        public IntervalIndex build() {
+            return new IntervalIndex(new Snapshot(Arrays.copyOf(ids, size), Arrays.copyOf(starts, size),
+                    Arrays.copyOf(ends, size)));
+        }
+    }
+
+    private record Snapshot(long[] ids, long[] starts, long[] ends) {
+
+        /**
+         * Returns the index of the last interval starting strictly before the given instant, or -1.
+         */
+        int lastStartingBefore(long instant) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < instant) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
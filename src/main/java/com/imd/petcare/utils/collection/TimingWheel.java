@@ -0,0 +1,164 @@
+package com.imd.petcare.utils.collection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding items until their deadline, in epoch milliseconds.
+ *
+ * Level 0 has one bucket per tick; each higher level has buckets {@code wheelSize} times wider. An item goes
+ * into the lowest level whose span covers its delay, and {@link #advance(long)} moves it down a level each
+ * time the bucket of a higher level comes due, until it expires from level 0. Adding an item and expiring it
+ * are O(1), and each item is moved at most once per level, so a wheel of a few levels covers days at a
+ * one-second resolution with a few hundred buckets, whatever the number of items.
+ *
+ * Items expire at the first tick boundary at or after their deadline, so never early and at most one tick
+ * late. Not thread-safe: callers serialize access. Items cannot be removed; callers drop the stale ones when
+ * they expire.
+ *
+ * @param <T> the type of the items
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long maxTicks;
+    private final ArrayDeque<Entry<T>>[][] buckets;
+    private final List<T> overdue = new ArrayList<>();
+
+    /**
+     * The last tick processed by {@link #advance(long)}.
+     */
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis the resolution of the wheel, in milliseconds
+     * @param wheelSize  the number of buckets per level, a power of two
+     * @param levels     the number of levels
+     * @param nowMillis  the current time, from which the wheel starts
+     * @throws IllegalArgumentException if the wheel size is not a power of two or the span of the wheel
+     *                                  overflows
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1
+                || (long) Integer.numberOfTrailingZeros(wheelSize) * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.maxTicks = 1L << (bits * levels);
+        this.buckets = new ArrayDeque[levels][wheelSize];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Returns the longest delay an item can be added with.
+     *
+     * @return the span of the wheel, in milliseconds
+     */
+    public long spanMillis() {
+        return (maxTicks - 1) * tickMillis;
+    }
+
+    /**
+     * Adds an item; an item whose deadline has passed expires on the next advance.
+     *
+     * @param deadlineMillis the deadline of the item
+     * @param item           the item
+     * @throws IllegalArgumentException if the deadline is beyond the span of the wheel
+     */
+    public void add(long deadlineMillis, T item) {
+        long deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        if (deadlineTick - currentTick >= maxTicks) {
+            throw new IllegalArgumentException("Deadline beyond the span of the timing wheel");
+        }
+        place(new Entry<>(deadlineTick, item));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and returns the items that expired.
+     *
+     * @param nowMillis the current time
+     * @return the expired items, in deadline order to within one tick
+     */
+    public List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+        while (currentTick < nowTick) {
+            long tick = ++currentTick;
+            for (int level = levels - 1; level > 0; level--) {
+                if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((tick >>> (bits * level)) & mask));
+                }
+            }
+            ArrayDeque<Entry<T>> bucket = buckets[0][(int) (tick & mask)];
+            if (bucket != null) {
+                for (Entry<T> entry; (entry = bucket.poll()) != null; ) {
+                    expired.add(entry.item);
+                }
+            }
+            expired.addAll(overdue);
+            overdue.clear();
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * Returns the number of items in the wheel.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Re-places the items of a higher-level bucket that has come due; they land in a lower level, or expire.
+     */
+    private void cascade(int level, int slot) {
+        ArrayDeque<Entry<T>> bucket = buckets[level][slot];
+        if (bucket != null) {
+            for (Entry<T> entry; (entry = bucket.poll()) != null; ) {
+                place(entry);
+            }
+        }
+    }
+
+    /**
+     * Puts an entry in the lowest level whose span covers its delay. The bucket is chosen from the absolute
+     * deadline, so it comes due for the first time after the current tick within that span.
+     */
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick - currentTick;
+        if (delay <= 0) {
+            overdue.add(entry.item);
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && delay >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((entry.deadlineTick >>> (bits * level)) & mask);
+        ArrayDeque<Entry<T>> bucket = buckets[level][slot];
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            buckets[level][slot] = bucket;
+        }
+        bucket.add(entry);
+    }
+
+    private record Entry<T>(long deadlineTick, T item) {
+    }
+}
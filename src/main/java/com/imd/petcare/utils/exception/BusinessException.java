@@ -5,6 +5,10 @@ import org.springframework.http.HttpStatus;
 /**
  * Custom exception representing a business logic error in the application.
  * It extends RuntimeException to indicate an unchecked exception.
+ *
+ * Business errors are expected outcomes answered by {@code ControllerExceptionHandler}, not bugs, so the
+ * exception is created without a stack trace and without suppressed exceptions; filling in the stack is
+ * most of the cost of throwing.
  */
 public class BusinessException extends RuntimeException {
 
@@ -18,7 +22,7 @@ public class BusinessException extends RuntimeException {
      * @param statusCode the HTTP status code associated with the error.
      */
     public BusinessException(String message, HttpStatus statusCode) {
-        super(message);
+        super(message, null, false, false);
         this.httpStatusCode = statusCode;
     }
 
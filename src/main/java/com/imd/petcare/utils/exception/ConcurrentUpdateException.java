@@ -0,0 +1,20 @@
+package com.imd.petcare.utils.exception;
+
+/**
+ * Exception thrown when an entity was modified by another request after the client read it,
+ * so the version sent with the update no longer matches the stored one.
+ * It extends RuntimeException to indicate an unchecked exception.
+ *
+ * The conflict is reported to the client as a 409, so no stack trace is recorded.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    /**
+     * Constructs a new ConcurrentUpdateException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public ConcurrentUpdateException(String message) {
+        super(message, null, false, false);
+    }
+}
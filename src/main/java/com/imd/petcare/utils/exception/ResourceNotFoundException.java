@@ -3,6 +3,9 @@ package com.imd.petcare.utils.exception;
 /**
  * Exception thrown when a requested resource is not found.
  * It extends RuntimeException to indicate an unchecked exception.
+ *
+ * Like {@link BusinessException} it carries no stack trace: unknown ids are a normal outcome, and clients
+ * probing for them should not make every 404 pay for a stack walk.
  */
 public class ResourceNotFoundException extends RuntimeException {
 
@@ -12,6 +15,6 @@ public class ResourceNotFoundException extends RuntimeException {
      * @param message the detail message.
      */
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
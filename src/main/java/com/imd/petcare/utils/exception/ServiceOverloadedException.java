@@ -0,0 +1,20 @@
+package com.imd.petcare.utils.exception;
+
+/**
+ * Exception thrown when a request is refused because the application is already handling as many requests
+ * as it can without queueing.
+ * It extends RuntimeException to indicate an unchecked exception.
+ *
+ * Shedding happens precisely when the application is busiest, so no stack trace is recorded.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceOverloadedException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public ServiceOverloadedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,29 @@
+package com.imd.petcare.utils.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client exceeded a rate limit and must wait before trying again.
+ * It extends RuntimeException to indicate an unchecked exception.
+ *
+ * Rejections are expected under attack and answered with a 429, so no stack trace is recorded.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new TooManyRequestsException with the specified detail message and waiting time.
+     *
+     * @param message    the detail message.
+     * @param retryAfter the time after which the request may be accepted again.
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
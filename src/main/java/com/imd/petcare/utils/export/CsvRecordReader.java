@@ -0,0 +1,101 @@
+package com.imd.petcare.utils.export;
+
+import com.imd.petcare.utils.exception.ConversionException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records one at a time from a {@link Reader}.
+ *
+ * Quoted cells may contain separators, doubled quotes and line breaks. A leading apostrophe that
+ * {@link CsvRecordWriter} adds in front of formula-like cells is removed, so exported files can be
+ * imported back unchanged. Only the current record is kept in memory.
+ */
+public class CsvRecordReader {
+
+    private static final char SEPARATOR = ',';
+
+    private final Reader reader;
+    private final StringBuilder cell = new StringBuilder(64);
+    private long line = 1;
+    private long recordLine;
+
+    /**
+     * @param reader the source, which should be buffered since it is read one character at a time
+     */
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the cells of the next record, or null at the end of the input
+     * @throws IOException         if the underlying reader fails
+     * @throws ConversionException if a quoted cell is not closed before the end of the input
+     */
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> cells = new ArrayList<>();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        cell.setLength(0);
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new ConversionException("Aspas não fechadas no registro da linha " + recordLine);
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                cell.append((char) c);
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == SEPARATOR) {
+                cells.add(finishCell(wasQuoted));
+                wasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                cells.add(finishCell(wasQuoted));
+                return cells;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * @return the line number where the last record returned by {@link #next()} starts
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private String finishCell(boolean wasQuoted) {
+        String value = cell.toString();
+        cell.setLength(0);
+        if (wasQuoted && value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,129 @@
+package com.imd.petcare.utils.export;
+
+import com.imd.petcare.utils.exception.ConversionException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes records as CSV rows, one at a time, to a {@link Writer}.
+ *
+ * Columns are resolved once from the record components; nested records are flattened into
+ * dotted column names (for example {@code person.name}) and components annotated with
+ * {@link ExportIgnore} are skipped. Nothing is buffered besides the current row.
+ */
+public class CsvRecordWriter {
+
+    private static final char SEPARATOR = ',';
+
+    private final Writer writer;
+    private final List<Column> columns;
+    private final StringBuilder row = new StringBuilder(256);
+
+    public CsvRecordWriter(Class<? extends Record> type, Writer writer) {
+        this.writer = writer;
+        this.columns = new ArrayList<>();
+        collectColumns(type, "", List.of(), columns);
+    }
+
+    /**
+     * Writes the header row with the column names.
+     *
+     * @throws IOException if the underlying writer fails
+     */
+    public void writeHeader() throws IOException {
+        row.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                row.append(SEPARATOR);
+            }
+            appendEscaped(columns.get(i).name());
+        }
+        writer.append(row).append('\n');
+    }
+
+    /**
+     * Writes a record as a single row.
+     *
+     * @param value the record to write
+     * @throws IOException if the underlying writer fails
+     */
+    public void write(Record value) throws IOException {
+        row.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                row.append(SEPARATOR);
+            }
+            Object cell = columns.get(i).valueOf(value);
+            if (cell != null) {
+                appendEscaped(cell.toString());
+            }
+        }
+        writer.append(row).append('\n');
+    }
+
+    /**
+     * Appends a cell, quoting it when it holds separators, quotes or line breaks, and neutralizing
+     * leading characters that spreadsheets would interpret as a formula.
+     */
+    private void appendEscaped(String cell) {
+        boolean formula = !cell.isEmpty() && "=+-@".indexOf(cell.charAt(0)) >= 0;
+        boolean quote = formula || cell.indexOf(SEPARATOR) >= 0 || cell.indexOf('"') >= 0
+                || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0;
+        if (!quote) {
+            row.append(cell);
+            return;
+        }
+        row.append('"');
+        if (formula) {
+            row.append('\'');
+        }
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private static void collectColumns(Class<?> type, String prefix, List<Method> path, List<Column> columns) {
+        for (RecordComponent component : type.getRecordComponents()) {
+            Method accessor = component.getAccessor();
+            if (component.isAnnotationPresent(ExportIgnore.class) || accessor.isAnnotationPresent(ExportIgnore.class)) {
+                continue;
+            }
+            List<Method> componentPath = new ArrayList<>(path);
+            componentPath.add(accessor);
+            if (component.getType().isRecord()) {
+                collectColumns(component.getType(), prefix + component.getName() + ".", componentPath, columns);
+            } else {
+                columns.add(new Column(prefix + component.getName(), List.copyOf(componentPath)));
+            }
+        }
+    }
+
+    private record Column(String name, List<Method> path) {
+
+        Object valueOf(Object root) {
+            Object current = root;
+            for (Method accessor : path) {
+                if (current == null) {
+                    return null;
+                }
+                try {
+                    current = accessor.invoke(current);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new ConversionException("Não foi possível exportar a coluna " + name + ": " + e.getMessage());
+                }
+            }
+            return current;
+        }
+    }
+}
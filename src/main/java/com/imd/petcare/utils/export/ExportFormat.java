@@ -0,0 +1,65 @@
+package com.imd.petcare.utils.export;
+
+import com.imd.petcare.utils.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formats supported by the streaming export and import endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param name the format name, such as "csv" or "ndjson"
+     * @return the matching ExportFormat
+     * @throws BusinessException if the format is not supported
+     */
+    public static ExportFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BusinessException("Formato de exportação inválido: " + name, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Resolves a format from a request content type, ignoring parameters such as the charset.
+     *
+     * @param contentType the content type header value
+     * @return the matching ExportFormat
+     * @throws BusinessException if the content type is missing or not supported
+     */
+    public static ExportFormat ofContentType(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ExportFormat format : values()) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(format.contentType))) {
+                    return format;
+                }
+            }
+        }
+        throw new BusinessException("Tipo de conteúdo não suportado: " + contentType, HttpStatus.BAD_REQUEST);
+    }
+}
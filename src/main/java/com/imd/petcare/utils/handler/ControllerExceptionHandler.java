@@ -3,20 +3,32 @@ package com.imd.petcare.utils.handler;
 import com.imd.petcare.dto.ApiResponseDTO;
 import com.imd.petcare.dto.ErrorDTO;
 import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ConcurrentUpdateException;
 import com.imd.petcare.utils.exception.ConversionException;
 import com.imd.petcare.utils.exception.ResourceNotFoundException;
+import com.imd.petcare.utils.exception.ServiceOverloadedException;
+import com.imd.petcare.utils.exception.TooManyRequestsException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.TransactionSystemException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+import java.sql.SQLException;
+import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,12 +37,50 @@ import java.util.List;
  * Global exception handler for controllers in the application.
  * Handles various types of exceptions and maps them to appropriate error
  * responses.
+ *
+ * The status and title of each kind of error are kept in preallocated {@code ErrorTemplate}s, and the
+ * timestamp is read from the application {@link Clock}, so answering a business error only allocates the
+ * response itself.
  */
 @ControllerAdvice
 public class ControllerExceptionHandler {
 
+    private static final String MESSAGE_PREFIX = "Erro: ";
+
+    /**
+     * SQLSTATE of a PostgreSQL exclusion constraint violation.
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final ErrorTemplate BUSINESS =
+            new ErrorTemplate(HttpStatus.NOT_FOUND, "Erro de regra de negócio");
+    private static final ErrorTemplate NOT_FOUND =
+            new ErrorTemplate(HttpStatus.NOT_FOUND, "Recurso não encontrado");
+    private static final ErrorTemplate CONFLICT =
+            new ErrorTemplate(HttpStatus.CONFLICT, "Conflito de atualização");
+    private static final ErrorTemplate SCHEDULE_CONFLICT =
+            new ErrorTemplate(HttpStatus.CONFLICT, "Conflito de horário");
+    private static final ErrorTemplate CONVERSION =
+            new ErrorTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Ocorreu um problema inesperado durante a conversão de dados.");
+    private static final ErrorTemplate VALIDATION =
+            new ErrorTemplate(HttpStatus.BAD_REQUEST, "Erro ao salvar dados.");
+    private static final ErrorTemplate ACCESS_DENIED =
+            new ErrorTemplate(HttpStatus.FORBIDDEN, "Acesso negado");
+    private static final ErrorTemplate TOO_MANY_REQUESTS =
+            new ErrorTemplate(HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido");
+    private static final ErrorTemplate OVERLOADED =
+            new ErrorTemplate(HttpStatus.SERVICE_UNAVAILABLE, "Serviço sobrecarregado");
+    private static final ErrorTemplate INTERNAL_ERROR =
+            new ErrorTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "Ocorreu um problema inesperado.");
+
     Logger logger = LoggerFactory.getLogger(ControllerExceptionHandler.class);
 
+    private final Clock clock;
+
+    public ControllerExceptionHandler(Clock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Handles BusinessException and maps it to a custom error response.
      *
@@ -42,18 +92,8 @@ public class ControllerExceptionHandler {
     public ResponseEntity<ApiResponseDTO<ErrorDTO>> businessException(BusinessException exception,
                                                                       HttpServletRequest request) {
 
-        var err = new ErrorDTO(
-                ZonedDateTime.now(),
-                exception.getHttpStatusCode().value(),
-                "Erro de regra de negócio",
-                exception.getMessage(),
-                request.getRequestURI());
-
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDTO<ErrorDTO>(
-                false,
-                "Erro: " + exception.getMessage(),
-                null,
-                err));
+        return BUSINESS.toResponse(now(), exception.getHttpStatusCode().value(), exception.getMessage(),
+                exception.getMessage(), request);
     }
 
     /**
@@ -67,18 +107,43 @@ public class ControllerExceptionHandler {
     public ResponseEntity<ApiResponseDTO<ErrorDTO>> notFound(ResourceNotFoundException exception,
                                                              HttpServletRequest request) {
 
-        var err = new ErrorDTO(
-                ZonedDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Recurso não encontrado",
-                exception.getMessage(),
-                request.getRequestURI());
+        return NOT_FOUND.toResponse(now(), exception.getMessage(), request);
+    }
+
+    /**
+     * Handles ConcurrentUpdateException and OptimisticLockingFailureException and maps them to a
+     * conflict error response.
+     *
+     * @param exception The exception raised by a stale version on update.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler({ ConcurrentUpdateException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> conflict(RuntimeException exception,
+                                                             HttpServletRequest request) {
 
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDTO<ErrorDTO>(
-                false,
-                "Erro: " + exception.getMessage(),
-                null,
-                err));
+        return CONFLICT.toResponse(now(), exception.getMessage(), request);
+    }
+
+    /**
+     * Handles DataIntegrityViolationException, mapping a violated exclusion constraint, i.e. overlapping
+     * appointments of a resource written concurrently, to a conflict error response.
+     *
+     * @param exception The DataIntegrityViolationException instance.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> dataIntegrityViolation(DataIntegrityViolationException exception,
+                                                                           HttpServletRequest request) {
+
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return SCHEDULE_CONFLICT.toResponse(now(), "O responsável já possui um agendamento nesse horário.",
+                        request);
+            }
+        }
+        return internalErrorException(exception, request);
     }
 
     /**
@@ -92,19 +157,7 @@ public class ControllerExceptionHandler {
     public ResponseEntity<ApiResponseDTO<ErrorDTO>> conversionException(ConversionException exception,
                                                                         HttpServletRequest request) {
 
-        var err = new ErrorDTO(
-                ZonedDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Ocorreu um problema inesperado durante a conversão de dados.",
-                exception.getMessage(),
-                request.getRequestURI());
-
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponseDTO<ErrorDTO>(
-                false,
-                "Erro: " + exception.getMessage(),
-                null,
-                err));
-
+        return CONVERSION.toResponse(now(), exception.getMessage(), request);
     }
 
     /**
@@ -126,22 +179,54 @@ public class ControllerExceptionHandler {
                 errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
             }
 
-            final var err = new ErrorDTO(
-                    ZonedDateTime.now(),
-                    HttpStatus.BAD_REQUEST.value(),
-                    "Erro ao salvar dados.",
-                    errors.toString(),
-                    request.getRequestURI());
-
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponseDTO<ErrorDTO>(
-                    false,
-                    "Erro: " + ex.getMessage(),
-                    null,
-                    err));
+            return VALIDATION.toResponse(now(), VALIDATION.status().value(), ex.getMessage(), errors.toString(),
+                    request);
         }
         return internalErrorException(ex, request);
     }
 
+    /**
+     * Handles MethodArgumentNotValidException, raised when a request body fails its constraints, such as an
+     * update without the version, and maps it to a validation error response listing the invalid fields.
+     *
+     * @param exception The MethodArgumentNotValidException instance.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> methodArgumentNotValid(MethodArgumentNotValidException exception,
+                                                                           HttpServletRequest request) {
+
+        final List<String> errors = new ArrayList<>();
+        for (final FieldError error : exception.getBindingResult().getFieldErrors()) {
+            errors.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+        exception.getBindingResult().getGlobalErrors().forEach(error -> errors.add(error.getDefaultMessage()));
+        return invalidRequest(errors, request);
+    }
+
+    /**
+     * Handles HandlerMethodValidationException, raised when the parameters of a controller method fail their
+     * constraints, and maps it to a validation error response listing the invalid parameters.
+     *
+     * @param exception The HandlerMethodValidationException instance.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> handlerMethodValidation(HandlerMethodValidationException exception,
+                                                                            HttpServletRequest request) {
+
+        final List<String> errors = new ArrayList<>();
+        for (final ParameterValidationResult result : exception.getAllValidationResults()) {
+            result.getResolvableErrors().forEach(error -> errors.add(
+                    (error instanceof FieldError fieldError ? fieldError.getField()
+                            : result.getMethodParameter().getParameterName())
+                            + ": " + error.getDefaultMessage()));
+        }
+        return invalidRequest(errors, request);
+    }
+
     /**
      * Handles AccessDeniedException and maps it to a custom error response.
      *
@@ -154,18 +239,44 @@ public class ControllerExceptionHandler {
     public ResponseEntity<ApiResponseDTO<ErrorDTO>> accessDeniedException(AccessDeniedException exception,
                                                                           HttpServletRequest request) {
 
-        var err = new ErrorDTO(
-                ZonedDateTime.now(),
-                HttpStatus.FORBIDDEN.value(),
-                "Acesso negado",
-                exception.getMessage(),
-                request.getRequestURI());
+        return ACCESS_DENIED.toResponse(now(), exception.getMessage(), request);
+    }
+
+    /**
+     * Handles TooManyRequestsException and maps it to a 429 response telling the client, in the Retry-After
+     * header, how many seconds to wait.
+     *
+     * @param exception The TooManyRequestsException instance.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> tooManyRequests(TooManyRequestsException exception,
+                                                                    HttpServletRequest request) {
 
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponseDTO<ErrorDTO>(
-                false,
-                "Erro: " + exception.getMessage(),
-                null,
-                err));
+        HttpHeaders headers = new HttpHeaders();
+        long retryAfterSeconds = (exception.getRetryAfter().toMillis() + 999) / 1000;
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(retryAfterSeconds, 1)));
+        return TOO_MANY_REQUESTS.toResponse(now(), TOO_MANY_REQUESTS.status().value(), exception.getMessage(),
+                exception.getMessage(), request, headers);
+    }
+
+    /**
+     * Handles ServiceOverloadedException and maps it to a 503 response asking the client to retry after a
+     * second.
+     *
+     * @param exception The ServiceOverloadedException instance.
+     * @param request   The HttpServletRequest.
+     * @return ResponseEntity containing the error response.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponseDTO<ErrorDTO>> serviceOverloaded(ServiceOverloadedException exception,
+                                                                      HttpServletRequest request) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return OVERLOADED.toResponse(now(), OVERLOADED.status().value(), exception.getMessage(),
+                exception.getMessage(), request, headers);
     }
 
     /**
@@ -179,18 +290,47 @@ public class ControllerExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseDTO<ErrorDTO>> internalErrorException(Exception e, HttpServletRequest request) {
 
-        var err = new ErrorDTO(
-                ZonedDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Ocorreu um problema inesperado.",
-                e.getMessage(),
-                request.getRequestURI());
-
         logger.error("Ocorreu um problema inesperado. ", e);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponseDTO<ErrorDTO>(
-                false,
-                "Erro: " + e.getMessage(),
-                null,
-                err));
+        return INTERNAL_ERROR.toResponse(now(), e.getMessage(), request);
+    }
+
+    private ResponseEntity<ApiResponseDTO<ErrorDTO>> invalidRequest(List<String> errors, HttpServletRequest request) {
+        return VALIDATION.toResponse(now(), VALIDATION.status().value(), String.join("; ", errors), errors.toString(),
+                request);
+    }
+
+    private ZonedDateTime now() {
+        return ZonedDateTime.now(clock);
+    }
+
+    /**
+     * The fixed parts of an error response: the HTTP status and the error title.
+     *
+     * @param status the HTTP status of the response.
+     * @param error  the type or category of the error.
+     */
+    private record ErrorTemplate(HttpStatus status, String error) {
+
+        ResponseEntity<ApiResponseDTO<ErrorDTO>> toResponse(ZonedDateTime timestamp, String message,
+                                                            HttpServletRequest request) {
+            return toResponse(timestamp, status.value(), message, message, request, null);
+        }
+
+        ResponseEntity<ApiResponseDTO<ErrorDTO>> toResponse(ZonedDateTime timestamp, int errorStatus,
+                                                            String message, String detail,
+                                                            HttpServletRequest request) {
+            return toResponse(timestamp, errorStatus, message, detail, request, null);
+        }
+
+        ResponseEntity<ApiResponseDTO<ErrorDTO>> toResponse(ZonedDateTime timestamp, int errorStatus,
+                                                            String message, String detail,
+                                                            HttpServletRequest request, HttpHeaders headers) {
+            var err = new ErrorDTO(timestamp, errorStatus, error, detail, request.getRequestURI());
+            return ResponseEntity.status(status).headers(headers).body(new ApiResponseDTO<ErrorDTO>(
+                    false,
+                    MESSAGE_PREFIX + message,
+                    null,
+                    err));
+        }
     }
-}
\ No newline at end of file
+}
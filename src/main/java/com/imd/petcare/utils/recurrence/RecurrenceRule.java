@@ -0,0 +1,320 @@
+package com.imd.petcare.utils.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurrence rule of a series of appointments, written in a subset of the iCalendar RRULE syntax (RFC 5545),
+ * e.g. {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10}.
+ *
+ * Supported parts are FREQ (DAILY, WEEKLY, MONTHLY or YEARLY), INTERVAL, BYDAY (weekly rules only), and
+ * either COUNT or UNTIL. Monthly and yearly occurrences fall on the day of month of the first one; months
+ * without that day are skipped, as RFC 5545 specifies.
+ *
+ * Occurrences are computed in local time, so an appointment at 09:00 stays at 09:00 across daylight saving
+ * changes. They are generated lazily: {@link #occurrences(LocalDateTime, LocalDateTime)} jumps arithmetically
+ * to the period containing the requested instant, so expanding a window costs the same whether the series
+ * started last week or ten years ago.
+ */
+public final class RecurrenceRule {
+
+    /**
+     * Maximum value of COUNT and INTERVAL.
+     */
+    public static final int MAX_COUNT = 1000;
+
+    /**
+     * Consecutive periods without occurrence after which expansion stops, e.g. a yearly rule on February 29
+     * with an interval that never hits a leap year again.
+     */
+    private static final int MAX_EMPTY_PERIODS = 1000;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDate untilDate;
+    private final Instant untilInstant;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count,
+                           LocalDate untilDate, Instant untilInstant) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.untilDate = untilDate;
+        this.untilInstant = untilInstant;
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @param rule the rule, with or without the "RRULE:" prefix
+     * @return the parsed rule
+     * @throws IllegalArgumentException if the rule is malformed or uses an unsupported part
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Empty recurrence rule");
+        }
+        String body = rule.strip();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDate untilDate = null;
+        Instant untilInstant = null;
+        for (String part : body.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String name = part.substring(0, separator).strip().toUpperCase(Locale.ROOT);
+            String value = part.substring(separator + 1).strip().toUpperCase(Locale.ROOT);
+            switch (name) {
+                case "FREQ" -> frequency = Frequency.valueOf(value);
+                case "INTERVAL" -> interval = parseBounded(name, value);
+                case "COUNT" -> count = parseBounded(name, value);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        byDay.add(parseDay(day.strip()));
+                    }
+                }
+                case "UNTIL" -> {
+                    try {
+                        if (value.length() == 8) {
+                            untilDate = LocalDate.parse(value, UNTIL_DATE);
+                        } else {
+                            untilInstant = LocalDateTime.parse(value, UNTIL_DATE_TIME).toInstant(ZoneOffset.UTC);
+                        }
+                    } catch (DateTimeParseException e) {
+                        throw new IllegalArgumentException("Malformed UNTIL: " + value, e);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported on weekly rules");
+        }
+        if (count != null && (untilDate != null || untilInstant != null)) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot be combined");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, untilDate, untilInstant);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the number of occurrences of the series, or null if the rule has no COUNT.
+     *
+     * @return the COUNT of the rule
+     */
+    public Integer getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the last instant an occurrence may start at, from the UNTIL part of the rule.
+     *
+     * @param zone the zone of the series, used when UNTIL is a date
+     * @return the inclusive bound of the occurrence starts, or null if the rule has no UNTIL
+     */
+    public Instant getUntil(ZoneId zone) {
+        if (untilInstant != null) {
+            return untilInstant;
+        }
+        return untilDate != null ? untilDate.atTime(LocalTime.MAX).atZone(zone).toInstant() : null;
+    }
+
+    /**
+     * Iterates the occurrences of a series starting at or after a given local date-time.
+     *
+     * @param start the local date-time of the first occurrence of the series
+     * @param from  the local date-time from which occurrences are returned
+     * @return an iterator of the occurrences in chronological order, ignoring COUNT and UNTIL, which the
+     * caller bounds through the last occurrence it computed once for the series
+     *
+     * The iterator starts at the period (day, week, month or year, times the interval) containing
+     * {@code from} and computes each following period on demand.
+     */
+    public Iterator<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime from) {
+        LocalDateTime lowerBound = from.isAfter(start) ? from : start;
+        return new Iterator<>() {
+            private long period = firstPeriod(start, lowerBound);
+            private final List<LocalDateTime> buffer = new ArrayList<>(7);
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                int empty = 0;
+                while (position == buffer.size()) {
+                    if (empty++ == MAX_EMPTY_PERIODS) {
+                        return false;
+                    }
+                    buffer.clear();
+                    position = 0;
+                    for (LocalDateTime candidate : candidates(start, period++)) {
+                        if (!candidate.isBefore(lowerBound)) {
+                            buffer.add(candidate);
+                        }
+                    }
+                    if (!buffer.isEmpty()) {
+                        empty = 0;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer.get(position++);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of whole periods between the first occurrence and the given date-time, i.e. the
+     * index of the period containing it.
+     */
+    private long firstPeriod(LocalDateTime start, LocalDateTime from) {
+        LocalDate startDate = start.toLocalDate();
+        LocalDate fromDate = from.toLocalDate();
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(startDate, fromDate);
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekOf(startDate), weekOf(fromDate));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(fromDate));
+            case YEARLY -> fromDate.getYear() - startDate.getYear();
+        };
+        return Math.max(0, Math.floorDiv(units, interval));
+    }
+
+    /**
+     * Returns the occurrences of a period in chronological order; the first period may hold some that fall
+     * before the start of the series, which the iterator filters out.
+     */
+    private List<LocalDateTime> candidates(LocalDateTime start, long period) {
+        long units = period * interval;
+        LocalTime time = start.toLocalTime();
+        LocalDate startDate = start.toLocalDate();
+        return switch (frequency) {
+            case DAILY -> List.of(start.plusDays(units));
+            case WEEKLY -> {
+                LocalDate week = weekOf(startDate).plusWeeks(units);
+                if (byDay.isEmpty()) {
+                    yield List.of(week.with(TemporalAdjusters.nextOrSame(startDate.getDayOfWeek())).atTime(time));
+                }
+                List<LocalDateTime> days = new ArrayList<>(byDay.size());
+                for (DayOfWeek day : byDay) {
+                    days.add(week.with(TemporalAdjusters.nextOrSame(day)).atTime(time));
+                }
+                yield days;
+            }
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(startDate).plusMonths(units);
+                yield month.isValidDay(startDate.getDayOfMonth())
+                        ? List.of(month.atDay(startDate.getDayOfMonth()).atTime(time))
+                        : List.of();
+            }
+            case YEARLY -> {
+                YearMonth month = YearMonth.of(Math.toIntExact(startDate.getYear() + units), startDate.getMonth());
+                yield month.isValidDay(startDate.getDayOfMonth())
+                        ? List.of(month.atDay(startDate.getDayOfMonth()).atTime(time))
+                        : List.of();
+            }
+        };
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static int parseBounded(String name, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 1 && parsed <= MAX_COUNT) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be between 1 and " + MAX_COUNT);
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().startsWith(day) && day.length() == 2) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported BYDAY value: " + day);
+    }
+
+    /**
+     * Returns the rule in its canonical form, e.g. {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (untilDate != null) {
+            rule.append(";UNTIL=").append(UNTIL_DATE.format(untilDate));
+        }
+        if (untilInstant != null) {
+            rule.append(";UNTIL=").append(UNTIL_DATE_TIME.format(untilInstant.atOffset(ZoneOffset.UTC)));
+        }
+        return rule.toString();
+    }
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY
+    }
+}
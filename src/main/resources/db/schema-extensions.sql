@@ -0,0 +1,112 @@
+-- Database objects Hibernate does not generate, applied after its schema update.
+-- Statements are separated by @@ because PL/pgSQL blocks contain semicolons; every statement is idempotent.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist@@
+
+CREATE SCHEMA IF NOT EXISTS scheduling_archive@@
+
+-- The appointments of a resource never overlap; periods are half-open, so back-to-back appointments are allowed.
+-- Exclusion constraints cannot be declared on a partitioned table, so each partition of scheduling has its own, which
+-- does not see the appointments of the other partitions: overlaps around the start of a year are only checked by
+-- SchedulingService, which locks the resource while doing so.
+CREATE OR REPLACE FUNCTION scheduling_add_no_overlap(table_name text) RETURNS void AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = table_name || '_no_overlap') THEN
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I '
+                       'EXCLUDE USING gist (resource_id WITH =, tstzrange(start_at, end_at) WITH &&) '
+                       'WHERE (active AND resource_id IS NOT NULL AND end_at IS NOT NULL)',
+                       table_name, table_name || '_no_overlap');
+    END IF;
+END
+$$ LANGUAGE plpgsql@@
+
+-- The start given to the appointments written before every scheduling had one: midnight (UTC) of their date, as
+-- SchedulingService.checkPeriod does, or their creation time if they have no valid date.
+CREATE OR REPLACE FUNCTION scheduling_legacy_start(year bigint, month bigint, day bigint, created_at timestamptz)
+RETURNS timestamptz AS $$
+BEGIN
+    RETURN coalesce(make_timestamptz(year::int, month::int, day::int, 0, 0, 0, 'UTC'), created_at);
+EXCEPTION WHEN others THEN
+    RETURN created_at;
+END
+$$ LANGUAGE plpgsql@@
+
+-- Creates the partition of scheduling holding the appointments starting in a year (UTC), moving them out of the
+-- default partition first. Called by SchedulingPartitionMaintenance for the current and the coming years.
+CREATE OR REPLACE FUNCTION scheduling_ensure_partition(partition_year int) RETURNS void AS $$
+DECLARE
+    partition_name text := format('scheduling_y%s', partition_year);
+    lower_bound timestamptz := make_timestamptz(partition_year, 1, 1, 0, 0, 0, 'UTC');
+    upper_bound timestamptz := make_timestamptz(partition_year + 1, 1, 1, 0, 0, 0, 'UTC');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE scheduling INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM scheduling_default WHERE start_at >= %L AND start_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    PERFORM scheduling_add_no_overlap(partition_name);
+    EXECUTE format('ALTER TABLE scheduling ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+END
+$$ LANGUAGE plpgsql@@
+
+-- Converts the scheduling table created by Hibernate into a table partitioned by year of start_at. Appointments
+-- without a start are given one first. The primary key becomes (id, start_at), as it has to include the partition
+-- key; IDs still come from the scheduling_seq sequence. Foreign keys are copied. Appointments outside the yearly
+-- partitions land in the default partition until SchedulingPartitionMaintenance creates theirs.
+DO $$
+DECLARE
+    current_year int := extract(year FROM now() AT TIME ZONE 'UTC');
+    first_year int;
+    last_year int;
+    foreign_key record;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('scheduling')) = 'r' THEN
+        ALTER TABLE scheduling RENAME TO scheduling_unpartitioned;
+        UPDATE scheduling_unpartitioned SET start_at = scheduling_legacy_start(year, month, day, created_at)
+        WHERE start_at IS NULL;
+        ALTER TABLE scheduling_unpartitioned ALTER COLUMN start_at SET NOT NULL;
+        CREATE TABLE scheduling (LIKE scheduling_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY RANGE (start_at);
+        CREATE TABLE scheduling_default PARTITION OF scheduling DEFAULT;
+        PERFORM scheduling_add_no_overlap('scheduling_default');
+        FOR foreign_key IN SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint
+                           WHERE conrelid = 'scheduling_unpartitioned'::regclass AND contype = 'f' LOOP
+            EXECUTE format('ALTER TABLE scheduling ADD CONSTRAINT %I %s', foreign_key.conname, foreign_key.definition);
+        END LOOP;
+
+        SELECT min(extract(year FROM start_at AT TIME ZONE 'UTC')), max(extract(year FROM start_at AT TIME ZONE 'UTC'))
+        INTO first_year, last_year FROM scheduling_unpartitioned;
+        FOR partition_year IN greatest(coalesce(first_year, current_year), current_year - 50)
+                           .. least(greatest(coalesce(last_year, current_year), current_year), current_year + 10) LOOP
+            PERFORM scheduling_ensure_partition(partition_year);
+        END LOOP;
+
+        INSERT INTO scheduling SELECT * FROM scheduling_unpartitioned;
+        DROP TABLE scheduling_unpartitioned;
+        ALTER TABLE scheduling ADD PRIMARY KEY (id, start_at);
+        CREATE INDEX idx_scheduling_resource_start ON scheduling (resource_id, start_at);
+        CREATE INDEX idx_scheduling_user_start ON scheduling (user_id, start_at);
+        CREATE INDEX idx_scheduling_next_reminder ON scheduling (next_reminder_at);
+    END IF;
+END
+$$@@
+
+-- Upgrades a scheduling table partitioned by an earlier version of this script, which kept the appointments without
+-- a start in a scheduling_undated default partition and replaced the primary key with a plain index on id.
+DO $$
+BEGIN
+    IF to_regclass('scheduling_undated') IS NOT NULL THEN
+        ALTER TABLE scheduling_undated RENAME TO scheduling_default;
+        ALTER TABLE scheduling_default RENAME CONSTRAINT scheduling_undated_no_overlap TO scheduling_default_no_overlap;
+    END IF;
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('scheduling')) = 'p'
+            AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'scheduling'::regclass AND contype = 'p') THEN
+        UPDATE scheduling SET start_at = scheduling_legacy_start(year, month, day, created_at) WHERE start_at IS NULL;
+        ALTER TABLE scheduling ALTER COLUMN start_at SET NOT NULL;
+        ALTER TABLE scheduling ADD PRIMARY KEY (id, start_at);
+        DROP INDEX IF EXISTS idx_scheduling_id;
+    END IF;
+END
+$$@@
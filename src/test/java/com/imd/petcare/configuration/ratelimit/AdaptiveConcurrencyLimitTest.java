@@ -0,0 +1,86 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+    private static final long STALLED = Duration.ofSeconds(10).toNanos();
+
+    @Test
+    public void testTryAcquire_UpToLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(FAST);
+        assertEquals(1, limit.getInFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void testRelease_GrowsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 50);
+
+        saturate(limit, FAST, 100);
+        assertTrue(limit.getLimit() > 10, "limit: " + limit.getLimit());
+
+        saturate(limit, FAST, 1000);
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    public void testRelease_ShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 100);
+        saturate(limit, FAST, 100);
+        int grown = limit.getLimit();
+
+        saturate(limit, SLOW, 20);
+        assertTrue(limit.getLimit() < grown, "limit: " + limit.getLimit() + ", was " + grown);
+
+        saturate(limit, STALLED, 50);
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testRelease_SingleSlowRequestFollowedByFastOnes() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 100);
+        saturate(limit, FAST, 100);
+        int grown = limit.getLimit();
+
+        saturate(limit, STALLED, 1);
+        saturate(limit, FAST, 20);
+        assertTrue(limit.getLimit() >= grown, "limit: " + limit.getLimit() + ", was " + grown);
+    }
+
+    @Test
+    public void testRelease_IgnoresLowConcurrency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST);
+        }
+        assertEquals(10, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    /**
+     * Keeps the limit filled with requests and completes them one at a time.
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int requests) {
+        for (int i = 0; i < requests; i++) {
+            while (limit.tryAcquire()) {
+                // fill up to the limit
+            }
+            limit.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import com.imd.petcare.configuration.security.jwt.JwtAuthenticationFilter;
+import com.imd.petcare.configuration.security.jwt.JwtService;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.utils.exception.ServiceOverloadedException;
+import com.imd.petcare.utils.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ApiRateLimitFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private JwtAuthenticationFilter jwtFilter;
+
+    private ApiRateLimitFilter rateLimitFilter;
+
+    private Map<String, User> users;
+
+    private List<Object> principals;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        users = Map.of("ana", user(7L, "ana"), "bia", user(8L, "bia"));
+        for (String login : users.keySet()) {
+            when(jwtService.extractUsername("token-" + login)).thenReturn(login);
+            when(jwtService.isTokenValid(eq("token-" + login), any())).thenReturn(true);
+        }
+        jwtFilter = new JwtAuthenticationFilter(jwtService, login -> {
+            User user = users.get(login);
+            if (user == null) {
+                throw new UsernameNotFoundException("User not found");
+            }
+            return user;
+        }, ObservationRegistry.NOOP);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("petcare.rate-limit.api.user.user", "2");
+        rateLimitFilter = new ApiRateLimitFilter(exceptionResolver, new SimpleMeterRegistry(), environment, true,
+                Duration.ofMinutes(1), 10, 1, 10);
+        principals = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testDoFilter_AuthenticatedUserIsPrincipal() throws Exception {
+        send("token-ana");
+
+        assertEquals(List.of(users.get("ana")), principals);
+    }
+
+    @Test
+    public void testDoFilter_UserQuotaThroughJwtFilter() throws Exception {
+        send("token-ana");
+        send("token-ana");
+        send("token-ana");
+
+        assertEquals(2, principals.size());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(TooManyRequestsException.class));
+    }
+
+    @Test
+    public void testDoFilter_UsersHaveSeparateQuotas() throws Exception {
+        send("token-ana");
+        send("token-ana");
+        send("token-bia");
+        send("token-bia");
+
+        assertEquals(4, principals.size());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    public void testDoFilter_ShedsBeyondConcurrencyLimit() throws Exception {
+        ApiRateLimitFilter single = singleSlotFilter();
+
+        send(single, "/v1/scheduling", () -> send(single, "/v1/scheduling", null));
+
+        assertEquals(1, principals.size());
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(ServiceOverloadedException.class));
+    }
+
+    @Test
+    public void testDoFilter_BulkTransfersBypassConcurrencyLimit() throws Exception {
+        ApiRateLimitFilter single = singleSlotFilter();
+
+        send(single, "/v1/scheduling/export", () -> send(single, "/v1/scheduling", null));
+        send(single, "/v1/scheduling", () -> send(single, "/v1/scheduling/import", null));
+
+        assertEquals(4, principals.size());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    public void testDoFilter_AnonymousRequestsHaveNoQuota() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            send(null);
+        }
+
+        assertEquals(5, principals.size());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    /**
+     * Sends a request through the JWT filter and the rate limit filter, recording the principal seen by the
+     * servlet. The security context is cleared afterwards, as the SecurityContextHolderFilter does.
+     */
+    private void send(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/scheduling");
+        request.setServletPath("/v1/scheduling");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        try {
+            new MockFilterChain(servlet(null), jwtFilter, rateLimitFilter)
+                    .doFilter(request, new MockHttpServletResponse());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Sends an anonymous request through a rate limit filter, running another request while it is handled.
+     */
+    private void send(ApiRateLimitFilter filter, String path, Request during) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        new MockFilterChain(servlet(during), filter).doFilter(request, new MockHttpServletResponse());
+    }
+
+    private HttpServlet servlet(Request during) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                principals.add(authentication != null ? authentication.getPrincipal() : "anonymous");
+                if (during != null) {
+                    try {
+                        during.send();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        };
+    }
+
+    private ApiRateLimitFilter singleSlotFilter() {
+        return new ApiRateLimitFilter(exceptionResolver, new SimpleMeterRegistry(), new MockEnvironment(), true,
+                Duration.ofMinutes(1), 1, 1, 1);
+    }
+
+    private interface Request {
+        void send() throws Exception;
+    }
+
+    private static User user(long id, String login) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        user.setRole(Role.USER);
+        return user;
+    }
+}
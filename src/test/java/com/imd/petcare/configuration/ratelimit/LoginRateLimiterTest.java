@@ -0,0 +1,66 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import com.imd.petcare.utils.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+public class LoginRateLimiterTest {
+
+    private static final String ADDRESS = "10.0.0.1";
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter(new SimpleMeterRegistry(), true, 3, Duration.ofHours(1), 2,
+                Duration.ofHours(1));
+    }
+
+    @Test
+    public void testAcquire_SuccessfulLoginsDoNotDrainLogin() {
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> limiter.acquire("10.0.0." + i, "ana"));
+        }
+    }
+
+    @Test
+    public void testRecordFailure_LocksLogin() {
+        limiter.recordFailure("ana");
+        assertDoesNotThrow(() -> limiter.acquire(ADDRESS, "ana"));
+        limiter.recordFailure("ana");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("10.0.0.2", "ana"));
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "bia"));
+    }
+
+    @Test
+    public void testAcquire_RejectedLoginTakesNoAddressToken() {
+        limiter.recordFailure("ana");
+        limiter.recordFailure("ana");
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyRequestsException.class, () -> limiter.acquire(ADDRESS, "ana"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> limiter.acquire(ADDRESS, "bia"));
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire(ADDRESS, "bia"));
+    }
+
+    @Test
+    public void testAcquire_Disabled() {
+        LoginRateLimiter disabled = new LoginRateLimiter(new SimpleMeterRegistry(), false, 1, Duration.ofHours(1), 1,
+                Duration.ofHours(1));
+        disabled.recordFailure("ana");
+
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> disabled.acquire(ADDRESS, "ana"));
+        }
+    }
+}
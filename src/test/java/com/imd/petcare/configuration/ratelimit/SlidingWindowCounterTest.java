@@ -0,0 +1,95 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+public class SlidingWindowCounterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private SlidingWindowCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SlidingWindowCounter(Duration.ofSeconds(1), 0);
+    }
+
+    @Test
+    public void testTryAcquire_WithinWindow() {
+        assertTrue(counter.isIdle(0));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, counter.tryAcquire(SECOND / 4, 3));
+        }
+
+        assertEquals(3 * SECOND / 4, counter.tryAcquire(SECOND / 4, 3));
+        assertFalse(counter.isIdle(SECOND / 4));
+    }
+
+    @Test
+    public void testTryAcquire_WeightsPreviousWindow() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, counter.tryAcquire(0, 4));
+        }
+
+        // Half of the previous window is still covered: 4 * 0.5 + 2 requests fill the limit.
+        long now = SECOND + SECOND / 2;
+        assertEquals(0, counter.tryAcquire(now, 4));
+        assertEquals(0, counter.tryAcquire(now, 4));
+        assertEquals(SECOND / 2, counter.tryAcquire(now, 4));
+        assertEquals(0, counter.tryAcquire(2 * SECOND + SECOND / 2, 4));
+    }
+
+    @Test
+    public void testIsIdle_AfterTwoWindows() {
+        counter.tryAcquire(0, 10);
+
+        assertFalse(counter.isIdle(SECOND));
+        assertTrue(counter.isIdle(2 * SECOND));
+    }
+
+    @Test
+    public void testTryAcquire_StaleTimeCountedInCurrentWindow() {
+        assertEquals(0, counter.tryAcquire(SECOND, 2));
+        assertEquals(0, counter.tryAcquire(SECOND - 1, 2));
+
+        assertEquals(SECOND, counter.tryAcquire(SECOND - 1, 2));
+        assertTrue(counter.tryAcquire(SECOND, 2) > 0);
+    }
+
+    @Test
+    public void testRelease() {
+        assertEquals(0, counter.tryAcquire(0, 2));
+        assertEquals(0, counter.tryAcquire(0, 2));
+        assertTrue(counter.tryAcquire(0, 2) > 0);
+
+        counter.release(0);
+        assertEquals(0, counter.tryAcquire(0, 2));
+
+        counter.release(0);
+        counter.release(0);
+        counter.release(0);
+        assertTrue(counter.isIdle(0));
+    }
+
+    @Test
+    public void testRelease_AfterWindowEnded() {
+        counter.tryAcquire(0, 10);
+
+        counter.release(SECOND);
+        assertFalse(counter.isIdle(SECOND));
+    }
+
+    @Test
+    public void testTryAcquire_SaturatesCount() {
+        for (int i = 0; i < (1 << 20) + 10; i++) {
+            assertEquals(0, counter.tryAcquire(0, Integer.MAX_VALUE));
+        }
+
+        // The previous window holds (1 << 20) - 1 requests, leaving room for exactly one.
+        assertEquals(0, counter.tryAcquire(SECOND, 1 << 20));
+        assertEquals(SECOND, counter.tryAcquire(SECOND, 1 << 20));
+    }
+}
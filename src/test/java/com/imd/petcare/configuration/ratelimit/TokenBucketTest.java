@@ -0,0 +1,104 @@
+package com.imd.petcare.configuration.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    public void testConstructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, Duration.ofSeconds(5), 0));
+    }
+
+    @Test
+    public void testTryAcquire_BurstThenRefill() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(5), 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(SECOND, bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.tryAcquire(SECOND / 2));
+
+        assertEquals(0, bucket.tryAcquire(SECOND));
+        assertEquals(SECOND, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    public void testAvailableIn_DoesNotTakeToken() {
+        TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), 0);
+
+        assertEquals(0, bucket.availableIn(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.availableIn(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.availableIn(0));
+        assertEquals(SECOND / 2, bucket.availableIn(SECOND / 2));
+        assertEquals(0, bucket.availableIn(SECOND));
+        assertEquals(0, bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    public void testIsFull() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(5), 0);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        assertFalse(bucket.isFull(SECOND));
+        assertTrue(bucket.isFull(2 * SECOND));
+    }
+
+    @Test
+    public void testTryAcquire_IdleBucketDoesNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+        long later = 3600 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later));
+        }
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    public void testTryAcquire_NanoTimeOverflow() {
+        long start = Long.MAX_VALUE - SECOND / 2;
+        TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), start);
+
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(SECOND, bucket.tryAcquire(start));
+        assertEquals(0, bucket.tryAcquire(start + SECOND));
+        assertTrue(bucket.isFull(start + 3 * SECOND));
+    }
+
+    @Test
+    public void testTryAcquire_Concurrent() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofSeconds(100), 0);
+        AtomicInteger acquired = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            threads.add(worker);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, acquired.get());
+    }
+}
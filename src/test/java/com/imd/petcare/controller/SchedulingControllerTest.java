@@ -0,0 +1,208 @@
+package com.imd.petcare.controller;
+
+import com.imd.petcare.dto.SchedulingDTO;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.service.AvailabilityService;
+import com.imd.petcare.service.CalendarService;
+import com.imd.petcare.service.ExportService;
+import com.imd.petcare.service.SchedulingChangeHub;
+import com.imd.petcare.service.SchedulingImportService;
+import com.imd.petcare.service.SchedulingService;
+import com.imd.petcare.service.idempotency.IdempotencyService;
+import com.imd.petcare.utils.handler.ControllerExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class SchedulingControllerTest {
+
+    @Mock
+    private SchedulingService schedulingService;
+
+    @Mock
+    private ExportService exportService;
+
+    @Mock
+    private SchedulingImportService importService;
+
+    @Mock
+    private SchedulingChangeHub changeHub;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        SchedulingController controller = new SchedulingController(schedulingService, exportService, importService,
+                changeHub, availabilityService, calendarService, idempotencyService);
+        // Apply the @PreAuthorize checks as the method security configuration does.
+        ProxyFactory proxyFactory = new ProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(AuthorizationManagerBeforeMethodInterceptor.preAuthorize());
+        Clock clock = Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneOffset.UTC);
+        mockMvc = MockMvcBuilders.standaloneSetup(proxyFactory.getProxy())
+                .setControllerAdvice(new ControllerExceptionHandler(clock))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testUpdate_WithoutVersion() throws Exception {
+        mockMvc.perform(put("/v1/scheduling/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"userId\": 2, \"title\": \"Banho\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Erro: version: A versão é obrigatória para atualizar."))
+                .andExpect(jsonPath("$.error.status").value(400))
+                .andExpect(jsonPath("$.error.path").value("/v1/scheduling/1"));
+
+        verifyNoInteractions(schedulingService, idempotencyService);
+    }
+
+    @Test
+    public void testUpdate_WithVersion() throws Exception {
+        SchedulingDTO updated = new SchedulingDTO(1L, 2L, "Banho", null, null, null, null, null, null, null, null,
+                4L);
+        when(schedulingService.update(eq(1L), any())).thenReturn(updated);
+
+        mockMvc.perform(put("/v1/scheduling/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"userId\": 2, \"title\": \"Banho\", \"version\": 3}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    public void testStream_AuthenticatedUser() throws Exception {
+        authenticate(user(7L, Role.USER));
+        when(changeHub.subscribe(7L, 12L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/v1/scheduling/stream")
+                        .header("Last-Event-ID", "12")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(changeHub).subscribe(7L, 12L);
+    }
+
+    @Test
+    public void testStream_WithoutLastEventId() throws Exception {
+        authenticate(user(7L, Role.USER));
+        when(changeHub.subscribe(7L, null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/v1/scheduling/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(changeHub).subscribe(7L, null);
+    }
+
+    @Test
+    public void testCalendar_OwnCalendar() throws Exception {
+        authenticate(user(7L, Role.USER));
+        when(calendarService.read(eq(7L), any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/v1/scheduling/calendar")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-08T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(calendarService).read(7L, ZonedDateTime.parse("2026-03-01T00:00:00Z"),
+                ZonedDateTime.parse("2026-03-08T00:00:00Z"));
+    }
+
+    @Test
+    public void testCalendar_OwnIdGiven() throws Exception {
+        authenticate(user(7L, Role.USER));
+
+        mockMvc.perform(get("/v1/scheduling/calendar")
+                        .param("userId", "7")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-08T00:00:00Z"))
+                .andExpect(status().isOk());
+
+        verify(calendarService).read(eq(7L), any(), any());
+    }
+
+    @Test
+    public void testCalendar_OtherUserForbidden() throws Exception {
+        authenticate(user(7L, Role.USER));
+
+        mockMvc.perform(get("/v1/scheduling/calendar")
+                        .param("userId", "8")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-08T00:00:00Z"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(calendarService);
+    }
+
+    @Test
+    public void testCalendar_ReceptionistReadsAnyUser() throws Exception {
+        authenticate(user(3L, Role.RECEPTIONIST));
+
+        mockMvc.perform(get("/v1/scheduling/calendar")
+                        .param("userId", "8")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-08T00:00:00Z"))
+                .andExpect(status().isOk());
+
+        verify(calendarService).read(eq(8L), any(), any());
+    }
+
+    /**
+     * Authenticates a user the way the JwtAuthenticationFilter does, with the user as principal.
+     */
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static User user(long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("user" + id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,151 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.AvailabilityDTO;
+import com.imd.petcare.dto.FreeSlotDTO;
+import com.imd.petcare.dto.StaffAvailabilityDTO;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.utils.collection.IntervalIndex;
+import com.imd.petcare.utils.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public class AvailabilityServiceTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.of(2026, 3, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SchedulingRepository schedulingRepository;
+
+    @Mock
+    private ResourceScheduleIndex scheduleIndex;
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityService = new AvailabilityService(userRepository, schedulingRepository, scheduleIndex,
+                Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneOffset.UTC), new SimpleMeterRegistry(),
+                "08:00", "18:00", Duration.ofMinutes(15), Duration.ofDays(31), 64);
+        List<UserRepository.StaffMember> doctors = List.of(staff(1L, "Ana"), staff(2L, "Bia"));
+        when(userRepository.findStaffByRole(Role.DOCTOR)).thenReturn(doctors);
+    }
+
+    @Test
+    public void testSearch_InvalidArguments() {
+        ZonedDateTime from = DAY;
+        Duration hour = Duration.ofHours(1);
+
+        assertThrows(BusinessException.class,
+                () -> availabilityService.search(Role.USER, null, from, from.plusDays(1), hour, 10));
+        assertThrows(BusinessException.class,
+                () -> availabilityService.search(Role.DOCTOR, null, from, from, hour, 10));
+        assertThrows(BusinessException.class,
+                () -> availabilityService.search(Role.DOCTOR, null, from, from.plusDays(32), hour, 10));
+        assertThrows(BusinessException.class,
+                () -> availabilityService.search(Role.DOCTOR, null, from, from.plusDays(1), Duration.ZERO, 10));
+    }
+
+    @Test
+    public void testSearch_FromIndex() {
+        when(scheduleIndex.coveredFrom()).thenReturn(Long.MIN_VALUE);
+        when(scheduleIndex.get(1L)).thenReturn(new IntervalIndex.Builder()
+                .add(10, millis(at(9, 0)), millis(at(10, 0)))
+                .add(11, millis(at(10, 0)), millis(at(11, 30)))
+                .build());
+        when(scheduleIndex.get(2L)).thenReturn(new IntervalIndex.Builder()
+                .add(20, millis(at(8, 0)), millis(at(17, 0)))
+                .build());
+
+        AvailabilityDTO availability = availabilityService.search(Role.DOCTOR, null, at(7, 0),
+                at(7, 0).plusHours(29), Duration.ofHours(1), 10);
+
+        StaffAvailabilityDTO ana = availability.staff().get(0);
+        assertEquals("Ana", ana.name());
+        assertEquals(List.of(
+                new FreeSlotDTO(1L, at(8, 0), at(9, 0)),
+                new FreeSlotDTO(1L, at(11, 30), at(18, 0)),
+                new FreeSlotDTO(1L, at(8, 0).plusDays(1), at(12, 0).plusDays(1))), ana.freeSlots());
+        StaffAvailabilityDTO bia = availability.staff().get(1);
+        assertEquals(List.of(
+                new FreeSlotDTO(2L, at(17, 0), at(18, 0)),
+                new FreeSlotDTO(2L, at(8, 0).plusDays(1), at(12, 0).plusDays(1))), bia.freeSlots());
+        assertEquals(new FreeSlotDTO(1L, at(8, 0), at(9, 0)), availability.first());
+        verifyNoInteractions(schedulingRepository);
+    }
+
+    @Test
+    public void testSearch_FromDatabase() {
+        when(scheduleIndex.coveredFrom()).thenReturn(Long.MAX_VALUE);
+        ZonedDateTime from = at(0, 0);
+        ZonedDateTime to = at(0, 0).plusDays(1);
+        SchedulingRepository.BookedInterval booked = booked(2L, at(8, 0), at(16, 0));
+        when(schedulingRepository.findBookedIntervals(List.of(2L), from, to)).thenReturn(List.of(booked));
+
+        AvailabilityDTO availability = availabilityService.search(Role.DOCTOR, List.of(2L), from, to,
+                Duration.ofHours(3), 10);
+
+        assertEquals(1, availability.staff().size());
+        assertEquals(List.of(), availability.staff().get(0).freeSlots());
+        assertNull(availability.first());
+        verify(scheduleIndex, never()).get(anyLong());
+    }
+
+    @Test
+    public void testSearch_AlignmentAndLimit() {
+        when(scheduleIndex.coveredFrom()).thenReturn(Long.MIN_VALUE);
+        when(scheduleIndex.get(1L)).thenReturn(new IntervalIndex.Builder()
+                .add(10, millis(at(8, 0)), millis(at(9, 7)))
+                .add(11, millis(at(9, 40)), millis(at(12, 0)))
+                .build());
+        when(scheduleIndex.get(2L)).thenReturn(new IntervalIndex());
+
+        AvailabilityDTO availability = availabilityService.search(Role.DOCTOR, null, at(0, 0),
+                at(0, 0).plusDays(3), Duration.ofMinutes(30), 1);
+
+        assertEquals(List.of(new FreeSlotDTO(1L, at(12, 0), at(18, 0))), availability.staff().get(0).freeSlots());
+        assertEquals(List.of(new FreeSlotDTO(2L, at(8, 0), at(18, 0))), availability.staff().get(1).freeSlots());
+        assertEquals(2L, availability.first().resourceId());
+    }
+
+    private static ZonedDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private static long millis(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+
+    private static UserRepository.StaffMember staff(long id, String name) {
+        UserRepository.StaffMember member = mock(UserRepository.StaffMember.class);
+        when(member.getId()).thenReturn(id);
+        when(member.getName()).thenReturn(name);
+        return member;
+    }
+
+    private static SchedulingRepository.BookedInterval booked(long resourceId, ZonedDateTime start,
+                                                              ZonedDateTime end) {
+        SchedulingRepository.BookedInterval interval = mock(SchedulingRepository.BookedInterval.class);
+        when(interval.getResourceId()).thenReturn(resourceId);
+        when(interval.getStartAt()).thenReturn(start);
+        when(interval.getEndAt()).thenReturn(end);
+        return interval;
+    }
+}
@@ -0,0 +1,139 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.dto.CalendarEntryDTO;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.SchedulingOccurrenceOverride;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.repository.SchedulingOccurrenceOverrideRepository;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.SchedulingSeriesRepository;
+import com.imd.petcare.utils.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public class CalendarServiceTest {
+
+    private static final long USER_ID = 1L;
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Mock
+    private SchedulingRepository schedulingRepository;
+
+    @Mock
+    private SchedulingSeriesRepository seriesRepository;
+
+    @Mock
+    private SchedulingOccurrenceOverrideRepository overrideRepository;
+
+    private CalendarService calendarService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        calendarService = new CalendarService(schedulingRepository, seriesRepository, overrideRepository,
+                Duration.ofDays(93));
+    }
+
+    @Test
+    public void testRead_InvalidWindow() {
+        ZonedDateTime from = ZonedDateTime.of(2026, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        BusinessException empty = assertThrows(BusinessException.class,
+                () -> calendarService.read(USER_ID, from, from));
+        assertEquals(HttpStatus.BAD_REQUEST, empty.getHttpStatusCode());
+        assertThrows(BusinessException.class, () -> calendarService.read(USER_ID, from, from.plusDays(94)));
+    }
+
+    @Test
+    public void testRead_MergesOverrides() {
+        SchedulingSeries series = series(10L, ZonedDateTime.of(2026, 3, 2, 9, 0, 0, 0, BERLIN), "FREQ=WEEKLY;BYDAY=MO");
+        Scheduling single = new Scheduling();
+        single.setId(20L);
+        single.setTitle("Vacina");
+        single.setStartAt(ZonedDateTime.of(2026, 3, 5, 14, 0, 0, 0, BERLIN));
+        single.setEndAt(ZonedDateTime.of(2026, 3, 5, 15, 0, 0, 0, BERLIN));
+
+        SchedulingOccurrenceOverride moved = override(series, ZonedDateTime.of(2026, 3, 9, 9, 0, 0, 0, BERLIN));
+        moved.setStartAt(ZonedDateTime.of(2026, 3, 10, 10, 0, 0, 0, BERLIN));
+        moved.setEndAt(ZonedDateTime.of(2026, 3, 10, 11, 0, 0, 0, BERLIN));
+        moved.setTitle("Banho remarcado");
+        SchedulingOccurrenceOverride cancelled = override(series, ZonedDateTime.of(2026, 3, 16, 9, 0, 0, 0, BERLIN));
+        cancelled.setCancelled(true);
+
+        ZonedDateTime from = ZonedDateTime.of(2026, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime to = ZonedDateTime.of(2026, 3, 24, 0, 0, 0, 0, ZoneOffset.UTC);
+        when(schedulingRepository.findForUserInPeriod(USER_ID, from, to)).thenReturn(List.of(single));
+        when(overrideRepository.findForUserInPeriod(eq(USER_ID), any(), eq(from), eq(to)))
+                .thenReturn(List.of(moved, cancelled));
+        when(seriesRepository.findRecurringInPeriod(eq(USER_ID), any(), eq(to))).thenReturn(List.of(series));
+
+        List<CalendarEntryDTO> entries = calendarService.read(USER_ID, from, to);
+
+        assertEquals(4, entries.size());
+        assertEquals(ZonedDateTime.of(2026, 3, 2, 9, 0, 0, 0, BERLIN), entries.get(0).startAt());
+        assertEquals(ZonedDateTime.of(2026, 3, 2, 9, 30, 0, 0, BERLIN), entries.get(0).endAt());
+        assertEquals(20L, entries.get(1).schedulingId());
+        assertEquals("Banho remarcado", entries.get(2).title());
+        assertEquals(ZonedDateTime.of(2026, 3, 9, 9, 0, 0, 0, BERLIN), entries.get(2).originalStartAt());
+        assertEquals(ZonedDateTime.of(2026, 3, 10, 10, 0, 0, 0, BERLIN), entries.get(2).startAt());
+        assertEquals(ZonedDateTime.of(2026, 3, 23, 9, 0, 0, 0, BERLIN), entries.get(3).startAt());
+        assertEquals("Banho", entries.get(3).title());
+    }
+
+    @Test
+    public void testRead_StopsAtLastOccurrence() {
+        SchedulingSeries series = series(10L, ZonedDateTime.of(2026, 3, 2, 9, 0, 0, 0, BERLIN), "FREQ=DAILY;COUNT=3");
+        series.setRecursUntil(ZonedDateTime.of(2026, 3, 4, 9, 0, 0, 0, BERLIN));
+        ZonedDateTime from = ZonedDateTime.of(2026, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime to = from.plusDays(10);
+        when(seriesRepository.findRecurringInPeriod(eq(USER_ID), any(), eq(to))).thenReturn(List.of(series));
+
+        List<CalendarEntryDTO> entries = calendarService.read(USER_ID, from, to);
+
+        assertEquals(3, entries.size());
+        assertEquals(ZonedDateTime.of(2026, 3, 4, 9, 0, 0, 0, BERLIN), entries.get(2).startAt());
+    }
+
+    @Test
+    public void testRead_DaylightSavingGap() {
+        SchedulingSeries series = series(10L, ZonedDateTime.of(2026, 3, 27, 2, 30, 0, 0, BERLIN), "FREQ=DAILY");
+        ZonedDateTime from = ZonedDateTime.of(2026, 3, 29, 0, 0, 0, 0, ZoneOffset.UTC);
+        ZonedDateTime to = from.plusDays(1);
+        when(seriesRepository.findRecurringInPeriod(eq(USER_ID), any(), eq(to))).thenReturn(List.of(series));
+
+        List<CalendarEntryDTO> entries = calendarService.read(USER_ID, from, to);
+
+        assertEquals(1, entries.size());
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, BERLIN), entries.get(0).startAt());
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 4, 0, 0, 0, BERLIN), entries.get(0).endAt());
+    }
+
+    private static SchedulingSeries series(long id, ZonedDateTime startAt, String recurrence) {
+        SchedulingSeries series = new SchedulingSeries();
+        series.setId(id);
+        series.setTitle("Banho");
+        series.setStartAt(startAt);
+        series.setDurationMinutes(30);
+        series.setZone(BERLIN.getId());
+        series.setRecurrence(recurrence);
+        return series;
+    }
+
+    private static SchedulingOccurrenceOverride override(SchedulingSeries series, ZonedDateTime originalStartAt) {
+        SchedulingOccurrenceOverride override = new SchedulingOccurrenceOverride();
+        override.setSeries(series);
+        override.setOriginalStartAt(originalStartAt);
+        return override;
+    }
+}
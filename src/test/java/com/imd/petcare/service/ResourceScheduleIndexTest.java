@@ -0,0 +1,124 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.repository.SchedulingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+public class ResourceScheduleIndexTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private SchedulingRepository schedulingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ResourceScheduleIndex scheduleIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduleIndex = new ResourceScheduleIndex(schedulingRepository, transactionManager,
+                Clock.fixed(NOW.toInstant(), ZoneOffset.UTC), new SimpleMeterRegistry(), Duration.ofDays(1));
+    }
+
+    @Test
+    public void testHasConflict_BeforeFirstBuild() {
+        when(schedulingRepository.existsOverlap(1L, NOW, NOW.plusHours(1), 0L)).thenReturn(true);
+
+        assertTrue(scheduleIndex.hasConflict(1L, NOW, NOW.plusHours(1), 0L));
+        assertNull(scheduleIndex.get(1L));
+    }
+
+    @Test
+    public void testHasConflict_Free() {
+        rebuild(booked(10L, 1L, NOW, NOW.plusHours(1)));
+
+        assertFalse(scheduleIndex.hasConflict(1L, NOW.plusHours(1), NOW.plusHours(2), 0L));
+        assertFalse(scheduleIndex.hasConflict(2L, NOW, NOW.plusHours(1), 0L));
+        verify(schedulingRepository, never()).existsOverlap(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testHasConflict_ConfirmedByDatabase() {
+        rebuild(booked(10L, 1L, NOW, NOW.plusHours(1)));
+        when(schedulingRepository.existsOverlap(1L, NOW.plusMinutes(30), NOW.plusHours(2), 0L)).thenReturn(true);
+
+        assertTrue(scheduleIndex.hasConflict(1L, NOW.plusMinutes(30), NOW.plusHours(2), 0L));
+    }
+
+    @Test
+    public void testHasConflict_StaleEntryDropped() {
+        rebuild(booked(10L, 1L, NOW, NOW.plusHours(1)));
+
+        assertFalse(scheduleIndex.hasConflict(1L, NOW, NOW.plusHours(1), 0L));
+        assertFalse(scheduleIndex.hasConflict(1L, NOW, NOW.plusHours(1), 0L));
+        verify(schedulingRepository, times(1)).existsOverlap(anyLong(), any(), any(), anyLong());
+        assertEquals(0, scheduleIndex.get(1L).size());
+    }
+
+    @Test
+    public void testHasConflict_MovedScheduling() {
+        rebuild(booked(10L, 1L, NOW, NOW.plusHours(1)));
+
+        assertFalse(scheduleIndex.hasConflict(1L, NOW.plusMinutes(30), NOW.plusHours(2), 10L));
+        verify(schedulingRepository, never()).existsOverlap(anyLong(), any(), any(), anyLong());
+    }
+
+    @Test
+    public void testHasConflict_BeforeHorizon() {
+        rebuild();
+        ZonedDateTime start = NOW.minusDays(2);
+
+        assertFalse(scheduleIndex.hasConflict(1L, start, start.plusHours(1), 0L));
+        verify(schedulingRepository).existsOverlap(1L, start, start.plusHours(1), 0L);
+    }
+
+    @Test
+    public void testPutAfterCommit() {
+        rebuild();
+
+        scheduleIndex.putAfterCommit(10L, 1L, NOW, NOW.plusHours(1));
+        assertEquals(10L, scheduleIndex.get(1L).findOverlap(millis(NOW), millis(NOW.plusHours(1)), 0L));
+
+        scheduleIndex.putAfterCommit(10L, 2L, NOW, NOW.plusHours(1));
+        assertEquals(0, scheduleIndex.get(1L).size());
+        assertEquals(1, scheduleIndex.get(2L).size());
+
+        scheduleIndex.removeAfterCommit(10L);
+        assertEquals(0, scheduleIndex.get(2L).size());
+    }
+
+    private void rebuild(SchedulingRepository.BookedInterval... intervals) {
+        when(schedulingRepository.streamBookedIntervals(NOW.minusDays(1))).thenReturn(Stream.of(intervals));
+        scheduleIndex.rebuild();
+        assertEquals(millis(NOW.minusDays(1)), scheduleIndex.coveredFrom());
+    }
+
+    private static SchedulingRepository.BookedInterval booked(long id, long resourceId, ZonedDateTime start,
+                                                              ZonedDateTime end) {
+        SchedulingRepository.BookedInterval interval = mock(SchedulingRepository.BookedInterval.class);
+        when(interval.getId()).thenReturn(id);
+        when(interval.getResourceId()).thenReturn(resourceId);
+        when(interval.getStartAt()).thenReturn(start);
+        when(interval.getEndAt()).thenReturn(end);
+        return interval;
+    }
+
+    private static long millis(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+}
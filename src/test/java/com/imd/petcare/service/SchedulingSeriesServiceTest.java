@@ -0,0 +1,111 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.mappers.SchedulingSeriesDTOMapper;
+import com.imd.petcare.model.SchedulingSeries;
+import com.imd.petcare.repository.SchedulingOccurrenceOverrideRepository;
+import com.imd.petcare.repository.SchedulingSeriesRepository;
+import com.imd.petcare.utils.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+public class SchedulingSeriesServiceTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Mock
+    private SchedulingSeriesRepository seriesRepository;
+
+    @Mock
+    private SchedulingOccurrenceOverrideRepository overrideRepository;
+
+    @Mock
+    private SchedulingSeriesDTOMapper seriesDTOMapper;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    private SchedulingSeriesService seriesService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seriesService = new SchedulingSeriesService(seriesRepository, overrideRepository, seriesDTOMapper,
+                changeEventRecorder, Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), BERLIN));
+    }
+
+    @Test
+    public void testValidateBeforeSave_Count() {
+        SchedulingSeries series = series(ZonedDateTime.of(2026, 1, 5, 8, 0, 0, 0, ZoneOffset.UTC),
+                "freq=weekly;byday=th,mo;count=4");
+        series.setZone(null);
+
+        seriesService.validateBeforeSave(series);
+
+        assertEquals(BERLIN.getId(), series.getZone());
+        assertEquals(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), series.getStartAt());
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=4", series.getRecurrence());
+        assertEquals(ZonedDateTime.of(2026, 1, 15, 9, 0, 0, 0, BERLIN), series.getRecursUntil());
+    }
+
+    @Test
+    public void testValidateBeforeSave_CountEndingInDaylightSavingGap() {
+        SchedulingSeries series = series(ZonedDateTime.of(2026, 3, 28, 2, 30, 0, 0, BERLIN), "FREQ=DAILY;COUNT=2");
+
+        seriesService.validateBeforeSave(series);
+
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, BERLIN), series.getRecursUntil());
+    }
+
+    @Test
+    public void testValidateBeforeSave_Until() {
+        SchedulingSeries series = series(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), "FREQ=DAILY;UNTIL=20260131");
+
+        seriesService.validateBeforeSave(series);
+
+        assertEquals(ZonedDateTime.of(2026, 1, 31, 23, 59, 59, 999_999_999, BERLIN), series.getRecursUntil());
+    }
+
+    @Test
+    public void testValidateBeforeSave_Forever() {
+        SchedulingSeries series = series(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), "FREQ=MONTHLY");
+
+        seriesService.validateBeforeSave(series);
+
+        assertNull(series.getRecursUntil());
+    }
+
+    @Test
+    public void testValidateBeforeSave_UntilBeforeStart() {
+        SchedulingSeries series = series(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), "FREQ=DAILY;UNTIL=20260104");
+
+        assertThrows(BusinessException.class, () -> seriesService.validateBeforeSave(series));
+    }
+
+    @Test
+    public void testValidateBeforeSave_InvalidRuleOrZone() {
+        SchedulingSeries invalidRule = series(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), "FREQ=HOURLY");
+        assertThrows(BusinessException.class, () -> seriesService.validateBeforeSave(invalidRule));
+
+        SchedulingSeries invalidZone = series(ZonedDateTime.of(2026, 1, 5, 9, 0, 0, 0, BERLIN), "FREQ=DAILY");
+        invalidZone.setZone("Europe/Atlantis");
+        assertThrows(BusinessException.class, () -> seriesService.validateBeforeSave(invalidZone));
+    }
+
+    private static SchedulingSeries series(ZonedDateTime startAt, String recurrence) {
+        SchedulingSeries series = new SchedulingSeries();
+        series.setStartAt(startAt);
+        series.setDurationMinutes(30);
+        series.setZone(BERLIN.getId());
+        series.setRecurrence(recurrence);
+        return series;
+    }
+}
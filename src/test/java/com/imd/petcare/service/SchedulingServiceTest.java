@@ -0,0 +1,114 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.mappers.SchedulingDTOMapper;
+import com.imd.petcare.model.Scheduling;
+import com.imd.petcare.model.User;
+import com.imd.petcare.model.enums.Role;
+import com.imd.petcare.repository.SchedulingRepository;
+import com.imd.petcare.repository.UserRepository;
+import com.imd.petcare.service.reminder.ReminderScheduler;
+import com.imd.petcare.utils.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+public class SchedulingServiceTest {
+
+    @Mock
+    private SchedulingRepository schedulingRepository;
+
+    @Mock
+    private SchedulingDTOMapper mapper;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResourceScheduleIndex scheduleIndex;
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    private SchedulingService schedulingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        schedulingService = new SchedulingService(schedulingRepository, mapper, changeEventRecorder, userRepository,
+                scheduleIndex, reminderScheduler);
+        when(userRepository.findRoleById(5L)).thenReturn(Optional.of(Role.DOCTOR));
+    }
+
+    @Test
+    public void testSpansPartitions() {
+        assertFalse(SchedulingService.spansPartitions(at("2026-06-01T10:00:00Z"), at("2026-06-01T11:00:00Z")));
+        assertFalse(SchedulingService.spansPartitions(at("2026-12-31T22:00:00Z"), at("2027-01-01T00:00:00Z")));
+        assertFalse(SchedulingService.spansPartitions(at("2027-01-02T00:00:00Z"), at("2027-01-02T01:00:00Z")));
+
+        assertTrue(SchedulingService.spansPartitions(at("2026-12-31T23:00:00Z"), at("2027-01-01T01:00:00Z")));
+        assertTrue(SchedulingService.spansPartitions(at("2027-01-01T08:00:00Z"), at("2027-01-01T09:00:00Z")));
+        // Already January 1st in UTC, although still December 31st in Brazil.
+        assertTrue(SchedulingService.spansPartitions(at("2026-12-31T21:30:00-03:00"),
+                at("2026-12-31T22:30:00-03:00")));
+    }
+
+    @Test
+    public void testValidateBeforeSave_WithinYearUsesIndex() {
+        Scheduling scheduling = scheduling(at("2026-06-01T10:00:00Z"), at("2026-06-01T11:00:00Z"));
+
+        schedulingService.validateBeforeSave(scheduling);
+
+        verify(scheduleIndex).hasConflict(5L, scheduling.getStartAt(), scheduling.getEndAt(), 0L);
+        verify(schedulingRepository, never()).existsOverlap(anyLong(), any(), any(), anyLong());
+        verify(schedulingRepository, never()).lockResource(anyLong());
+    }
+
+    @Test
+    public void testValidateBeforeSave_AcrossYearsQueriesUnderLock() {
+        Scheduling scheduling = scheduling(at("2026-12-31T23:00:00Z"), at("2027-01-01T01:00:00Z"));
+
+        schedulingService.validateBeforeSave(scheduling);
+
+        InOrder order = inOrder(schedulingRepository);
+        order.verify(schedulingRepository).lockResource(5L);
+        order.verify(schedulingRepository).existsOverlap(5L, scheduling.getStartAt(), scheduling.getEndAt(), 0L);
+        verifyNoInteractions(scheduleIndex);
+    }
+
+    @Test
+    public void testValidateBeforeSave_AcrossYearsConflict() {
+        Scheduling scheduling = scheduling(at("2027-01-01T00:30:00Z"), at("2027-01-01T01:30:00Z"));
+        when(schedulingRepository.existsOverlap(5L, scheduling.getStartAt(), scheduling.getEndAt(), 0L))
+                .thenReturn(true);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> schedulingService.validateBeforeSave(scheduling));
+        assertEquals(HttpStatus.CONFLICT, exception.getHttpStatusCode());
+        verify(reminderScheduler, never()).scheduleAfterCommit(any());
+    }
+
+    private static Scheduling scheduling(ZonedDateTime start, ZonedDateTime end) {
+        User resource = new User();
+        resource.setId(5L);
+        Scheduling scheduling = new Scheduling();
+        scheduling.setResource(resource);
+        scheduling.setStartAt(start);
+        scheduling.setEndAt(end);
+        return scheduling;
+    }
+
+    private static ZonedDateTime at(String time) {
+        return ZonedDateTime.parse(time);
+    }
+}
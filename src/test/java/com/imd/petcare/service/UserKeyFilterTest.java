@@ -0,0 +1,124 @@
+package com.imd.petcare.service;
+
+import com.imd.petcare.model.Person;
+import com.imd.petcare.model.User;
+import com.imd.petcare.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+public class UserKeyFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserKeyFilter userKeyFilter;
+
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userKeyFilter = new UserKeyFilter(userRepository, transactionManager, new SimpleMeterRegistry(), 0.01,
+                1000, DataSize.ofKilobytes(64));
+        queries = new AtomicInteger();
+    }
+
+    @Test
+    public void testExists_BeforeFirstBuild() {
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "ana", query(true)));
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "bia", query(false)));
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    public void testExists_AbsentValueSkipsQuery() {
+        rebuild(keys("ana", "ana@example.com", "71111111111"));
+
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "bia", query(true)));
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.EMAIL, "bia@example.com", query(true)));
+        assertEquals(0, queries.get());
+    }
+
+    @Test
+    public void testExists_PresentValueQueries() {
+        rebuild(keys("ana", "ana@example.com", "71111111111"));
+
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, " ANA ", query(true)));
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.IDENTIFIER, "71111111111", query(true)));
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.EMAIL, "Ana@Example.com", query(false)));
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    public void testExists_KeysAreSeparate() {
+        rebuild(keys("ana", "ana@example.com", "71111111111"));
+
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.EMAIL, "ana", query(true)));
+        assertEquals(0, queries.get());
+    }
+
+    @Test
+    public void testAdd() {
+        rebuild();
+        User user = new User();
+        user.setLogin("carla");
+        user.setEmail("carla@example.com");
+        Person person = new Person();
+        person.setIdentifier("72222222222");
+        user.setPerson(person);
+
+        userKeyFilter.add(user);
+
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "carla", query(true)));
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.EMAIL, "carla@example.com", query(true)));
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.IDENTIFIER, "72222222222", query(true)));
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    public void testRebuild_FailureKeepsPreviousFilter() {
+        rebuild(keys("ana", "ana@example.com", "71111111111"));
+        when(userRepository.streamUniqueKeys()).thenThrow(new IllegalStateException("connection lost"));
+
+        userKeyFilter.rebuild();
+
+        assertFalse(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "bia", query(true)));
+        assertTrue(userKeyFilter.exists(UserKeyFilter.Key.LOGIN, "ana", query(true)));
+        assertEquals(1, queries.get());
+    }
+
+    private void rebuild(UserRepository.UniqueKeys... rows) {
+        when(userRepository.count()).thenReturn((long) rows.length);
+        when(userRepository.streamUniqueKeys()).thenReturn(Stream.of(rows));
+        userKeyFilter.rebuild();
+    }
+
+    private BooleanSupplier query(boolean result) {
+        return () -> {
+            queries.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static UserRepository.UniqueKeys keys(String login, String email, String identifier) {
+        UserRepository.UniqueKeys keys = mock(UserRepository.UniqueKeys.class);
+        when(keys.getLogin()).thenReturn(login);
+        when(keys.getEmail()).thenReturn(email);
+        when(keys.getIdentifier()).thenReturn(identifier);
+        return keys;
+    }
+}
@@ -11,6 +11,7 @@ import com.imd.petcare.model.enums.Role;
 import com.imd.petcare.repository.GenericRepository;
 import com.imd.petcare.repository.UserRepository;
 import com.imd.petcare.utils.exception.BusinessException;
+import com.imd.petcare.utils.exception.ConcurrentUpdateException;
 import com.imd.petcare.utils.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.MissingFormatArgumentException;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 public class UserServiceTest {
 
@@ -41,10 +43,19 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserKeyFilter userKeyFilter;
+
+    @Mock
+    private ChangeEventRecorder changeEventRecorder;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = spy(new UserService(userRepository,userDTOMapper, passwordEncoder));
+        when(userKeyFilter.exists(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<BooleanSupplier>getArgument(2).getAsBoolean());
+        userService = spy(new UserService(userRepository,userDTOMapper, passwordEncoder, userKeyFilter,
+                changeEventRecorder));
     }
 
     @Test
@@ -62,12 +73,34 @@ public class UserServiceTest {
                 "login",
                 "12345",
                 "email@example.com",
-                Role.USER);
-        when(userRepository.findById(id)).thenReturn(Optional.empty());
+                Role.USER,
+                0L);
+        when(userDTOMapper.toEntity(userDTO)).thenReturn(new UserDTOMapper().toEntity(userDTO));
+        when(userRepository.updateIfVersionMatches(any(User.class))).thenReturn(0);
+        when(userRepository.existsById(id)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> userService.update(id, userDTO));
     }
 
+    @Test
+    public void testUpdate_StaleVersion() {
+        Long id = 1L;
+        UserDTO userDTO = new UserDTO(
+                id,
+                new PersonDTO(1L, "name", "71111111111", "84987056926", LocalDate.now()),
+                "login",
+                "12345",
+                "email@example.com",
+                Role.USER,
+                3L);
+        when(userDTOMapper.toEntity(userDTO)).thenReturn(new UserDTOMapper().toEntity(userDTO));
+        when(userRepository.updateIfVersionMatches(any(User.class))).thenReturn(0);
+        when(userRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(ConcurrentUpdateException.class, () -> userService.update(id, userDTO));
+        verify(userRepository, never()).updatePersonByUserId(anyLong(), any(Person.class));
+    }
+
     @Test
     public void testUpdate_UserDTOIdMismatch() {
         Long id = 1L;
@@ -78,7 +111,8 @@ public class UserServiceTest {
                 "login",
                 "12345",
                 "email@example.com",
-                Role.USER);
+                Role.USER,
+                0L);
 
         UserDTOMapper mapper = new UserDTOMapper();
 
@@ -157,7 +191,8 @@ public class UserServiceTest {
                 "login",
                 "12345",
                 "email@example.com",
-                Role.USER);
+                Role.USER,
+                0L);
 
         when(userDTOMapper.toDto(user)).thenReturn(userDTO);
 
@@ -189,46 +224,24 @@ public class UserServiceTest {
     }
 
     @Test
-    void checkLoginBeforeUpdate_ShouldValidateLogin_WhenLoginIsUpdated() {
-        String loginUserDb = "oldLogin";
-        String loginUpdatedUser = "newLogin";
-
-        doNothing().when(userService).validateLogin(loginUpdatedUser);
+    void checkLoginBeforeUpdate_ShouldThrowException_WhenLoginBelongsToAnotherUser() {
+        when(userRepository.existsByLoginAndIdNot("newLogin", 1L)).thenReturn(true);
 
-        userService.checkLoginBeforeUpdate(loginUserDb, loginUpdatedUser);
-
-        verify(userService).validateLogin(loginUpdatedUser);
+        assertThrows(BusinessException.class, () -> userService.checkLoginBeforeUpdate(1L, "newLogin"));
     }
 
     @Test
-    void checkEmailBeforeUpdate_ShouldValidateEmail_WhenEmailIsUpdated() {
-        String emailUserDb = "old@example.com";
-        String emailUpdatedUser = "new@example.com";
-
-        doNothing().when(userService).validateEmail(emailUpdatedUser);
-
-        userService.checkEmailBeforeUpdate(emailUserDb, emailUpdatedUser);
+    void checkEmailBeforeUpdate_ShouldThrowException_WhenEmailBelongsToAnotherUser() {
+        when(userRepository.existsPersonByEmailAndIdNot("new@example.com", 1L)).thenReturn(true);
 
-        verify(userService).validateEmail(emailUpdatedUser);
+        assertThrows(BusinessException.class, () -> userService.checkEmailBeforeUpdate(1L, "new@example.com"));
     }
 
     @Test
-    void checkIdentifierBeforeUpdate_ShouldValidateIdentifier_WhenIdentifierIsUpdated() {
-        User userDb = new User();
-        User updatedUser = new User();
-        Person personDb = new Person();
-        Person personUpdated = new Person();
-
-        personDb.setIdentifier("oldIdentifier");
-        personUpdated.setIdentifier("newIdentifier");
-        userDb.setPerson(personDb);
-        updatedUser.setPerson(personUpdated);
-
-        doNothing().when(userService).validateIdentifier(personUpdated.getIdentifier());
+    void checkIdentifierBeforeUpdate_ShouldThrowException_WhenIdentifierBelongsToAnotherUser() {
+        when(userRepository.existsPersonByIdentifierAndIdNot("newIdentifier", 1L)).thenReturn(true);
 
-        userService.checkIdentifierBeforeUpdate(userDb, updatedUser);
-
-        verify(userService).validateIdentifier(personUpdated.getIdentifier());
+        assertThrows(BusinessException.class, () -> userService.checkIdentifierBeforeUpdate(1L, "newIdentifier"));
     }
 
     @Test
@@ -290,16 +303,8 @@ public class UserServiceTest {
                 "newLogin",
                 "12345",
                 "newEmail",
-                Role.USER);
-        User userDb = new User();
-        userDb.setId(userId);
-        userDb.setLogin("oldLogin");
-        userDb.setEmail("oldEmail");
-        userDb.setPassword("oldPassword");
-        Person personDb = new Person();
-        personDb.setId(1L);
-        personDb.setIdentifier("oldIdentifier");
-        userDb.setPerson(personDb);
+                Role.USER,
+                0L);
 
         User updatedUser = new User();
         updatedUser.setId(userId);
@@ -310,17 +315,19 @@ public class UserServiceTest {
         updatedUser.getPerson().setId(1L);
         updatedUser.getPerson().setIdentifier("identifier");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(userDb));
         when(userDTOMapper.toEntity(userDTO)).thenReturn(updatedUser);
-        when(userRepository.save(updatedUser)).thenReturn(updatedUser);
+        when(userRepository.updateIfVersionMatches(updatedUser)).thenReturn(1);
         when(userDTOMapper.toDto(updatedUser)).thenReturn(userDTO);
 
         UserDTO result = userService.update(userId, userDTO);
 
         assertEquals(userDTO, result);
-        verify(userRepository).findById(userId);
+        assertEquals(1L, updatedUser.getVersion());
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any());
         verify(userDTOMapper).toEntity(userDTO);
-        verify(userRepository).save(updatedUser);
+        verify(userRepository).updateIfVersionMatches(updatedUser);
+        verify(userRepository).updatePersonByUserId(userId, updatedUser.getPerson());
         verify(userDTOMapper).toDto(updatedUser);
     }
 
@@ -333,7 +340,8 @@ public class UserServiceTest {
                 "newLogin",
                 "12345",
                 "newEmail",
-                Role.USER);
+                Role.USER,
+                0L);
         BusinessException exception = assertThrows(BusinessException.class, () -> userService.update(userId, userDTO));
 
         assertEquals("O id não pode ser alterado!", exception.getMessage());
@@ -349,12 +357,15 @@ public class UserServiceTest {
                 "newLogin",
                 "12345",
                 "newEmail",
-                Role.USER);
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+                Role.USER,
+                0L);
+        when(userDTOMapper.toEntity(userDTO)).thenReturn(new UserDTOMapper().toEntity(userDTO));
+        when(userRepository.updateIfVersionMatches(any(User.class))).thenReturn(0);
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> userService.update(userId, userDTO));
 
-        assertEquals("Id not found: " + userId, exception.getMessage());
+        assertEquals("Id não encontrado: " + userId, exception.getMessage());
     }
 
     @Test
@@ -383,45 +394,40 @@ public class UserServiceTest {
                 "newLogin",
                 "12345",
                 "newEmail@example.com",
-                Role.ADMIN);
-
-        User userDb = new User();
-        userDb.setId(id);
-        Person personDb = new Person();
-        personDb.setId(1L);
-        userDb.setPerson(personDb);
-        userDb.setPassword("oldPassword");
-        userDb.setLogin("oldLogin");
-        userDb.setEmail("oldEmail@example.com");
+                Role.ADMIN,
+                2L);
 
         User updatedUser = spy(new User());
         Person updatedPerson = spy(new Person());
+        updatedPerson.setIdentifier("71111111111");
         updatedUser.setPerson(updatedPerson);
+        updatedUser.setLogin("newLogin");
+        updatedUser.setEmail("newEmail@example.com");
+        updatedUser.setVersion(2L);
 
-        when(userRepository.findById(id)).thenReturn(Optional.of(userDb));
         when(userDTOMapper.toEntity(userDTO)).thenReturn(updatedUser);
-        when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+        when(userRepository.updateIfVersionMatches(any(User.class))).thenReturn(1);
         when(userDTOMapper.toDto(any(User.class))).thenReturn(userDTO);
 
-        doNothing().when(userService).checkIdentifierBeforeUpdate(any(User.class), any(User.class));
-        doNothing().when(userService).checkLoginBeforeUpdate(anyString(), anyString());
-        doNothing().when(userService).checkEmailBeforeUpdate(anyString(), anyString());
+        doNothing().when(userService).checkIdentifierBeforeUpdate(anyLong(), anyString());
+        doNothing().when(userService).checkLoginBeforeUpdate(anyLong(), anyString());
+        doNothing().when(userService).checkEmailBeforeUpdate(anyLong(), anyString());
 
         UserDTO result = userService.update(id, userDTO);
 
         assertEquals(userDTO, result);
 
-        verify(userRepository).findById(id);
         verify(userDTOMapper).toEntity(userDTO);
         verify(updatedUser).setId(id);
-        verify(updatedUser).getPerson();
-        verify(updatedPerson).setId(userDb.getPerson().getId());
-        verify(updatedUser).setPassword(userDb.getPassword());
-        verify(updatedUser).setRole(userDTO.role());
-        verify(userService).checkIdentifierBeforeUpdate(userDb, updatedUser);
-        verify(userService).checkLoginBeforeUpdate(userDb.getLogin(), updatedUser.getLogin());
-        verify(userService).checkEmailBeforeUpdate(userDb.getEmail(), updatedUser.getEmail());
-        verify(userRepository).save(updatedUser);
+        verify(updatedUser).setUpdatedAt(any());
+        verify(updatedUser).setVersion(3L);
+        verify(updatedPerson).setUpdatedAt(updatedUser.getUpdatedAt());
+        verify(userService).checkIdentifierBeforeUpdate(id, "71111111111");
+        verify(userService).checkLoginBeforeUpdate(id, "newLogin");
+        verify(userService).checkEmailBeforeUpdate(id, "newEmail@example.com");
+        verify(userRepository).updateIfVersionMatches(updatedUser);
+        verify(userRepository).updatePersonByUserId(id, updatedPerson);
+        verify(updatedUser, never()).setPassword(any());
         verify(userDTOMapper).toDto(updatedUser);
     }
 
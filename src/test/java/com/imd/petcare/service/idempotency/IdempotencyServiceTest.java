@@ -0,0 +1,230 @@
+package com.imd.petcare.service.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imd.petcare.utils.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class IdempotencyServiceTest {
+
+    private static final Map<String, String> REQUEST = Map.of("name", "Rex");
+
+    private SimpleMeterRegistry registry;
+
+    private IdempotencyService idempotencyService;
+
+    private AtomicInteger executions;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-01T00:00:00Z"), ZoneOffset.UTC);
+        registry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(clock, registry, 100),
+                new ObjectMapper(), clock, registry, Duration.ofHours(24), Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testExecute_WithoutKey() {
+        idempotencyService.execute(null, REQUEST, created());
+        idempotencyService.execute(null, REQUEST, created());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testExecute_InvalidKey() {
+        BusinessException blank = assertThrows(BusinessException.class,
+                () -> idempotencyService.execute(" ", REQUEST, created()));
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getHttpStatusCode());
+
+        BusinessException tooLong = assertThrows(BusinessException.class,
+                () -> idempotencyService.execute("k".repeat(256), REQUEST, created()));
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getHttpStatusCode());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void testExecute_Replay() {
+        ResponseEntity<Map<String, Integer>> first = idempotencyService.execute("key-1", REQUEST, created());
+        ResponseEntity<?> second = idempotencyService.execute("key-1", REQUEST, created());
+
+        assertEquals(1, executions.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, assertInstanceOf(JsonNode.class, second.getBody()).get("id").asInt());
+        assertEquals(1.0, registry.get("petcare.idempotency.requests").tag("result", "replayed").counter().count());
+    }
+
+    @Test
+    public void testExecute_KeysAreSeparate() {
+        idempotencyService.execute("key-1", REQUEST, created());
+        idempotencyService.execute("key-2", REQUEST, created());
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testExecute_KeysAreScopedToCaller() {
+        authenticate("ana");
+        idempotencyService.execute("key-1", REQUEST, created());
+
+        authenticate("bia");
+        ResponseEntity<Map<String, Integer>> other = idempotencyService.execute("key-1", REQUEST, created());
+        assertNull(other.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertDoesNotThrow(() -> idempotencyService.execute("key-2", Map.of("name", "Bob"), created()));
+
+        authenticate("ana");
+        ResponseEntity<?> replayed = idempotencyService.execute("key-1", REQUEST, created());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, assertInstanceOf(JsonNode.class, replayed.getBody()).get("id").asInt());
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    public void testExecute_AnotherCallerCannotPoisonKey() {
+        authenticate("ana");
+        idempotencyService.execute("key-1", REQUEST, created());
+
+        authenticate("bia");
+        assertDoesNotThrow(() -> idempotencyService.execute("key-1", Map.of("name", "Bob"), created()));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testExecute_DifferentBody() {
+        idempotencyService.execute("key-1", REQUEST, created());
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> idempotencyService.execute("key-1", Map.of("name", "Bob"), created()));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getHttpStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testExecute_FailureIsNotStored() {
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key-1", REQUEST, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        ResponseEntity<Map<String, Integer>> retry = idempotencyService.execute("key-1", REQUEST, created());
+
+        assertEquals(2, executions.get());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void testExecute_ConcurrentRepetitionsCollapse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<ResponseEntity<Map<String, Integer>>> slow = () -> {
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return created().get();
+        };
+
+        CompletableFuture<ResponseEntity<Map<String, Integer>>> first =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute("key-1", REQUEST, slow),
+                        executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<Map<String, Integer>>> second =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute("key-1", REQUEST, created()),
+                        executor);
+        awaitCollapsed();
+        finish.countDown();
+
+        assertNull(first.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        ResponseEntity<Map<String, Integer>> collapsed = second.get(5, TimeUnit.SECONDS);
+        assertEquals("true", collapsed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, collapsed.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testExecute_ConcurrentRepetitionsShareFailure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<ResponseEntity<Map<String, Integer>>> failing = () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new BusinessException("Conflito de horário.", HttpStatus.CONFLICT);
+        };
+
+        CompletableFuture<ResponseEntity<Map<String, Integer>>> first =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute("key-1", REQUEST, failing),
+                        executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<Map<String, Integer>>> second =
+                CompletableFuture.supplyAsync(() -> idempotencyService.execute("key-1", REQUEST, created()),
+                        executor);
+        awaitCollapsed();
+        finish.countDown();
+
+        Exception error = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessException.class, error.getCause());
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Waits until a repetition has found the request in progress and is waiting for it.
+     */
+    private void awaitCollapsed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("petcare.idempotency.requests").tag("result", "collapsed").counter().count() == 0) {
+            assertTrue(System.nanoTime() < deadline, "the repetition did not collapse");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void authenticate(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private Supplier<ResponseEntity<Map<String, Integer>>> created() {
+        return () -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", executions.incrementAndGet()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.imd.petcare.utils.collection;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BloomFilterTest {
+
+    private static final int VALUES = 10_000;
+
+    @Test
+    public void testMightContain_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(VALUES, 0.01, 1 << 20);
+        for (int i = 0; i < VALUES; i++) {
+            filter.put(0, "user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < VALUES; i++) {
+            assertTrue(filter.mightContain(0, "user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    public void testMightContain_FalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(VALUES, 0.01, 1 << 20);
+        for (int i = 0; i < VALUES; i++) {
+            filter.put(0, "user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = VALUES; i < 2 * VALUES; i++) {
+            if (filter.mightContain(0, "user" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < VALUES * 0.02, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.01);
+    }
+
+    @Test
+    public void testMightContain_SeedsSeparateKinds() {
+        BloomFilter filter = BloomFilter.create(VALUES, 0.01, 1 << 20);
+        for (int i = 0; i < VALUES; i++) {
+            filter.put(0, "value" + i);
+        }
+
+        int found = 0;
+        for (int i = 0; i < VALUES; i++) {
+            if (filter.mightContain(1, "value" + i)) {
+                found++;
+            }
+        }
+        assertTrue(found < VALUES * 0.02, "values found under another seed: " + found);
+    }
+
+    @Test
+    public void testCreate_MemoryBound() {
+        BloomFilter bounded = BloomFilter.create(10_000_000, 0.01, 1024);
+        assertEquals(1024, bounded.sizeInBytes());
+        assertEquals(0.0, bounded.expectedFalsePositiveRate(), 0.0);
+
+        BloomFilter tiny = BloomFilter.create(0, 0.01, 1024);
+        assertEquals(8, tiny.sizeInBytes());
+    }
+
+    @Test
+    public void testPut_Concurrent() throws InterruptedException {
+        BloomFilter filter = BloomFilter.create(4 * VALUES, 0.01, 1 << 20);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < VALUES; i++) {
+                    filter.put(0, thread + ":" + i);
+                }
+            });
+            worker.start();
+            threads.add(worker);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < VALUES; i++) {
+                assertTrue(filter.mightContain(0, t + ":" + i));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.imd.petcare.utils.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IntervalIndexTest {
+
+    private IntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IntervalIndex.Builder()
+                .add(1, 10, 20)
+                .add(2, 20, 30)
+                .add(3, 40, 50)
+                .build();
+    }
+
+    @Test
+    public void testFindOverlap_Free() {
+        assertEquals(-1, index.findOverlap(0, 10, 0));
+        assertEquals(-1, index.findOverlap(30, 40, 0));
+        assertEquals(-1, index.findOverlap(50, 60, 0));
+    }
+
+    @Test
+    public void testFindOverlap_Conflict() {
+        assertEquals(1, index.findOverlap(5, 11, 0));
+        assertEquals(2, index.findOverlap(25, 35, 0));
+        assertEquals(3, index.findOverlap(35, 45, 0));
+        assertEquals(1, index.findOverlap(12, 15, 0));
+        assertNotEquals(-1, index.findOverlap(0, 100, 0));
+    }
+
+    @Test
+    public void testFindOverlap_ExcludedId() {
+        assertEquals(-1, index.findOverlap(12, 18, 1));
+        assertEquals(1, index.findOverlap(15, 25, 2));
+    }
+
+    @Test
+    public void testForEachOverlapping() {
+        List<Long> ids = new ArrayList<>();
+        index.forEachOverlapping(15, 45, (id, start, end) -> ids.add(id));
+        assertEquals(List.of(1L, 2L, 3L), ids);
+
+        ids.clear();
+        index.forEachOverlapping(20, 40, (id, start, end) -> ids.add(id));
+        assertEquals(List.of(2L), ids);
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        index.put(4, 30, 40);
+        assertEquals(4, index.size());
+        assertEquals(4, index.findOverlap(35, 36, 0));
+
+        assertTrue(index.remove(4, 30));
+        assertFalse(index.remove(4, 30));
+        assertEquals(3, index.size());
+        assertEquals(-1, index.findOverlap(30, 40, 0));
+    }
+
+    @Test
+    public void testRemove_SameStart() {
+        IntervalIndex shared = new IntervalIndex();
+        shared.put(1, 10, 20);
+        shared.put(2, 10, 15);
+
+        assertTrue(shared.remove(1, 10));
+        assertEquals(2, shared.findOverlap(10, 20, 0));
+        assertFalse(shared.remove(1, 10));
+    }
+
+    @Test
+    public void testBuilder_OutOfOrder() {
+        IntervalIndex.Builder builder = new IntervalIndex.Builder().add(1, 10, 20);
+        assertThrows(IllegalArgumentException.class, () -> builder.add(2, 5, 8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.imd.petcare.utils.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 8 buckets per level over 3 levels: 8, 64 and 512 ticks
+        wheel = new TimingWheel<>(TICK, 8, 3, 0);
+    }
+
+    @Test
+    public void testConstructor_InvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 8, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(TICK, 6, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(TICK, 8, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(TICK, 1 << 16, 4, 0));
+    }
+
+    @Test
+    public void testAdd_BeyondSpan() {
+        assertEquals(511 * TICK, wheel.spanMillis());
+        wheel.add(wheel.spanMillis(), "last");
+        assertThrows(IllegalArgumentException.class, () -> wheel.add(wheel.spanMillis() + TICK, "beyond"));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void testAdvance_ExpiresAtNextTickBoundary() {
+        wheel.add(2500, "a");
+
+        assertEquals(List.of(), wheel.advance(2999));
+        assertEquals(List.of("a"), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testAdvance_CascadesAcrossLevels() {
+        wheel.add(7 * TICK, "level0");
+        wheel.add(40 * TICK, "level1");
+        wheel.add(300 * TICK, "level2");
+
+        assertEquals(List.of("level0"), wheel.advance(39 * TICK));
+        assertEquals(List.of("level1"), wheel.advance(40 * TICK));
+        assertEquals(List.of(), wheel.advance(299 * TICK));
+        assertEquals(List.of("level2"), wheel.advance(300 * TICK));
+    }
+
+    @Test
+    public void testAdvance_NeverEarlyNorLate() {
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        long now = 0;
+        for (int i = 0; i < 2000; i++) {
+            now += random.nextInt(3 * (int) TICK);
+            for (String item : wheel.advance(now)) {
+                assertTrue(deadlines.remove(item) <= now, item + " expired early");
+            }
+            for (Map.Entry<String, Long> pending : deadlines.entrySet()) {
+                assertTrue(deadlineTick(pending.getValue()) > now / TICK, pending.getKey() + " expired late");
+            }
+            String item = "item" + i;
+            long deadline = now + random.nextLong(wheel.spanMillis() / 2);
+            deadlines.put(item, deadline);
+            wheel.add(deadline, item);
+        }
+        for (String item : wheel.advance(now + wheel.spanMillis() + TICK)) {
+            deadlines.remove(item);
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testAdvance_OverdueItems() {
+        wheel.advance(10 * TICK);
+
+        wheel.add(5 * TICK, "overdue");
+        wheel.add(10 * TICK, "due");
+        assertEquals(2, wheel.size());
+        assertEquals(List.of("overdue", "due"), wheel.advance(10 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testAdvance_JumpKeepsDeadlineOrder() {
+        wheel.add(450 * TICK, "c");
+        wheel.add(5 * TICK, "a");
+        wheel.add(70 * TICK, "b");
+
+        assertEquals(List.of("a", "b", "c"), wheel.advance(500 * TICK));
+    }
+
+    private static long deadlineTick(long deadline) {
+        return (deadline + TICK - 1) / TICK;
+    }
+}
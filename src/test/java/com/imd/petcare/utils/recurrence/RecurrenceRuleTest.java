@@ -0,0 +1,120 @@
+package com.imd.petcare.utils.recurrence;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class RecurrenceRuleTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    public void testParse_CanonicalForm() {
+        RecurrenceRule rule = RecurrenceRule.parse("rrule:freq=weekly;byday=th,mo;interval=2;count=10");
+
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.getFrequency());
+        assertEquals(2, rule.getInterval());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10", rule.toString());
+        assertEquals(rule.toString(), RecurrenceRule.parse(rule.toString()).toString());
+    }
+
+    @Test
+    public void testParse_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("INTERVAL=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYSETPOS=1"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=1001"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=2026-01-31"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20260131"));
+    }
+
+    @Test
+    public void testCountAndUntil() {
+        RecurrenceRule counted = RecurrenceRule.parse("FREQ=DAILY;COUNT=10");
+        assertEquals(10, counted.getCount());
+        assertNull(counted.getUntil(BERLIN));
+
+        RecurrenceRule untilDate = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260131");
+        assertNull(untilDate.getCount());
+        assertEquals(ZonedDateTime.of(2026, 1, 31, 23, 59, 59, 999_999_999, BERLIN).toInstant(),
+                untilDate.getUntil(BERLIN));
+
+        RecurrenceRule untilInstant = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260131T120000Z");
+        assertEquals(Instant.parse("2026-01-31T12:00:00Z"), untilInstant.getUntil(BERLIN));
+        assertEquals("FREQ=DAILY;UNTIL=20260131T120000Z", untilInstant.toString());
+    }
+
+    @Test
+    public void testOccurrences_WeeklyByDay() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 9, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH");
+
+        assertEquals(List.of(start, LocalDateTime.of(2026, 1, 8, 9, 0), LocalDateTime.of(2026, 1, 19, 9, 0),
+                LocalDateTime.of(2026, 1, 22, 9, 0)), take(rule.occurrences(start, start), 4));
+    }
+
+    @Test
+    public void testOccurrences_MonthlySkipsShortMonths() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY");
+
+        assertEquals(List.of(start, LocalDateTime.of(2026, 3, 31, 10, 0), LocalDateTime.of(2026, 5, 31, 10, 0)),
+                take(rule.occurrences(start, start), 3));
+    }
+
+    @Test
+    public void testOccurrences_YearlyOnLeapDay() {
+        LocalDateTime start = LocalDateTime.of(2024, 2, 29, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=YEARLY");
+
+        assertEquals(List.of(start, LocalDateTime.of(2028, 2, 29, 10, 0)), take(rule.occurrences(start, start), 2));
+    }
+
+    @Test
+    public void testOccurrences_JumpsToWindow() {
+        LocalDateTime start = LocalDateTime.of(2016, 1, 1, 8, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+
+        assertEquals(List.of(LocalDateTime.of(2026, 1, 2, 8, 0), LocalDateTime.of(2026, 1, 5, 8, 0)),
+                take(rule.occurrences(start, LocalDateTime.of(2026, 1, 1, 0, 0)), 2));
+    }
+
+    @Test
+    public void testOccurrences_KeepLocalTimeAcrossDaylightSaving() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 22, 9, 0);
+        List<LocalDateTime> occurrences = take(RecurrenceRule.parse("FREQ=WEEKLY").occurrences(start, start), 2);
+
+        assertEquals(ZoneOffset.ofHours(1), occurrences.get(0).atZone(BERLIN).getOffset());
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 9, 0, 0, 0, BERLIN), occurrences.get(1).atZone(BERLIN));
+        assertEquals(ZoneOffset.ofHours(2), occurrences.get(1).atZone(BERLIN).getOffset());
+    }
+
+    @Test
+    public void testOccurrences_DaylightSavingGap() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 28, 2, 30);
+        List<LocalDateTime> occurrences = take(RecurrenceRule.parse("FREQ=DAILY").occurrences(start, start), 3);
+
+        assertEquals(LocalDateTime.of(2026, 3, 29, 2, 30), occurrences.get(1));
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, BERLIN), occurrences.get(1).atZone(BERLIN));
+        assertEquals(LocalDateTime.of(2026, 3, 30, 2, 30), occurrences.get(2));
+    }
+
+    private static List<LocalDateTime> take(Iterator<LocalDateTime> occurrences, int count) {
+        List<LocalDateTime> taken = new ArrayList<>();
+        while (taken.size() < count && occurrences.hasNext()) {
+            taken.add(occurrences.next());
+        }
+        return taken;
+    }
+}